@@ -1,13 +1,16 @@
 package com.sloyardms.stashbox.common.annotations;
 
+import com.sloyardms.stashbox.common.regex.CompiledRegex;
+import com.sloyardms.stashbox.common.regex.RegexPatternCache;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
+import lombok.RequiredArgsConstructor;
 
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
-
+@RequiredArgsConstructor
 public class ValidRegexValidator implements ConstraintValidator<ValidRegex, String> {
 
+    private final RegexPatternCache regexPatternCache;
+
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
         if (value == null || value.isBlank()) {
@@ -15,11 +18,11 @@ public class ValidRegexValidator implements ConstraintValidator<ValidRegex, Stri
             return true;
         }
 
-        try {
-            Pattern.compile(value);
-            return true;
-        } catch (PatternSyntaxException e) {
-            return false;
+        CompiledRegex compiledRegex = regexPatternCache.compile(value);
+        if (compiledRegex.status() == CompiledRegex.Status.TOO_EXPENSIVE) {
+            context.disableDefaultConstraintViolation();
+            context.buildConstraintViolationWithTemplate("{regex.tooExpensive}").addConstraintViolation();
         }
+        return compiledRegex.isValid();
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.sloyardms.stashbox.common.error;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.sloyardms.stashbox.common.error.exception.BusinessException;
+import com.sloyardms.stashbox.common.error.exception.InvalidCursorException;
 import com.sloyardms.stashbox.common.error.exception.InvalidSortFieldException;
 import com.sloyardms.stashbox.common.error.exception.ResourceAlreadyExistsException;
 import com.sloyardms.stashbox.common.error.exception.ResourceNotFoundException;
@@ -67,6 +68,7 @@ public class GlobalExceptionHandler {
     private static final String LOG_NO_HANDLER_FOUND = "[{}] No handler found for {} {}";
     private static final String LOG_DATABASE_ERROR = "[{}] Database access exception on {}: {}";
     private static final String LOG_INVALID_SORT_FIELD = "[{}] Invalid Sort Field '{}' on {}. Allowed: {}";
+    private static final String LOG_INVALID_CURSOR = "[{}] Invalid cursor '{}' on {}";
     private static final String LOG_UNEXPECTED_ERROR = "[{}] Unexpected error on {}: {}";
 
     // =============================================================================
@@ -418,6 +420,30 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problemDetail);
     }
 
+    /**
+     * Handles malformed keyset pagination cursors
+     * Triggered when: Passing a cursor that was not issued by the server or no longer decodes
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursorException(
+            InvalidCursorException ex, HttpServletRequest request, Locale locale) {
+
+        String title = problemDetailBuilder.getMessage(ErrorMessageKey.INVALID_CURSOR_TITLE, locale);
+        String detail = problemDetailBuilder.getMessage(ErrorMessageKey.INVALID_CURSOR_DETAIL, locale);
+
+        ProblemDetail problemDetail = problemDetailBuilder.createProblemDetail(
+                HttpStatus.BAD_REQUEST,
+                "urn:problem-type:invalid-cursor",
+                title,
+                detail
+        );
+
+        String errorId = problemDetailBuilder.getErrorId(problemDetail);
+        log.warn(LOG_INVALID_CURSOR, errorId, ex.getCursor(), request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problemDetail);
+    }
+
     // =============================================================================
     // DATABASE EXCEPTIONS
     // =============================================================================
@@ -0,0 +1,15 @@
+package com.sloyardms.stashbox.common.error.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidCursorException extends RuntimeException {
+
+    private final String cursor;
+
+    public InvalidCursorException(String cursor) {
+        super(String.format("Invalid cursor '%s'", cursor));
+        this.cursor = cursor;
+    }
+
+}
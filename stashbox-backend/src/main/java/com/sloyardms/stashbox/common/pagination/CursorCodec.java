@@ -0,0 +1,53 @@
+package com.sloyardms.stashbox.common.pagination;
+
+import com.sloyardms.stashbox.common.error.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe cursors.
+ * A cursor is the base64url encoding of the key values of the last returned row joined by a separator, so clients
+ * cannot rely on its format
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+    private static final Pattern SEPARATOR_PATTERN = Pattern.compile(Pattern.quote(SEPARATOR));
+
+    private CursorCodec() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * @param keys the key values of the last returned row; only the last one may contain the separator
+     * @return the opaque cursor
+     */
+    public static String encode(String... keys) {
+        byte[] raw = String.join(SEPARATOR, keys).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @param cursor       the cursor received from a client
+     * @param expectedKeys the number of key values the cursor must contain
+     * @return the key values, in the order they were encoded
+     * @throws InvalidCursorException if the cursor is not a well-formed cursor with the expected number of keys
+     */
+    public static String[] decode(String cursor, int expectedKeys) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+
+        String[] keys = SEPARATOR_PATTERN.split(raw, expectedKeys);
+        if (keys.length != expectedKeys) {
+            throw new InvalidCursorException(cursor);
+        }
+        return keys;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.sloyardms.stashbox.common.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * A page of a keyset-paginated listing. Unlike a Page it carries no total count, so producing it never needs a
+ * count query
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    /**
+     * Cursor to pass to get the next page, null when there are no more results
+     */
+    private String nextCursor;
+    private boolean hasMore;
+
+}
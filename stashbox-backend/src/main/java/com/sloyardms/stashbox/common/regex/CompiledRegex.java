@@ -0,0 +1,36 @@
+package com.sloyardms.stashbox.common.regex;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Result of compiling a regex through the {@link RegexPatternCache}
+ *
+ * @param pattern the compiled pattern, or null when the regex was rejected
+ * @param status  whether the regex can be used
+ */
+public record CompiledRegex(Pattern pattern, Status status) {
+
+    public enum Status {
+        VALID,
+        INVALID_SYNTAX,
+        TOO_EXPENSIVE
+    }
+
+    public static CompiledRegex valid(Pattern pattern) {
+        return new CompiledRegex(pattern, Status.VALID);
+    }
+
+    public static CompiledRegex rejected(Status status) {
+        return new CompiledRegex(null, status);
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    public Optional<Pattern> asOptional() {
+        return Optional.ofNullable(pattern);
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.sloyardms.stashbox.common.regex;
+
+import com.sloyardms.stashbox.config.cache.CacheNames;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Bounded cache of compiled regex patterns keyed by their source, shared by validation and filter evaluation.
+ * Every regex is probed once against adversarial inputs under a time budget before it is accepted, so patterns
+ * prone to catastrophic backtracking are rejected instead of stalling request threads later on
+ */
+@Slf4j
+@Component
+public class RegexPatternCache {
+
+    private static final String DEFAULT_PROBE_CHARACTERS = "a0 /-._";
+    private static final int MAX_PROBE_CHARACTERS = 32;
+
+    private final Cache cache;
+    private final long probeBudgetMillis;
+    private final int probeLength;
+
+    public RegexPatternCache(CacheManager cacheManager,
+                             @Value("${regex.probe.budget-millis:50}") long probeBudgetMillis,
+                             @Value("${regex.probe.length:32}") int probeLength) {
+        this.cache = cacheManager.getCache(CacheNames.REGEX_PATTERNS);
+        this.probeBudgetMillis = probeBudgetMillis;
+        this.probeLength = probeLength;
+    }
+
+    /**
+     * Compiles the regex or returns the cached result of a previous compilation. Only valid patterns and syntax
+     * errors are cached, a probe running out of time may be down to a GC pause or a busy host and is retried on the
+     * next call
+     *
+     * @param regex the regex source
+     * @return the compiled pattern, or the reason it was rejected
+     */
+    public CompiledRegex compile(String regex) {
+        CompiledRegex cached = cache.get(regex, CompiledRegex.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompiledRegex compiled = compileAndProbe(regex);
+        if (compiled.status() != CompiledRegex.Status.TOO_EXPENSIVE) {
+            cache.put(regex, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * @param regex the regex source
+     * @return the compiled pattern, or empty if the regex is invalid or too expensive to evaluate
+     */
+    public Optional<Pattern> getPattern(String regex) {
+        return compile(regex).asOptional();
+    }
+
+    /**
+     * @return the time budget given to a single probe match, also suitable for matching user input
+     */
+    public long getProbeBudgetMillis() {
+        return probeBudgetMillis;
+    }
+
+    private CompiledRegex compileAndProbe(String regex) {
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            return CompiledRegex.rejected(CompiledRegex.Status.INVALID_SYNTAX);
+        }
+
+        try {
+            for (String probe : buildProbes(regex)) {
+                pattern.matcher(TimeLimitedCharSequence.of(probe, probeBudgetMillis)).find();
+            }
+        } catch (RegexTimeoutException e) {
+            log.warn("Rejected regex exceeding the {} ms evaluation budget", probeBudgetMillis);
+            return CompiledRegex.rejected(CompiledRegex.Status.TOO_EXPENSIVE);
+        } catch (StackOverflowError e) {
+            log.warn("Rejected regex overflowing the stack during evaluation");
+            return CompiledRegex.rejected(CompiledRegex.Status.TOO_EXPENSIVE);
+        }
+        return CompiledRegex.valid(pattern);
+    }
+
+    /**
+     * Builds runs of a single character followed by a character that breaks the match, which is the classic input
+     * for nested or overlapping quantifiers. The run characters are the literals of the regex plus a few common ones
+     */
+    private Set<String> buildProbes(String regex) {
+        Set<Character> characters = new LinkedHashSet<>();
+        for (char c : DEFAULT_PROBE_CHARACTERS.toCharArray()) {
+            characters.add(c);
+        }
+        for (int i = 0; i < regex.length() && characters.size() < MAX_PROBE_CHARACTERS; i++) {
+            char c = regex.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                characters.add(c);
+            }
+        }
+
+        String prefix = literalPrefix(regex);
+        Set<String> probes = new LinkedHashSet<>();
+        for (char c : characters) {
+            String run = String.valueOf(c).repeat(probeLength);
+            probes.add(run + '\u0000');
+            probes.add(prefix + run + '\u0000');
+            probes.add(prefix + run + '!');
+        }
+        return probes;
+    }
+
+    /**
+     * @return the literal text the regex starts with, so probes get past anchored prefixes such as {@code ^/tag/}
+     */
+    private static String literalPrefix(String regex) {
+        StringBuilder prefix = new StringBuilder();
+        int i = regex.startsWith("^") ? 1 : 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                prefix.append(regex.charAt(i + 1));
+                i += 2;
+            } else if (".[]{}()*+?|^$\\".indexOf(c) < 0) {
+                prefix.append(c);
+                i++;
+            } else {
+                break;
+            }
+        }
+        // A quantifier applies to the last literal, which then may not be part of the prefix
+        if (i < regex.length() && "*+?{".indexOf(regex.charAt(i)) >= 0 && !prefix.isEmpty()) {
+            prefix.setLength(prefix.length() - 1);
+        }
+        return prefix.toString();
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.sloyardms.stashbox.common.regex;
+
+/**
+ * Thrown when a regex evaluation over a {@link TimeLimitedCharSequence} exceeds its time budget
+ */
+public class RegexTimeoutException extends RuntimeException {
+
+    public RegexTimeoutException() {
+        super("Regex evaluation exceeded its time budget", null, false, false);
+    }
+
+}
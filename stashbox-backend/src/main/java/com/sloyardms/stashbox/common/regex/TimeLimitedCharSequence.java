@@ -0,0 +1,53 @@
+package com.sloyardms.stashbox.common.regex;
+
+/**
+ * CharSequence that aborts a regex evaluation once a deadline has passed.
+ * java.util.regex reads its input through charAt, so a runaway backtracking match keeps calling it and eventually
+ * hits the deadline check
+ */
+public final class TimeLimitedCharSequence implements CharSequence {
+
+    private static final int CHECK_INTERVAL_MASK = 0x3FF;
+
+    private final CharSequence delegate;
+    private final long deadlineNanos;
+    private int reads;
+
+    private TimeLimitedCharSequence(CharSequence delegate, long deadlineNanos) {
+        this.delegate = delegate;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @param input        the text to match
+     * @param budgetMillis how long a match on this input may run
+     * @return a view of the input that throws {@link RegexTimeoutException} once the budget is exhausted
+     */
+    public static TimeLimitedCharSequence of(CharSequence input, long budgetMillis) {
+        return new TimeLimitedCharSequence(input, System.nanoTime() + budgetMillis * 1_000_000L);
+    }
+
+    @Override
+    public char charAt(int index) {
+        if ((++reads & CHECK_INTERVAL_MASK) == 0 && System.nanoTime() - deadlineNanos > 0) {
+            throw new RegexTimeoutException();
+        }
+        return delegate.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return delegate.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new TimeLimitedCharSequence(delegate.subSequence(start, end), deadlineNanos);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+}
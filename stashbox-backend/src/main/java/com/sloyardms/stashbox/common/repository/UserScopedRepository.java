@@ -14,4 +14,10 @@ public interface UserScopedRepository<T, ID> extends JpaRepository<T, ID> {
     @Query("SELECT e FROM #{#entityName} e WHERE e.id = :id AND e.user.externalId = :userExternalId")
     Optional<T> findByIdAndUserExternalId(@Param("id") ID id, @Param("userExternalId") UUID userExternalId);
 
+    /**
+     * Same as {@link #findByIdAndUserExternalId} but filters on the user_id column directly, without joining users
+     */
+    @Query("SELECT e FROM #{#entityName} e WHERE e.id = :id AND e.user.id = :userId")
+    Optional<T> findByIdAndUserId(@Param("id") ID id, @Param("userId") UUID userId);
+
 }
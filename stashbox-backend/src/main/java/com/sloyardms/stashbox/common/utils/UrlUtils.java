@@ -0,0 +1,60 @@
+package com.sloyardms.stashbox.common.utils;
+
+import java.net.URI;
+import java.util.Locale;
+
+public final class UrlUtils {
+
+    private UrlUtils() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Extracts the lowercase host of a URL. URLs without a scheme are treated as https URLs.
+     * <p><strong>Example:</strong></p>
+     * <pre>
+     * extractHost("https://News.Example.com/a?b=c") → "news.example.com"
+     * extractHost("example.com/tag/java")           → "example.com"
+     * extractHost("not a url")                      → null
+     * </pre>
+     *
+     * @param url the URL to parse; may be null or blank
+     * @return the normalized host, or null if the URL has no parsable host
+     */
+    public static String extractHost(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+
+        String trimmed = url.trim();
+        if (!trimmed.contains("://")) {
+            trimmed = "https://" + trimmed;
+        }
+
+        try {
+            return normalizeHost(URI.create(trimmed).getHost());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Normalizes a host or domain name for comparisons: trims it, lowercases it and removes the trailing dot of
+     * fully qualified names.
+     *
+     * @param host the host to normalize; may be null or blank
+     * @return the normalized host, or null if input is null or blank
+     */
+    public static String normalizeHost(String host) {
+        if (host == null || host.isBlank()) {
+            return null;
+        }
+
+        String normalized = host.trim().toLowerCase(Locale.ROOT);
+        if (normalized.endsWith(".")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+}
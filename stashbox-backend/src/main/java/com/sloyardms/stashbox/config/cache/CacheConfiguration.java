@@ -0,0 +1,57 @@
+package com.sloyardms.stashbox.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the application caches, each one backed by its own Caffeine spec.
+ * Cache writes and evictions are deferred until the surrounding transaction commits
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    @Value("${cache.user-filter-matchers.spec:maximumSize=10000,expireAfterWrite=10m}")
+    private String userFilterMatchersSpec;
+
+    @Value("${cache.user-filter-domains.spec:maximumSize=10000,expireAfterWrite=30m}")
+    private String userFilterDomainsSpec;
+
+    @Value("${cache.regex-patterns.spec:maximumSize=5000,expireAfterAccess=1h}")
+    private String regexPatternsSpec;
+
+    @Value("${cache.user-ids.spec:maximumSize=100000,expireAfterWrite=10m}")
+    private String userIdsSpec;
+
+    @Value("${cache.user-profiles.spec:maximumSize=10000,expireAfterWrite=10m}")
+    private String userProfilesSpec;
+
+    @Value("${cache.unprovisionable-users.spec:maximumSize=10000,expireAfterWrite=1m}")
+    private String unprovisionableUsersSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(CacheNames.USER_FILTER_MATCHERS,
+                Caffeine.from(userFilterMatchersSpec).recordStats().build());
+        cacheManager.registerCustomCache(CacheNames.USER_FILTER_DOMAINS,
+                Caffeine.from(userFilterDomainsSpec).recordStats().build());
+        cacheManager.registerCustomCache(CacheNames.REGEX_PATTERNS,
+                Caffeine.from(regexPatternsSpec).recordStats().build());
+        cacheManager.registerCustomCache(CacheNames.USER_IDS,
+                Caffeine.from(userIdsSpec).recordStats().build());
+        cacheManager.registerCustomCache(CacheNames.USER_PROFILES,
+                Caffeine.from(userProfilesSpec).recordStats().build());
+        cacheManager.registerCustomCache(CacheNames.UNPROVISIONABLE_USERS,
+                Caffeine.from(unprovisionableUsersSpec).recordStats().build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.sloyardms.stashbox.config.cache;
+
+public final class CacheNames {
+
+    public static final String USER_FILTER_MATCHERS = "userFilterMatchers";
+    public static final String USER_FILTER_DOMAINS = "userFilterDomains";
+    public static final String REGEX_PATTERNS = "regexPatterns";
+    public static final String USER_IDS = "userIds";
+    public static final String USER_PROFILES = "userProfiles";
+    public static final String UNPROVISIONABLE_USERS = "unprovisionableUsers";
+
+    private CacheNames() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+}
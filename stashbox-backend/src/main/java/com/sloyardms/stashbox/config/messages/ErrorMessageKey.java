@@ -42,7 +42,11 @@ public enum ErrorMessageKey {
     DATABASE_ERROR_TITLE("error.database.title"),
     DATABASE_ERROR_DETAIL("error.database.detail"),
     INVALID_SORT_FIELD_TITLE("error.invalid-sort-field.title"),
-    INVALID_SORT_FIELD_DETAIL("error.invalid-sort-field.detail");
+    INVALID_SORT_FIELD_DETAIL("error.invalid-sort-field.detail"),
+    INVALID_CURSOR_TITLE("error.invalid-cursor.title"),
+    INVALID_CURSOR_DETAIL("error.invalid-cursor.detail"),
+    RATE_LIMITED_TITLE("error.rate-limited.title"),
+    RATE_LIMITED_DETAIL("error.rate-limited.detail");
 
     private final String key;
 
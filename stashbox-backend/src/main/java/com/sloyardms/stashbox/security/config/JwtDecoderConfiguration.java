@@ -0,0 +1,83 @@
+package com.sloyardms.stashbox.security.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.sloyardms.stashbox.security.jwt.CachingJwtDecoder;
+import com.sloyardms.stashbox.security.jwt.PersistentJwkSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the resource server JwtDecoder from a JWKS endpoint instead of issuer discovery, so startup does not depend
+ * on Keycloak being reachable once a local copy of the keys exists
+ */
+@Configuration
+@Profile({"prod", "dev"})
+public class JwtDecoderConfiguration {
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
+    private String issuerUri;
+
+    @Value("${security.jwt.jwk-set-uri:}")
+    private String jwkSetUri;
+
+    @Value("${security.jwt.jwks-cache-file:${java.io.tmpdir}/stashbox/jwks.json}")
+    private Path jwksCacheFile;
+
+    @Value("${security.jwt.jwks-min-refresh-interval:30s}")
+    private Duration jwksMinRefreshInterval;
+
+    @Value("${security.jwt.jwks-timeout:5s}")
+    private Duration jwksTimeout;
+
+    @Value("${security.jwt.algorithms:RS256}")
+    private String[] algorithms;
+
+    @Value("${security.jwt.verified-token-cache.maximum-size:10000}")
+    private long verifiedTokenCacheSize;
+
+    @Value("${security.jwt.verified-token-cache.max-ttl:10m}")
+    private Duration verifiedTokenCacheMaxTtl;
+
+    @Bean
+    public PersistentJwkSource jwkSource() {
+        // Keycloak publishes the realm keys under the issuer
+        String uri = jwkSetUri.isBlank() ? issuerUri + "/protocol/openid-connect/certs" : jwkSetUri;
+        PersistentJwkSource jwkSource = new PersistentJwkSource(uri, jwksCacheFile, jwksMinRefreshInterval,
+                jwksTimeout);
+        jwkSource.initialize();
+        return jwkSource;
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(PersistentJwkSource jwkSource, MeterRegistry meterRegistry) {
+        Set<JWSAlgorithm> jwsAlgorithms = Arrays.stream(algorithms)
+                .map(JWSAlgorithm::parse)
+                .collect(Collectors.toSet());
+
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(jwsAlgorithms, jwkSource));
+        // Claims are validated by the Spring validators below
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return new CachingJwtDecoder(decoder, verifiedTokenCacheSize, verifiedTokenCacheMaxTtl, meterRegistry);
+    }
+
+}
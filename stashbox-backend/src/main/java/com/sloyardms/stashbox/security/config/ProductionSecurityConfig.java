@@ -1,6 +1,11 @@
 package com.sloyardms.stashbox.security.config;
 
+import com.sloyardms.stashbox.common.error.utils.ProblemDetailBuilder;
 import com.sloyardms.stashbox.security.converter.KeycloakJwtAuthenticationConverter;
+import com.sloyardms.stashbox.security.filter.RateLimitFilter;
+import com.sloyardms.stashbox.security.filter.UserProvisioningFilter;
+import com.sloyardms.stashbox.security.ratelimit.RateLimitPolicy;
+import com.sloyardms.stashbox.user.service.UserProvisioner;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -11,6 +16,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -21,10 +27,19 @@ public class ProductionSecurityConfig {
     private final KeycloakJwtAuthenticationConverter jwtAuthenticationConverter;
     private final CustomAuthenticationEntryPoint authenticationEntryPoint;
     private final CustomAccessDeniedHandler accessDeniedHandler;
+    private final UserProvisioner userProvisioner;
+    private final RateLimitPolicy rateLimitPolicy;
+    private final ProblemDetailBuilder problemDetailBuilder;
 
     @Value("${security.public-endpoints:/actuator/health,/actuator/info}")
     private String[] publicEndpoints;
 
+    @Value("${security.user-provisioning.enabled:false}")
+    private boolean userProvisioningEnabled;
+
+    @Value("${security.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -45,6 +60,15 @@ public class ProductionSecurityConfig {
                         .authenticationEntryPoint(authenticationEntryPoint)
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter))
                 );
+        // Both run after authorization so only requests that are allowed through count or provision a user.
+        // Limiting comes first so rejected requests never reach the database
+        if (rateLimitEnabled) {
+            http.addFilterAfter(new RateLimitFilter(rateLimitPolicy, problemDetailBuilder), AuthorizationFilter.class);
+        }
+        if (userProvisioningEnabled) {
+            http.addFilterAfter(new UserProvisioningFilter(userProvisioner),
+                    rateLimitEnabled ? RateLimitFilter.class : AuthorizationFilter.class);
+        }
         return http.build();
     }
 
@@ -0,0 +1,27 @@
+package com.sloyardms.stashbox.security.converter;
+
+import com.sloyardms.stashbox.security.principal.AuthenticatedUser;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+
+/**
+ * JWT authentication that also carries the pre-parsed claims of the user
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class AuthenticatedUserToken extends JwtAuthenticationToken {
+
+    private final transient AuthenticatedUser user;
+
+    public AuthenticatedUserToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities,
+                                  AuthenticatedUser user) {
+        super(jwt, authorities);
+        this.user = user;
+    }
+
+}
@@ -1,57 +1,166 @@
 package com.sloyardms.stashbox.security.converter;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sloyardms.stashbox.security.principal.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Converts Keycloak JWTs into {@link AuthenticatedUserToken}s.
+ * The authorities and parsed claims of a token are cached until the token expires, so repeated requests with the same
+ * token only allocate the authentication object. The token itself is not cached because Spring Security sets
+ * request-specific details on it
+ */
 @Component
 public class KeycloakJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
     private static final String REALM_ACCESS_CLAIM = "realm_access";
     private static final String ROLES_CLAIM = "roles";
 
+    private final Cache<String, ConvertedJwt> conversions;
+
+    @Autowired
+    public KeycloakJwtAuthenticationConverter(MeterRegistry meterRegistry,
+                                              @Value("${security.jwt-conversion-cache.maximum-size:10000}")
+                                              long maximumSize,
+                                              @Value("${security.jwt-conversion-cache.max-ttl:10m}")
+                                              Duration maxTtl) {
+        this(meterRegistry, maximumSize, maxTtl, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    KeycloakJwtAuthenticationConverter(MeterRegistry meterRegistry, long maximumSize, Duration maxTtl, Ticker ticker,
+                                       Clock clock) {
+        this.conversions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpiresWithToken(maxTtl, clock))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, conversions, "jwtConversions");
+    }
+
     @Override
     public AbstractAuthenticationToken convert(@NonNull Jwt jwt) {
-        Collection<GrantedAuthority> authorities = extractAuthorities(jwt);
-        return new JwtAuthenticationToken(jwt, authorities);
+        ConvertedJwt converted = conversions.get(cacheKey(jwt), key -> convertClaims(jwt));
+        return new AuthenticatedUserToken(jwt, converted.authorities(), converted.user());
     }
 
     /**
-     * Extract roles from Keycloak JWT token and convert to Spring Security authorities
+     * The token has been verified at this point, so its id and subject identify it. Tokens without an id fall back to
+     * the token value
+     */
+    private static String cacheKey(Jwt jwt) {
+        String id = jwt.getId();
+        return id != null ? jwt.getSubject() + ":" + id : jwt.getTokenValue();
+    }
+
+    private static ConvertedJwt convertClaims(Jwt jwt) {
+        Set<String> roles = extractRoles(jwt);
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+                .toList();
+
+        String username = jwt.getClaimAsString("preferred_username");
+        if (username == null || username.isBlank()) {
+            username = jwt.getClaimAsString("username");
+        }
+        String email = jwt.getClaimAsString("email");
+
+        AuthenticatedUser user = new AuthenticatedUser(parseSubject(jwt.getSubject()), blankToNull(username),
+                blankToNull(email), roles);
+        return new ConvertedJwt(user, authorities, jwt.getExpiresAt());
+    }
+
+    /**
+     * Extract roles from Keycloak JWT token
      *
      * @param jwt the JWT token from Keycloak
-     * @return collection of granted authorities with roles exactly as they appear in Keycloak
+     * @return the realm roles exactly as they appear in Keycloak
      */
-    private Collection<GrantedAuthority> extractAuthorities(Jwt jwt) {
+    private static Set<String> extractRoles(Jwt jwt) {
         Map<String, Object> realmAccess = jwt.getClaimAsMap(REALM_ACCESS_CLAIM);
 
         if (realmAccess == null || realmAccess.isEmpty()) {
-            return Collections.emptyList();
+            return Collections.emptySet();
         }
 
         Object rolesObj = realmAccess.get(ROLES_CLAIM);
-        if (!(rolesObj instanceof List<?>)) {
-            return Collections.emptyList();
+        if (!(rolesObj instanceof List<?> roles)) {
+            return Collections.emptySet();
         }
 
-        @SuppressWarnings("unchecked")
-        List<String> roles = (List<String>) rolesObj;
-
-        // Map Keycloak roles
         return roles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
-                .collect(Collectors.toUnmodifiableList());
+                .map(String::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static UUID parseSubject(String subject) {
+        if (subject == null || subject.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(subject);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private record ConvertedJwt(AuthenticatedUser user, List<GrantedAuthority> authorities, Instant expiresAt) {
+    }
+
+    /**
+     * Expires each entry together with its token, tokens without an expiration are kept for at most maxTtl
+     */
+    private record ExpiresWithToken(Duration maxTtl, Clock clock) implements Expiry<String, ConvertedJwt> {
+
+        @Override
+        public long expireAfterCreate(String key, ConvertedJwt value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return maxTtl.toNanos();
+            }
+            Duration untilExpiry = Duration.between(clock.instant(), value.expiresAt());
+            if (untilExpiry.isNegative()) {
+                return 0;
+            }
+            return Math.min(untilExpiry.toNanos(), maxTtl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ConvertedJwt value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, ConvertedJwt value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
     }
 
 }
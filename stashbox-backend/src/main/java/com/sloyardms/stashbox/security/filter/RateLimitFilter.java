@@ -0,0 +1,132 @@
+package com.sloyardms.stashbox.security.filter;
+
+import com.sloyardms.stashbox.common.error.utils.ProblemDetailBuilder;
+import com.sloyardms.stashbox.config.messages.ErrorMessageKey;
+import com.sloyardms.stashbox.security.ratelimit.ConcurrencyLimiter;
+import com.sloyardms.stashbox.security.ratelimit.RateLimitCategory;
+import com.sloyardms.stashbox.security.ratelimit.RateLimitPolicy;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Rejects requests of a JWT subject with 429 once it runs out of tokens for the request category or already has its
+ * maximum of requests in flight, before the request can take a database connection. A streamed response counts as in
+ * flight until it has been written completely
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+    // Retry hint when the subject is only over its concurrency quota
+    private static final Duration CONCURRENCY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final RateLimitPolicy rateLimitPolicy;
+    private final ProblemDetailBuilder problemDetailBuilder;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof JwtAuthenticationToken token)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String subject = token.getName();
+        boolean admin = token.getAuthorities().stream()
+                .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+
+        Duration retryAfter = rateLimitPolicy.tryAcquire(subject, admin, RateLimitCategory.of(request));
+        if (!retryAfter.isZero()) {
+            reject(request, response, retryAfter);
+            return;
+        }
+
+        ConcurrencyLimiter.Slot slot = rateLimitPolicy.tryAcquireSlot(subject, admin);
+        if (slot == null) {
+            reject(request, response, CONCURRENCY_RETRY_AFTER);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Streamed responses keep running after the dispatch returns, their slot is held until they end
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new SlotReleasingListener(slot));
+            } else {
+                slot.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Duration retryAfter)
+            throws IOException {
+        Locale locale = request.getLocale();
+        ProblemDetail problemDetail = problemDetailBuilder.createSimpleProblemDetail(
+                HttpStatus.TOO_MANY_REQUESTS,
+                "urn:problem-type:rate-limited",
+                ErrorMessageKey.RATE_LIMITED_TITLE,
+                ErrorMessageKey.RATE_LIMITED_DETAIL,
+                locale
+        );
+        // Retry-After has a resolution of seconds, rounding down would invite an immediate retry
+        long retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        problemDetail.setProperty("retryAfterSeconds", retryAfterSeconds);
+
+        log.debug("[{}] Rate limited request to {}", problemDetailBuilder.getErrorId(problemDetail),
+                request.getRequestURI());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        problemDetailBuilder.writeProblemDetailToResponse(response, problemDetail);
+    }
+
+    /**
+     * Releases the slot of an async request on whichever of complete, error or timeout arrives first
+     */
+    @RequiredArgsConstructor
+    private static final class SlotReleasingListener implements AsyncListener {
+
+        private final ConcurrencyLimiter.Slot slot;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            slot.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            slot.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            slot.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async processing restarts, the slot must still be released at the end
+            event.getAsyncContext().addListener(this);
+        }
+
+    }
+
+}
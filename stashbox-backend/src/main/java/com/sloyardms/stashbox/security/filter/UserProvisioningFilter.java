@@ -0,0 +1,52 @@
+package com.sloyardms.stashbox.security.filter;
+
+import com.sloyardms.stashbox.security.utils.AuthUtils;
+import com.sloyardms.stashbox.user.service.UserProvisioner;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Provisions the authenticated user from the JWT claims before the request reaches a controller, so clients do not
+ * need to register through POST /api/v1/users/me first. That endpoint is skipped to keep its 201/409 semantics
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class UserProvisioningFilter extends OncePerRequestFilter {
+
+    private static final String REGISTRATION_PATH = "/api/v1/users/me";
+
+    private final UserProvisioner userProvisioner;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return HttpMethod.POST.matches(request.getMethod()) && REGISTRATION_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken) {
+            try {
+                userProvisioner.provision(AuthUtils.getCurrentUserExternalId(), AuthUtils.getCurrentUsername(),
+                        AuthUtils.getCurrentUserEmail());
+            } catch (IllegalStateException e) {
+                log.debug("Skipping user provisioning: {}", e.getMessage());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+}
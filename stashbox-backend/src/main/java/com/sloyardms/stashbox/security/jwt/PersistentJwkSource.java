@@ -0,0 +1,146 @@
+package com.sloyardms.stashbox.security.jwt;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.ResourceRetriever;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JWK set kept in memory and mirrored to a local file.
+ * At startup the set is fetched from the JWKS endpoint, falling back to the local copy when the endpoint is not
+ * reachable. The set is refreshed in the background and on demand when a token references an unknown key, at most
+ * once per minimum refresh interval
+ */
+@Slf4j
+public class PersistentJwkSource implements JWKSource<SecurityContext> {
+
+    private final String jwkSetUri;
+    private final Path cacheFile;
+    private final Duration minRefreshInterval;
+    private final ResourceRetriever resourceRetriever;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+    private final Clock clock;
+
+    private volatile JWKSet jwkSet;
+    private volatile Instant lastRefreshAttempt = Instant.MIN;
+
+    /**
+     * @param jwkSetUri          the JWKS endpoint, either an http(s) URL or a Spring resource location such as file:
+     * @param cacheFile          where the last fetched set is persisted
+     * @param minRefreshInterval minimum time between two on-demand refreshes
+     * @param timeout            connect and read timeout of the JWKS endpoint
+     */
+    public PersistentJwkSource(String jwkSetUri, Path cacheFile, Duration minRefreshInterval, Duration timeout) {
+        this(jwkSetUri, cacheFile, minRefreshInterval, timeout, Clock.systemUTC());
+    }
+
+    PersistentJwkSource(String jwkSetUri, Path cacheFile, Duration minRefreshInterval, Duration timeout,
+                        Clock clock) {
+        this.jwkSetUri = jwkSetUri;
+        this.cacheFile = cacheFile;
+        this.minRefreshInterval = minRefreshInterval;
+        this.resourceRetriever = new DefaultResourceRetriever((int) timeout.toMillis(), (int) timeout.toMillis());
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the JWK set before the first request, from the endpoint or else from the local copy
+     */
+    public void initialize() {
+        if (refresh()) {
+            return;
+        }
+        if (Files.isReadable(cacheFile)) {
+            try {
+                jwkSet = JWKSet.parse(Files.readString(cacheFile));
+                log.info("Loaded {} JWKs from local cache {}", jwkSet.getKeys().size(), cacheFile);
+            } catch (IOException | ParseException e) {
+                log.warn("Could not read the local JWKS cache {}", cacheFile, e);
+            }
+        }
+        if (jwkSet == null) {
+            log.warn("No JWKS available at startup, it will be fetched on the first request");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.jwks-refresh-interval:5m}",
+            initialDelayString = "${security.jwt.jwks-refresh-interval:5m}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Fetches the JWK set from the endpoint and persists it. The current set is kept when the fetch fails
+     *
+     * @return true if the set was fetched
+     */
+    public synchronized boolean refresh() {
+        lastRefreshAttempt = clock.instant();
+        try {
+            String json = fetch();
+            JWKSet fetched = JWKSet.parse(json);
+            jwkSet = fetched;
+            persist(json);
+            return true;
+        } catch (IOException | ParseException e) {
+            log.warn("Could not refresh the JWKS from {}: {}", jwkSetUri, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        JWKSet current = jwkSet;
+        List<JWK> keys = current == null ? List.of() : jwkSelector.select(current);
+        if (keys.isEmpty() && onDemandRefreshAllowed() && refresh()) {
+            keys = jwkSelector.select(jwkSet);
+        }
+        return keys;
+    }
+
+    private boolean onDemandRefreshAllowed() {
+        return !clock.instant().isBefore(lastRefreshAttempt.plus(minRefreshInterval));
+    }
+
+    private String fetch() throws IOException {
+        if (jwkSetUri.startsWith("http://") || jwkSetUri.startsWith("https://")) {
+            return resourceRetriever.retrieveResource(URI.create(jwkSetUri).toURL()).getContent();
+        }
+        try (InputStream in = resourceLoader.getResource(jwkSetUri).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void persist(String json) {
+        try {
+            Path directory = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, "jwks", ".tmp");
+            Files.writeString(tempFile, json);
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not persist the JWKS to {}", cacheFile, e);
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.sloyardms.stashbox.security.principal;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Claims of an authenticated user, parsed once per token instead of on every access
+ *
+ * @param externalId the "sub" claim, null if it is not a valid UUID
+ * @param username   the "preferred_username" or "username" claim, null if absent
+ * @param email      the "email" claim, null if absent
+ * @param roles      the Keycloak realm roles
+ */
+public record AuthenticatedUser(UUID externalId, String username, String email, Set<String> roles) {
+}
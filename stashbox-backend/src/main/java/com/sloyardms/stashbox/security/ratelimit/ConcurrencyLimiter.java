@@ -0,0 +1,58 @@
+package com.sloyardms.stashbox.security.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of requests in flight per key. A key is only kept while it has requests in flight, so its count
+ * cannot be dropped while slots are still held, however long the requests run
+ */
+public class ConcurrencyLimiter {
+
+    private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Reserves a slot for the key
+     *
+     * @return the slot to release once the request completes, or null if the key is at its limit
+     */
+    public Slot tryAcquire(String key, int limit) {
+        boolean[] acquired = new boolean[1];
+        inFlight.compute(key, (k, count) -> {
+            int current = count != null ? count : 0;
+            acquired[0] = current < limit;
+            return acquired[0] ? current + 1 : count;
+        });
+        return acquired[0] ? new Slot(key) : null;
+    }
+
+    /**
+     * @return the number of slots of the key currently held
+     */
+    public int inFlight(String key) {
+        return inFlight.getOrDefault(key, 0);
+    }
+
+    /**
+     * A reserved slot, releasing it more than once has no effect
+     */
+    public final class Slot {
+
+        private final String key;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot(String key) {
+            this.key = key;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                // The key is dropped with its last slot
+                inFlight.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+
+    }
+
+}
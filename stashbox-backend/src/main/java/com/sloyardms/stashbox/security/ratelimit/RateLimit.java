@@ -0,0 +1,40 @@
+package com.sloyardms.stashbox.security.ratelimit;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * Token bucket holding up to {@code permits} tokens, refilled at {@code permits} per {@code period}
+ *
+ * @param permits the bucket capacity, also the largest burst allowed
+ * @param period  the time it takes to refill an empty bucket
+ */
+public record RateLimit(long permits, Duration period) {
+
+    public RateLimit {
+        if (permits < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limits need at least one permit over a positive period");
+        }
+    }
+
+    /**
+     * Parses a limit written as {@code <permits>/<period>}, e.g. {@code 300/1m}
+     */
+    public static RateLimit parse(String spec) {
+        int separator = spec.indexOf('/');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid rate limit '" + spec + "', expected <permits>/<period>");
+        }
+        return new RateLimit(Long.parseLong(spec.substring(0, separator).trim()),
+                DurationStyle.detectAndParse(spec.substring(separator + 1).trim()));
+    }
+
+    /**
+     * Time it takes to refill one token
+     */
+    long emissionIntervalNanos() {
+        return Math.max(1, period.toNanos() / permits);
+    }
+
+}
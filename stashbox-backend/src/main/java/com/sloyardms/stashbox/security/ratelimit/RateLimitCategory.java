@@ -0,0 +1,34 @@
+package com.sloyardms.stashbox.security.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+/**
+ * Kinds of requests with separate token buckets, so a burst of writes does not also block reads
+ */
+public enum RateLimitCategory {
+
+    READ,
+    WRITE,
+    UPLOAD;
+
+    private static final String IMPORT_SUFFIX = ":import";
+
+    /**
+     * Multipart requests and bulk imports count as uploads, safe methods as reads and anything else as writes
+     */
+    public static RateLimitCategory of(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if ((contentType != null && contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE))
+                || request.getRequestURI().endsWith(IMPORT_SUFFIX)) {
+            return UPLOAD;
+        }
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)) {
+            return READ;
+        }
+        return WRITE;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.sloyardms.stashbox.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Per-subject request limits: a token bucket per request category and a cap on concurrent requests, both with
+ * separate values for regular users and admins
+ */
+@Component
+public class RateLimitPolicy {
+
+    @Value("${security.rate-limit.user.read:300/1m}")
+    private String userReadLimit;
+
+    @Value("${security.rate-limit.user.write:120/1m}")
+    private String userWriteLimit;
+
+    @Value("${security.rate-limit.user.upload:10/1m}")
+    private String userUploadLimit;
+
+    @Value("${security.rate-limit.user.max-concurrent:8}")
+    private int userMaxConcurrent;
+
+    @Value("${security.rate-limit.admin.read:1200/1m}")
+    private String adminReadLimit;
+
+    @Value("${security.rate-limit.admin.write:600/1m}")
+    private String adminWriteLimit;
+
+    @Value("${security.rate-limit.admin.upload:30/1m}")
+    private String adminUploadLimit;
+
+    @Value("${security.rate-limit.admin.max-concurrent:16}")
+    private int adminMaxConcurrent;
+
+    @Value("${security.rate-limit.maximum-subjects:100000}")
+    private long maximumSubjects;
+
+    private final Map<RateLimitCategory, RateLimit> userLimits = new EnumMap<>(RateLimitCategory.class);
+    private final Map<RateLimitCategory, RateLimit> adminLimits = new EnumMap<>(RateLimitCategory.class);
+    private TokenBucketRateLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter();
+
+    @PostConstruct
+    void initialize() {
+        userLimits.put(RateLimitCategory.READ, RateLimit.parse(userReadLimit));
+        userLimits.put(RateLimitCategory.WRITE, RateLimit.parse(userWriteLimit));
+        userLimits.put(RateLimitCategory.UPLOAD, RateLimit.parse(userUploadLimit));
+        adminLimits.put(RateLimitCategory.READ, RateLimit.parse(adminReadLimit));
+        adminLimits.put(RateLimitCategory.WRITE, RateLimit.parse(adminWriteLimit));
+        adminLimits.put(RateLimitCategory.UPLOAD, RateLimit.parse(adminUploadLimit));
+
+        // An idle bucket is full again after its period, so it can be dropped and recreated on the next request
+        Duration longestPeriod = Stream.concat(userLimits.values().stream(), adminLimits.values().stream())
+                .map(RateLimit::period)
+                .max(Duration::compareTo)
+                .orElseThrow();
+        rateLimiter = new TokenBucketRateLimiter(maximumSubjects * RateLimitCategory.values().length, longestPeriod,
+                Ticker.systemTicker());
+    }
+
+    /**
+     * Takes a token from the bucket of the subject for the category
+     *
+     * @return zero if the request may proceed, otherwise the time until it may be retried
+     */
+    public Duration tryAcquire(String subject, boolean admin, RateLimitCategory category) {
+        RateLimit limit = (admin ? adminLimits : userLimits).get(category);
+        return rateLimiter.tryAcquire(subject + ':' + category, limit);
+    }
+
+    /**
+     * Reserves one of the concurrent request slots of the subject
+     *
+     * @return the slot to release once the request completes, null if all slots are taken
+     */
+    public ConcurrencyLimiter.Slot tryAcquireSlot(String subject, boolean admin) {
+        return concurrencyLimiter.tryAcquire(subject, admin ? adminMaxConcurrent : userMaxConcurrent);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.sloyardms.stashbox.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by an arbitrary string, implemented with the generic cell rate algorithm.
+ * The state of a bucket is a single theoretical arrival time updated by compare-and-set, so acquiring never blocks.
+ * Buckets live in a Caffeine map, which spreads keys over independent hash bins, and are dropped once idle long enough
+ * to be full again
+ */
+public class TokenBucketRateLimiter {
+
+    private final Cache<String, AtomicLong> arrivalTimes;
+    private final Ticker ticker;
+
+    public TokenBucketRateLimiter(long maximumSize, Duration idleExpiry, Ticker ticker) {
+        this.ticker = ticker;
+        this.arrivalTimes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleExpiry)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Takes one token from the bucket of the key
+     *
+     * @return zero if a token was taken, otherwise the time until the next token is available
+     */
+    public Duration tryAcquire(String key, RateLimit limit) {
+        long interval = limit.emissionIntervalNanos();
+        long burstTolerance = interval * (limit.permits() - 1);
+        AtomicLong arrivalTime = arrivalTimes.get(key, k -> new AtomicLong(ticker.read()));
+
+        while (true) {
+            long now = ticker.read();
+            long current = arrivalTime.get();
+            long start = Math.max(current, now);
+            long wait = start - burstTolerance - now;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (arrivalTime.compareAndSet(current, start + interval)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+}
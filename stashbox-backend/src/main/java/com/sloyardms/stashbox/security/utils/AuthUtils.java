@@ -1,5 +1,6 @@
 package com.sloyardms.stashbox.security.utils;
 
+import com.sloyardms.stashbox.security.converter.AuthenticatedUserToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
@@ -10,6 +11,7 @@ import java.util.UUID;
 /**
  * Utility class to extract current user information from the security context
  * Works with bot JWT tokens (production) and fake authentication (dev/text)
+ * JWT authentications carry claims parsed once per token, so their getters are plain field reads
  */
 public class AuthUtils {
 
@@ -22,6 +24,9 @@ public class AuthUtils {
      */
     public static UUID getCurrentUserExternalId() {
         Authentication auth = getAuthentication();
+        if (auth instanceof AuthenticatedUserToken token) {
+            return requireClaim(token.getUser().externalId(), "JWT subject is missing or not a valid UUID");
+        }
         Object principal = auth.getPrincipal();
 
         if (principal instanceof Jwt jwt) {
@@ -52,6 +57,9 @@ public class AuthUtils {
      */
     public static String getCurrentUsername() {
         Authentication auth = getAuthentication();
+        if (auth instanceof AuthenticatedUserToken token) {
+            return requireClaim(token.getUser().username(), "No valid username claim found in JWT");
+        }
         Object principal = auth.getPrincipal();
 
         // For JWT tokens
@@ -89,6 +97,9 @@ public class AuthUtils {
      */
     public static String getCurrentUserEmail() {
         Authentication auth = getAuthentication();
+        if (auth instanceof AuthenticatedUserToken token) {
+            return requireClaim(token.getUser().email(), "No valid email claim found in JWT");
+        }
         Object principal = auth.getPrincipal();
 
         // For JWT tokens
@@ -135,6 +146,13 @@ public class AuthUtils {
         return auth;
     }
 
+    private static <T> T requireClaim(T value, String message) {
+        if (value == null) {
+            throw new IllegalStateException(message);
+        }
+        return value;
+    }
+
     private static UUID parseUUID(String value, String fieldName) {
         try {
             return UUID.fromString(value);
@@ -0,0 +1,85 @@
+package com.sloyardms.stashbox.stashitem.controller;
+
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.security.utils.AuthUtils;
+import com.sloyardms.stashbox.stashitem.dto.StashItemResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemSummaryResponse;
+import com.sloyardms.stashbox.stashitem.service.StashItemService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Validated
+@RestController
+@RequestMapping("/api/v1/items")
+public class StashItemController {
+
+    private final StashItemService stashItemService;
+
+    /**
+     * Lists the active items, newest first. Pages are fetched with the cursor of the previous one, which keeps deep
+     * pages as cheap as the first
+     */
+    @GetMapping
+    public ResponseEntity<CursorPageResponse<StashItemSummaryResponse>> getStashItems(
+            @RequestParam(required = false) UUID group,
+            @RequestParam(required = false) Boolean favorite,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        CursorPageResponse<StashItemSummaryResponse> response = stashItemService.getStashItems(group, favorite,
+                cursor, limit, userExternalId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Same listing as {@link #getStashItems} with the full detail of every item. Items are paged by id first and
+     * their associations loaded in one query each, so the query count does not grow with the page size
+     */
+    @GetMapping("/details")
+    public ResponseEntity<CursorPageResponse<StashItemResponse>> getStashItemDetails(
+            @RequestParam(required = false) UUID group,
+            @RequestParam(required = false) Boolean favorite,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        CursorPageResponse<StashItemResponse> response = stashItemService.getStashItemDetails(group, favorite,
+                cursor, limit, userExternalId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<StashItemResponse> getStashItemById(@PathVariable UUID id) {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        StashItemResponse response = stashItemService.getStashItemById(id, userExternalId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Full-text search over the title, url and description of the active items, best matches first.
+     * The query accepts web search syntax: quoted phrases, OR and a leading minus to exclude a word
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<StashItemSummaryResponse>> searchStashItems(
+            @RequestParam @NotBlank @Size(max = 255) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        CursorPageResponse<StashItemSummaryResponse> response = stashItemService.searchStashItems(q, cursor, limit,
+                userExternalId);
+        return ResponseEntity.ok(response);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.sloyardms.stashbox.stashitem.controller;
+
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.security.utils.AuthUtils;
+import com.sloyardms.stashbox.stashitem.dto.StashItemImportJobResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemImportRowResponse;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportRowStatus;
+import com.sloyardms.stashbox.stashitem.service.StashItemImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Bulk import of items from a JSON array. Imports run as background jobs whose progress and per-row results are
+ * available at the returned location.
+ * Mapped under /api/v1 because custom methods use a colon suffix on the collection path
+ */
+@RequiredArgsConstructor
+@Validated
+@RestController
+@RequestMapping("/api/v1")
+public class StashItemImportController {
+
+    private final StashItemImportService stashItemImportService;
+
+    @PostMapping(value = "/items:import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StashItemImportJobResponse> importStashItems(HttpServletRequest request)
+            throws IOException {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        StashItemImportJobResponse result = stashItemImportService.createImport(request.getInputStream(),
+                userExternalId);
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/api/v1/items/imports/{id}")
+                .buildAndExpand(result.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(result);
+    }
+
+    @GetMapping("/items/imports/{id}")
+    public ResponseEntity<StashItemImportJobResponse> getImport(@PathVariable UUID id) {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        StashItemImportJobResponse result = stashItemImportService.getImport(id, userExternalId);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Per-row results of the rows processed so far, in row order
+     */
+    @GetMapping("/items/imports/{id}/rows")
+    public ResponseEntity<CursorPageResponse<StashItemImportRowResponse>> getImportRows(
+            @PathVariable UUID id,
+            @RequestParam(required = false) StashItemImportRowStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        CursorPageResponse<StashItemImportRowResponse> result = stashItemImportService.getImportRows(id, status,
+                cursor, limit, userExternalId);
+        return ResponseEntity.ok(result);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.sloyardms.stashbox.stashitem.dto;
+
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportJobStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class StashItemImportJobResponse {
+
+    private UUID id;
+    private StashItemImportJobStatus status;
+    private int totalRows;
+    private int processedRows;
+    private int createdRows;
+    private int duplicateRows;
+    private int invalidRows;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+
+}
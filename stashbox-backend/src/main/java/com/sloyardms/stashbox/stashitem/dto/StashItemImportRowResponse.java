@@ -0,0 +1,28 @@
+package com.sloyardms.stashbox.stashitem.dto;
+
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportRowStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class StashItemImportRowResponse {
+
+    /**
+     * Zero-based position of the row in the imported array
+     */
+    private int index;
+    private StashItemImportRowStatus status;
+    private String message;
+    private UUID itemId;
+
+}
@@ -8,6 +8,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Getter
@@ -22,5 +23,10 @@ public class StashItemSummaryResponse {
     private String slug;
     private boolean favorite;
     private ItemImageResponse image;
+    private Instant createdAt;
+    /**
+     * Highlighted fragments of the title and description, only set on full-text search results
+     */
+    private String snippet;
 
 }
@@ -16,6 +16,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -26,6 +28,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -39,6 +42,10 @@ import java.util.UUID;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Builder
 @Entity
+@NamedEntityGraph(name = StashItem.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("group"),
+        @NamedAttributeNode("image"),
+})
 @Table(name = "stash_items", indexes = {
         @Index(name = "stash_items_user_created_active_index", columnList = "user_id, created_at"),
         @Index(name = "stash_items_user_group_created_active_index", columnList = "user_id, group_id, created_at"),
@@ -47,6 +54,12 @@ import java.util.UUID;
 })
 public class StashItem extends Auditable {
 
+    /**
+     * Fetches the to-one associations needed by the detail response in the same query as the items. Collections
+     * are left out so the rows do not multiply
+     */
+    public static final String DETAIL_GRAPH = "StashItem.detail";
+
     @Id
     @Column(columnDefinition = "UUID")
     private UUID id;
@@ -93,6 +106,7 @@ public class StashItem extends Auditable {
     private OffsetDateTime deletedAt;
 
     @Builder.Default
+    @BatchSize(size = 50)
     @ManyToMany(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
     @JoinTable(name = "item_tags",
             joinColumns = @JoinColumn(name = "item_id"),
@@ -100,6 +114,7 @@ public class StashItem extends Auditable {
     private List<ItemTag> tags = new ArrayList<>();
 
     @Builder.Default
+    @BatchSize(size = 50)
     @OneToMany(cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private List<ItemNote> notes = new ArrayList<>();
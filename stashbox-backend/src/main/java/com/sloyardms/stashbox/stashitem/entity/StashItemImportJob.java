@@ -0,0 +1,94 @@
+package com.sloyardms.stashbox.stashitem.entity;
+
+import com.sloyardms.stashbox.common.entity.Auditable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Import of a bookmark export into the items of a user. Its rows are staged in stash_item_import_rows and
+ * processed one chunk at a time
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(onlyExplicitlyIncluded = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Entity
+@Table(name = "stash_item_import_jobs")
+public class StashItemImportJob extends Auditable {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id", nullable = false, updatable = false)
+    @ToString.Include
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    @ToString.Include
+    private UUID userId;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @ToString.Include
+    private StashItemImportJobStatus status = StashItemImportJobStatus.PENDING;
+
+    /**
+     * Index of the last processed row, the job resumes after it
+     */
+    @Builder.Default
+    @Column(name = "last_row_index", nullable = false)
+    private int lastRowIndex = -1;
+
+    @Column(name = "total_rows", nullable = false)
+    private int totalRows;
+
+    @Builder.Default
+    @Column(name = "processed_rows", nullable = false)
+    private int processedRows = 0;
+
+    @Builder.Default
+    @Column(name = "created_rows", nullable = false)
+    private int createdRows = 0;
+
+    @Builder.Default
+    @Column(name = "duplicate_rows", nullable = false)
+    private int duplicateRows = 0;
+
+    @Builder.Default
+    @Column(name = "invalid_rows", nullable = false)
+    private int invalidRows = 0;
+
+    @Builder.Default
+    @Column(name = "failures", nullable = false)
+    private int failures = 0;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @Column(name = "last_claimed_at")
+    private Instant lastClaimedAt;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+}
@@ -0,0 +1,10 @@
+package com.sloyardms.stashbox.stashitem.entity;
+
+public enum StashItemImportRowStatus {
+
+    PENDING,
+    CREATED,
+    DUPLICATE,
+    INVALID
+
+}
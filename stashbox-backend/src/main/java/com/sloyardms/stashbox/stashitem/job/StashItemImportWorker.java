@@ -0,0 +1,52 @@
+package com.sloyardms.stashbox.stashitem.job;
+
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportJob;
+import com.sloyardms.stashbox.stashitem.service.StashItemImportJobTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Runs stash item imports. Each run processes at most chunks-per-run chunks of one job and then releases it, so
+ * a large import does not hold back the imports of other users
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class StashItemImportWorker {
+
+    private final StashItemImportJobTracker stashItemImportJobTracker;
+
+    @Value("${stash-item.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${stash-item.import.chunks-per-run:20}")
+    private int chunksPerRun;
+
+    @Scheduled(fixedDelayString = "${stash-item.import.poll-interval:2s}")
+    public void processNextJob() {
+        Optional<StashItemImportJob> claimed = stashItemImportJobTracker.claimNext();
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        StashItemImportJob job = claimed.get();
+        try {
+            for (int chunk = 0; chunk < chunksPerRun; chunk++) {
+                if (!stashItemImportJobTracker.processChunk(job.getId(), chunkSize)) {
+                    log.info("Completed stash item import {}", job.getId());
+                    return;
+                }
+            }
+            stashItemImportJobTracker.release(job.getId());
+        } catch (RuntimeException e) {
+            log.error("Stash item import {} failed", job.getId(), e);
+            stashItemImportJobTracker.fail(job.getId(), e.getMessage());
+        }
+    }
+
+}
@@ -4,10 +4,12 @@ import com.sloyardms.stashbox.itemgroup.mapper.ItemGroupMapper;
 import com.sloyardms.stashbox.itemimage.mapper.ItemImageMapper;
 import com.sloyardms.stashbox.itemtag.mapper.ItemTagMapper;
 import com.sloyardms.stashbox.stashitem.dto.CreateStashItemRequest;
+import com.sloyardms.stashbox.stashitem.dto.StashItemImportJobResponse;
 import com.sloyardms.stashbox.stashitem.dto.StashItemResponse;
 import com.sloyardms.stashbox.stashitem.dto.StashItemSummaryResponse;
 import com.sloyardms.stashbox.stashitem.dto.UpdateStashItemRequest;
 import com.sloyardms.stashbox.stashitem.entity.StashItem;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportJob;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
@@ -50,6 +52,9 @@ public interface StashItemMapper {
 
     StashItemResponse toResponse(StashItem stashItem);
 
+    @Mapping(target = "snippet", ignore = true)
     StashItemSummaryResponse toSummaryResponse(StashItem stashItem);
 
+    StashItemImportJobResponse toImportJobResponse(StashItemImportJob stashItemImportJob);
+
 }
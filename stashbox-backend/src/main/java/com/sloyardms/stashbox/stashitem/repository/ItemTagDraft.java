@@ -0,0 +1,7 @@
+package com.sloyardms.stashbox.stashitem.repository;
+
+/**
+ * A validated and normalized tag name, created on import unless the user already has it
+ */
+public record ItemTagDraft(String name, String normalizedName, String slug) {
+}
@@ -0,0 +1,10 @@
+package com.sloyardms.stashbox.stashitem.repository;
+
+import java.util.UUID;
+
+/**
+ * A validated and normalized item, ready to be inserted
+ */
+public record StashItemDraft(UUID id, String title, String normalizedTitle, String slug, String url,
+                             String description) {
+}
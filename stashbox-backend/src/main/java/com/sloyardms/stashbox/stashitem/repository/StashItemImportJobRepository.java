@@ -0,0 +1,34 @@
+package com.sloyardms.stashbox.stashitem.repository;
+
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StashItemImportJobRepository extends JpaRepository<StashItemImportJob, UUID> {
+
+    Optional<StashItemImportJob> findByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Locks the unfinished job not leased by a worker that was claimed least recently, jobs never claimed come first
+     * in creation order. A released job thus waits behind the other jobs. Jobs locked by other workers are skipped,
+     * and so are jobs of users pending deletion, which the user purge removes
+     */
+    @Query(value = """
+            SELECT j.*
+            FROM stash_item_import_jobs j
+            JOIN users u ON u.id = j.user_id
+            WHERE j.status IN ('PENDING', 'RUNNING')
+                AND (j.lease_expires_at IS NULL OR j.lease_expires_at < :now)
+                AND u.deletion_requested_at IS NULL
+            ORDER BY j.last_claimed_at NULLS FIRST, j.created_at
+            LIMIT 1
+            FOR UPDATE OF j SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<StashItemImportJob> lockNextClaimable(@Param("now") Instant now);
+
+}
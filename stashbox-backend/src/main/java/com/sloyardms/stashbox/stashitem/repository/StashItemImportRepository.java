@@ -0,0 +1,236 @@
+package com.sloyardms.stashbox.stashitem.repository;
+
+import com.sloyardms.stashbox.stashitem.dto.StashItemImportRowResponse;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportRowStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Set-based statements of the stash item import. Every statement of a chunk takes the whole chunk as arrays, so a
+ * chunk costs the same number of round trips whatever its size
+ */
+@RequiredArgsConstructor
+@Repository
+public class StashItemImportRepository {
+
+    private static final String STAGE_ROW_SQL = """
+            INSERT INTO stash_item_import_rows (job_id, row_index, title, url, description, tags, status)
+            VALUES (?, ?, ?, ?, ?, ?, 'PENDING')
+            """;
+
+    private static final String FIND_ROWS_AFTER_SQL = """
+            SELECT row_index, title, url, description, tags
+            FROM stash_item_import_rows
+            WHERE job_id = ? AND row_index > ?
+            ORDER BY row_index
+            LIMIT ?
+            """;
+
+    // Matches the keys of the three partial unique indexes of active items
+    private static final String FIND_EXISTING_KEYS_SQL = """
+            SELECT url, normalized_title, slug
+            FROM stash_items
+            WHERE user_id = ?
+                AND deleted_at IS NULL
+                AND (url = ANY(?) OR normalized_title = ANY(?) OR slug = ANY(?))
+            """;
+
+    // An existing name is left alone and its tag reused. A new name whose slug is taken, by an existing tag or an
+    // earlier tag of the same statement, is skipped and then missing from the lookup by name
+    private static final String INSERT_TAGS_SQL = """
+            INSERT INTO tags (id, user_id, name, normalized_name, slug, created_at, updated_at)
+            SELECT t.id, ?, t.name, t.normalized_name, t.slug, now(), now()
+            FROM unnest(?, ?, ?, ?) AS t(id, name, normalized_name, slug)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String FIND_TAG_IDS_SQL = """
+            SELECT id, normalized_name
+            FROM tags
+            WHERE user_id = ? AND normalized_name = ANY(?)
+            """;
+
+    // Rows inserted concurrently since the duplicate check hit a unique index and are not returned
+    private static final String INSERT_ITEMS_SQL = """
+            INSERT INTO stash_items (id, user_id, title, normalized_title, slug, url, description, is_favorite,
+                created_at, updated_at)
+            SELECT t.id, ?, t.title, t.normalized_title, t.slug, t.url, t.description, FALSE, now(), now()
+            FROM unnest(?, ?, ?, ?, ?, ?) AS t(id, title, normalized_title, slug, url, description)
+            ON CONFLICT DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String INSERT_ITEM_TAGS_SQL = """
+            INSERT INTO item_tags (item_id, tag_id)
+            SELECT * FROM unnest(?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String RECORD_RESULTS_SQL = """
+            UPDATE stash_item_import_rows r
+            SET status = u.status, message = u.message, item_id = u.item_id, title = NULL, url = NULL,
+                description = NULL, tags = NULL
+            FROM unnest(?, ?, ?, ?) AS u(row_index, status, message, item_id)
+            WHERE r.job_id = ? AND r.row_index = u.row_index
+            """;
+
+    private static final String FIND_RESULTS_SQL = """
+            SELECT row_index, status, message, item_id
+            FROM stash_item_import_rows
+            WHERE job_id = ? AND row_index > ? AND status <> 'PENDING'
+            %s
+            ORDER BY row_index
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void stageRows(UUID jobId, List<StashItemImportRow> rows) {
+        jdbcTemplate.batchUpdate(STAGE_ROW_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, jobId);
+            ps.setInt(2, row.rowIndex());
+            ps.setString(3, row.title());
+            ps.setString(4, row.url());
+            ps.setString(5, row.description());
+            ps.setArray(6, row.tags() == null ? null
+                    : ps.getConnection().createArrayOf("text", row.tags().toArray()));
+        });
+    }
+
+    public List<StashItemImportRow> findRowsAfter(UUID jobId, int afterRowIndex, int limit) {
+        return jdbcTemplate.query(FIND_ROWS_AFTER_SQL, (rs, rowNum) -> {
+            Array tags = rs.getArray("tags");
+            return new StashItemImportRow(rs.getInt("row_index"), rs.getString("title"), rs.getString("url"),
+                    rs.getString("description"), tags == null ? null : Arrays.asList((String[]) tags.getArray()));
+        }, jobId, afterRowIndex, limit);
+    }
+
+    /**
+     * Finds the active items of the user holding any of the given keys, in a single query
+     *
+     * @return the keys of the matching items
+     */
+    public StashItemKeys findExistingKeys(UUID userId, StashItemKeys candidates) {
+        StashItemKeys existing = new StashItemKeys();
+        jdbcTemplate.query(FIND_EXISTING_KEYS_SQL, ps -> {
+            ps.setObject(1, userId);
+            ps.setArray(2, textArray(ps.getConnection(), candidates.urls()));
+            ps.setArray(3, textArray(ps.getConnection(), candidates.normalizedTitles()));
+            ps.setArray(4, textArray(ps.getConnection(), candidates.slugs()));
+        }, rs -> {
+            existing.add(rs.getString("url"), rs.getString("normalized_title"), rs.getString("slug"));
+        });
+        return existing;
+    }
+
+    /**
+     * Creates the tags the user does not have yet
+     *
+     * @return the ids of the tags by normalized name, existing or created; tags skipped because their slug is taken
+     * are missing
+     */
+    public Map<String, UUID> resolveTags(UUID userId, Collection<ItemTagDraft> tags) {
+        jdbcTemplate.update(INSERT_TAGS_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setObject(1, userId);
+            ps.setArray(2, connection.createArrayOf("uuid",
+                    tags.stream().map(tag -> UUID.randomUUID()).toArray()));
+            ps.setArray(3, textArray(connection, tags, ItemTagDraft::name));
+            ps.setArray(4, textArray(connection, tags, ItemTagDraft::normalizedName));
+            ps.setArray(5, textArray(connection, tags, ItemTagDraft::slug));
+        });
+
+        Map<String, UUID> tagIds = new HashMap<>();
+        jdbcTemplate.query(FIND_TAG_IDS_SQL, ps -> {
+            ps.setObject(1, userId);
+            ps.setArray(2, textArray(ps.getConnection(), tags, ItemTagDraft::normalizedName));
+        }, rs -> {
+            tagIds.put(rs.getString("normalized_name"), rs.getObject("id", UUID.class));
+        });
+        return tagIds;
+    }
+
+    /**
+     * Inserts the items in a single statement
+     *
+     * @return the ids of the inserted items; items conflicting with a concurrent insert are skipped
+     */
+    public Set<UUID> insertItems(UUID userId, List<StashItemDraft> items) {
+        return new HashSet<>(jdbcTemplate.query(INSERT_ITEMS_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setObject(1, userId);
+            ps.setArray(2, connection.createArrayOf("uuid", items.stream().map(StashItemDraft::id).toArray()));
+            ps.setArray(3, textArray(connection, items, StashItemDraft::title));
+            ps.setArray(4, textArray(connection, items, StashItemDraft::normalizedTitle));
+            ps.setArray(5, textArray(connection, items, StashItemDraft::slug));
+            ps.setArray(6, textArray(connection, items, StashItemDraft::url));
+            ps.setArray(7, textArray(connection, items, StashItemDraft::description));
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class)));
+    }
+
+    public void insertItemTags(List<UUID> itemIds, List<UUID> tagIds) {
+        jdbcTemplate.update(INSERT_ITEM_TAGS_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid", itemIds.toArray()));
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", tagIds.toArray()));
+        });
+    }
+
+    /**
+     * Stores the outcome of the rows and drops their staged payload, which is no longer needed
+     */
+    public void recordResults(UUID jobId, List<StashItemImportResult> results) {
+        jdbcTemplate.update(RECORD_RESULTS_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("int4",
+                    results.stream().map(StashItemImportResult::rowIndex).toArray()));
+            ps.setArray(2, textArray(connection, results, result -> result.status().name()));
+            ps.setArray(3, textArray(connection, results, StashItemImportResult::message));
+            ps.setArray(4, connection.createArrayOf("uuid",
+                    results.stream().map(StashItemImportResult::itemId).toArray()));
+            ps.setObject(5, jobId);
+        });
+    }
+
+    /**
+     * Lists the processed rows of the job in row order
+     *
+     * @param status only rows with this outcome when not null
+     */
+    public List<StashItemImportRowResponse> findResults(UUID jobId, StashItemImportRowStatus status,
+                                                        int afterRowIndex, int limit) {
+        String sql = FIND_RESULTS_SQL.formatted(status == null ? "" : "AND status = ?");
+        Object[] args = status == null
+                ? new Object[]{jobId, afterRowIndex, limit}
+                : new Object[]{jobId, afterRowIndex, status.name(), limit};
+        return jdbcTemplate.query(sql, (rs, rowNum) -> StashItemImportRowResponse.builder()
+                .index(rs.getInt("row_index"))
+                .status(StashItemImportRowStatus.valueOf(rs.getString("status")))
+                .message(rs.getString("message"))
+                .itemId(rs.getObject("item_id", UUID.class))
+                .build(), args);
+    }
+
+    private static Array textArray(Connection connection, Collection<String> values) throws SQLException {
+        return connection.createArrayOf("text", values.toArray());
+    }
+
+    private static <T> Array textArray(Connection connection, Collection<T> values,
+                                       Function<T, String> extractor) throws SQLException {
+        return connection.createArrayOf("text", values.stream().map(extractor).toArray());
+    }
+
+}
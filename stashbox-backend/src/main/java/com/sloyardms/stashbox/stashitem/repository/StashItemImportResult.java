@@ -0,0 +1,13 @@
+package com.sloyardms.stashbox.stashitem.repository;
+
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportRowStatus;
+
+import java.util.UUID;
+
+/**
+ * Outcome of a processed import row
+ *
+ * @param itemId the created item, only set for created rows
+ */
+public record StashItemImportResult(int rowIndex, StashItemImportRowStatus status, String message, UUID itemId) {
+}
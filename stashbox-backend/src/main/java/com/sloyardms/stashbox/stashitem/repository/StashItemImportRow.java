@@ -0,0 +1,9 @@
+package com.sloyardms.stashbox.stashitem.repository;
+
+import java.util.List;
+
+/**
+ * A row of an import as received, before validation
+ */
+public record StashItemImportRow(int rowIndex, String title, String url, String description, List<String> tags) {
+}
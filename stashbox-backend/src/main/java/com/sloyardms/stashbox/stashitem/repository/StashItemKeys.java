@@ -0,0 +1,47 @@
+package com.sloyardms.stashbox.stashitem.repository;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Values of the keys that must be unique among the active items of a user
+ */
+public record StashItemKeys(Set<String> urls, Set<String> normalizedTitles, Set<String> slugs) {
+
+    public StashItemKeys() {
+        this(new HashSet<>(), new HashSet<>(), new HashSet<>());
+    }
+
+    /**
+     * @return a description of the first key of the draft found in this set, null if none of them is
+     */
+    public String findConflict(StashItemDraft draft) {
+        if (draft.url() != null && urls.contains(draft.url())) {
+            return "url";
+        }
+        if (draft.normalizedTitle() != null && normalizedTitles.contains(draft.normalizedTitle())) {
+            return "title";
+        }
+        if (draft.slug() != null && slugs.contains(draft.slug())) {
+            return "slug";
+        }
+        return null;
+    }
+
+    public void add(StashItemDraft draft) {
+        add(draft.url(), draft.normalizedTitle(), draft.slug());
+    }
+
+    public void add(String url, String normalizedTitle, String slug) {
+        if (url != null) {
+            urls.add(url);
+        }
+        if (normalizedTitle != null) {
+            normalizedTitles.add(normalizedTitle);
+        }
+        if (slug != null) {
+            slugs.add(slug);
+        }
+    }
+
+}
@@ -1,9 +1,28 @@
 package com.sloyardms.stashbox.stashitem.repository;
 
 import com.sloyardms.stashbox.stashitem.entity.StashItem;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface StashItemRepository extends JpaRepository<StashItem, UUID> {
+
+    /**
+     * Loads the active items of the user with the given ids, together with their group and image
+     */
+    @EntityGraph(StashItem.DETAIL_GRAPH)
+    @Query("SELECT s FROM StashItem s WHERE s.id IN :ids AND s.user.id = :userId AND s.deletedAt IS NULL")
+    List<StashItem> findAllDetailedByIds(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    /**
+     * Initializes the tags of the given items, already in the persistence context, in a single query
+     */
+    @Query("SELECT DISTINCT s FROM StashItem s LEFT JOIN FETCH s.tags WHERE s.id IN :ids")
+    List<StashItem> fetchTags(@Param("ids") Collection<UUID> ids);
+
 }
@@ -0,0 +1,9 @@
+package com.sloyardms.stashbox.stashitem.repository;
+
+import com.sloyardms.stashbox.stashitem.dto.StashItemSummaryResponse;
+
+/**
+ * A full-text search result together with its rank, which the caller needs to build the keyset cursor
+ */
+public record StashItemSearchHit(StashItemSummaryResponse item, float rank) {
+}
@@ -0,0 +1,154 @@
+package com.sloyardms.stashbox.stashitem.repository;
+
+import com.sloyardms.stashbox.itemimage.dto.ItemImageResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemSummaryResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read side of stash items. Summaries are projected from a single SQL statement, with the image joined in, straight
+ * into response objects, so listing pages never go through the persistence context: no entity hydration, dirty
+ * checking snapshots or proxies. Writes and detail loading stay on {@link StashItemRepository}
+ */
+@RequiredArgsConstructor
+@Repository
+public class StashItemSummaryRepository {
+
+    // The match filter must repeat the partial index predicate (deleted_at IS NULL) for the GIN index to be used.
+    // ts_headline is expensive, so it runs in the outer query, after the limit
+    private static final String SEARCH_SQL_TEMPLATE = """
+            WITH page AS (
+                SELECT s.id, s.title, s.slug, s.description, s.is_favorite, s.image_id, s.created_at, q.query,
+                       ts_rank_cd(s.search_vector, q.query) AS rank
+                FROM stash_items s
+                CROSS JOIN websearch_to_tsquery('english', ?) AS q(query)
+                WHERE s.user_id = ?
+                  AND s.deleted_at IS NULL
+                  AND s.search_vector @@ q.query
+                  %s
+                ORDER BY rank DESC, s.id
+                LIMIT ?
+            )
+            SELECT p.id, p.title, p.slug, p.is_favorite, p.created_at, p.rank,
+                   ts_headline('english', concat_ws(' ', p.title, p.description), p.query,
+                               'MaxFragments=2, MaxWords=20, MinWords=5') AS snippet,
+                   i.id AS image_id, i.original_filename, i.file_path, i.mime_type, i.file_extension
+            FROM page p
+            LEFT JOIN item_images i ON i.id = p.image_id
+            ORDER BY p.rank DESC, p.id
+            """;
+
+    private static final String FIRST_PAGE_SQL = SEARCH_SQL_TEMPLATE.formatted("");
+
+    // Rank is recomputed in the predicate since the select list alias is not visible in WHERE. ts_rank_cd returns
+    // real while the driver sends a Java float as float8, the cast keeps the equality of the tie-break exact
+    private static final String NEXT_PAGE_SQL = SEARCH_SQL_TEMPLATE.formatted("""
+            AND (ts_rank_cd(s.search_vector, q.query) < CAST(? AS real)
+                       OR (ts_rank_cd(s.search_vector, q.query) = CAST(? AS real) AND s.id > ?))""");
+
+    // Mirrors the partial listing indexes: the predicates repeat their WHERE clauses and the ORDER BY follows
+    // (created_at DESC), with id only breaking ties between rows created at the same instant
+    private static final String PAGE_SQL_TEMPLATE = """
+            SELECT s.id, s.title, s.slug, s.is_favorite, s.created_at,
+                   i.id AS image_id, i.original_filename, i.file_path, i.mime_type, i.file_extension
+            FROM stash_items s
+            LEFT JOIN item_images i ON i.id = s.image_id
+            WHERE s.user_id = ?
+              AND s.deleted_at IS NULL
+              %s
+            ORDER BY s.created_at DESC, s.id DESC
+            LIMIT ?
+            """;
+
+    private static final RowMapper<StashItemSummaryResponse> SUMMARY_ROW_MAPPER = (rs, rowNum) -> {
+        UUID imageId = rs.getObject("image_id", UUID.class);
+        ItemImageResponse image = imageId == null ? null : ItemImageResponse.builder()
+                .id(imageId)
+                .originalFilename(rs.getString("original_filename"))
+                .path(rs.getString("file_path"))
+                .mimeType(rs.getString("mime_type"))
+                .fileExtension(rs.getString("file_extension"))
+                .build();
+        return StashItemSummaryResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .title(rs.getString("title"))
+                .slug(rs.getString("slug"))
+                .favorite(rs.getBoolean("is_favorite"))
+                .image(image)
+                .createdAt(rs.getObject("created_at", OffsetDateTime.class).toInstant())
+                .build();
+    };
+
+    private static final RowMapper<StashItemSearchHit> HIT_ROW_MAPPER = (rs, rowNum) -> {
+        StashItemSummaryResponse item = SUMMARY_ROW_MAPPER.mapRow(rs, rowNum);
+        item.setSnippet(rs.getString("snippet"));
+        return new StashItemSearchHit(item, rs.getFloat("rank"));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Full-text searches the active items of the user through the search_vector GIN index, ordered by descending
+     * ts_rank_cd and then by id. Rows are projected without loading entities, and highlighted snippets are only
+     * computed for the returned rows
+     *
+     * @param userId    the internal id of the user
+     * @param query     the search query, in websearch syntax
+     * @param afterRank the rank of the last row of the previous page, null for the first page
+     * @param afterId   the id of the last row of the previous page, null for the first page
+     * @param limit     the maximum number of rows to return
+     * @return the matching items of the page
+     */
+    public List<StashItemSearchHit> search(UUID userId, String query, Float afterRank, UUID afterId, int limit) {
+        if (afterRank == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, HIT_ROW_MAPPER, query, userId, limit);
+        }
+        return jdbcTemplate.query(NEXT_PAGE_SQL, HIT_ROW_MAPPER, query, userId, afterRank, afterRank, afterId, limit);
+    }
+
+    /**
+     * Lists the active items of the user, newest first, seeking past the last row of the previous page instead of
+     * skipping rows, so every page costs the same. The predicates match the partial indexes on active items:
+     * (user_id, created_at DESC) for all items, (user_id, group_id, created_at DESC) within a group, and their
+     * is_favorite variants for favorites. Non-favorites are read from the index for all items, filtering out the
+     * favorites
+     *
+     * @param userId         the internal id of the user
+     * @param groupId        only items of this group when not null
+     * @param favorite       only favorite or non-favorite items when not null
+     * @param afterCreatedAt the creation instant of the last row of the previous page, null for the first page
+     * @param afterId        the id of the last row of the previous page, null for the first page
+     * @param limit          the maximum number of rows to return
+     * @return the items of the page
+     */
+    public List<StashItemSummaryResponse> findPage(UUID userId, UUID groupId, Boolean favorite,
+                                                   Instant afterCreatedAt, UUID afterId, int limit) {
+        StringBuilder predicates = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        if (groupId != null) {
+            predicates.append(" AND s.group_id = ?");
+            args.add(groupId);
+        }
+        if (favorite != null) {
+            predicates.append(favorite ? " AND s.is_favorite = TRUE" : " AND s.is_favorite = FALSE");
+        }
+        if (afterCreatedAt != null) {
+            predicates.append(" AND (s.created_at, s.id) < (?, ?)");
+            args.add(OffsetDateTime.ofInstant(afterCreatedAt, ZoneOffset.UTC));
+            args.add(afterId);
+        }
+        args.add(limit);
+        return jdbcTemplate.query(PAGE_SQL_TEMPLATE.formatted(predicates), SUMMARY_ROW_MAPPER, args.toArray());
+    }
+
+}
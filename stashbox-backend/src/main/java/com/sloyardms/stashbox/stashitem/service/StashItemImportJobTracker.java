@@ -0,0 +1,318 @@
+package com.sloyardms.stashbox.stashitem.service;
+
+import com.sloyardms.stashbox.common.utils.StringUtils;
+import com.sloyardms.stashbox.common.utils.UrlUtils;
+import com.sloyardms.stashbox.stashitem.dto.CreateStashItemRequest;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportJob;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportJobStatus;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportRowStatus;
+import com.sloyardms.stashbox.stashitem.repository.ItemTagDraft;
+import com.sloyardms.stashbox.stashitem.repository.StashItemDraft;
+import com.sloyardms.stashbox.stashitem.repository.StashItemImportJobRepository;
+import com.sloyardms.stashbox.stashitem.repository.StashItemImportRepository;
+import com.sloyardms.stashbox.stashitem.repository.StashItemImportResult;
+import com.sloyardms.stashbox.stashitem.repository.StashItemImportRow;
+import com.sloyardms.stashbox.stashitem.repository.StashItemKeys;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Stages stash item imports, then claims them and processes their staged rows one chunk per transaction: rows are validated and
+ * normalized in parallel, de-duplicated against the chunk and the existing items with one query, and inserted with
+ * their tags through a handful of set-based statements
+ */
+@RequiredArgsConstructor
+@Component
+public class StashItemImportJobTracker {
+
+    private static final int TAG_NAME_MAX_LENGTH = 50;
+
+    private final StashItemImportJobRepository stashItemImportJobRepository;
+    private final StashItemImportRepository stashItemImportRepository;
+    private final Validator validator;
+
+    @Value("${stash-item.import.staging-batch-size:1000}")
+    private int stagingBatchSize;
+
+    @Value("${stash-item.import.lease:5m}")
+    private Duration lease;
+
+    @Value("${stash-item.import.max-failures:5}")
+    private int maxFailures;
+
+    /**
+     * Creates the job and stores its raw rows in JDBC batches, the job can be claimed once the transaction commits
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public StashItemImportJob stage(UUID userId, List<StashItemImportRow> rows) {
+        // Flushed right away, the staged rows reference it
+        StashItemImportJob job = stashItemImportJobRepository.saveAndFlush(StashItemImportJob.builder()
+                .userId(userId)
+                .totalRows(rows.size())
+                .build());
+        for (int from = 0; from < rows.size(); from += stagingBatchSize) {
+            stashItemImportRepository.stageRows(job.getId(),
+                    rows.subList(from, Math.min(from + stagingBatchSize, rows.size())));
+        }
+        return job;
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public Optional<StashItemImportJob> claimNext() {
+        Instant now = Instant.now();
+        return stashItemImportJobRepository.lockNextClaimable(now)
+                .map(job -> {
+                    job.setStatus(StashItemImportJobStatus.RUNNING);
+                    job.setLeaseExpiresAt(now.plus(lease));
+                    job.setLastClaimedAt(now);
+                    return job;
+                });
+    }
+
+    /**
+     * Imports the next chunk of staged rows of the job and moves the job past them
+     *
+     * @return true if there may be more rows to process, false once the job completed
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public boolean processChunk(UUID jobId, int chunkSize) {
+        StashItemImportJob job = stashItemImportJobRepository.findById(jobId).orElseThrow();
+        List<StashItemImportRow> rows = stashItemImportRepository.findRowsAfter(jobId, job.getLastRowIndex(),
+                chunkSize);
+
+        // Validation and normalization are CPU bound and independent per row
+        List<PreparedRow> prepared = rows.parallelStream().map(this::prepare).toList();
+        List<StashItemImportResult> results = importRows(job.getUserId(), prepared);
+        if (!results.isEmpty()) {
+            stashItemImportRepository.recordResults(jobId, results);
+        }
+
+        Map<StashItemImportRowStatus, Long> counts = results.stream()
+                .collect(Collectors.groupingBy(StashItemImportResult::status, Collectors.counting()));
+        job.setProcessedRows(job.getProcessedRows() + results.size());
+        job.setCreatedRows(job.getCreatedRows() + counts.getOrDefault(StashItemImportRowStatus.CREATED, 0L)
+                .intValue());
+        job.setDuplicateRows(job.getDuplicateRows() + counts.getOrDefault(StashItemImportRowStatus.DUPLICATE, 0L)
+                .intValue());
+        job.setInvalidRows(job.getInvalidRows() + counts.getOrDefault(StashItemImportRowStatus.INVALID, 0L)
+                .intValue());
+        if (!rows.isEmpty()) {
+            job.setLastRowIndex(rows.getLast().rowIndex());
+        }
+
+        Instant now = Instant.now();
+        if (rows.size() < chunkSize) {
+            job.setStatus(StashItemImportJobStatus.COMPLETED);
+            job.setLeaseExpiresAt(null);
+            job.setCompletedAt(now);
+            return false;
+        }
+        job.setLeaseExpiresAt(now.plus(lease));
+        return true;
+    }
+
+    /**
+     * Lets any worker claim the job again on its next run
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void release(UUID jobId) {
+        stashItemImportJobRepository.getReferenceById(jobId).setLeaseExpiresAt(null);
+    }
+
+    /**
+     * Records the failure. The job stays leased and is retried once the lease expires, until it fails too often
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void fail(UUID jobId, String errorMessage) {
+        StashItemImportJob job = stashItemImportJobRepository.getReferenceById(jobId);
+        job.setFailures(job.getFailures() + 1);
+        job.setErrorMessage(errorMessage);
+        job.setLeaseExpiresAt(Instant.now().plus(lease));
+        if (job.getFailures() >= maxFailures) {
+            job.setStatus(StashItemImportJobStatus.FAILED);
+            job.setLeaseExpiresAt(null);
+            job.setCompletedAt(Instant.now());
+        }
+    }
+
+    private List<StashItemImportResult> importRows(UUID userId, List<PreparedRow> prepared) {
+        List<StashItemImportResult> results = new ArrayList<>(prepared.size());
+
+        // Rows repeating a key of an earlier row of the chunk are duplicates whatever the database holds
+        StashItemKeys chunkKeys = new StashItemKeys();
+        List<PreparedRow> candidates = new ArrayList<>();
+        for (PreparedRow row : prepared) {
+            if (row.error() != null) {
+                results.add(new StashItemImportResult(row.rowIndex(), StashItemImportRowStatus.INVALID, row.error(),
+                        null));
+                continue;
+            }
+            String conflict = chunkKeys.findConflict(row.item());
+            if (conflict != null) {
+                results.add(duplicate(row, "Same " + conflict + " as an earlier row of the import"));
+                continue;
+            }
+            chunkKeys.add(row.item());
+            candidates.add(row);
+        }
+        if (candidates.isEmpty()) {
+            return results;
+        }
+
+        StashItemKeys existingKeys = stashItemImportRepository.findExistingKeys(userId, chunkKeys);
+        List<PreparedRow> newRows = new ArrayList<>();
+        for (PreparedRow row : candidates) {
+            String conflict = existingKeys.findConflict(row.item());
+            if (conflict != null) {
+                results.add(duplicate(row, "An item with the same " + conflict + " already exists"));
+            } else {
+                newRows.add(row);
+            }
+        }
+        if (newRows.isEmpty()) {
+            return results;
+        }
+
+        Set<UUID> insertedIds = stashItemImportRepository.insertItems(userId,
+                newRows.stream().map(PreparedRow::item).toList());
+        List<PreparedRow> insertedRows = new ArrayList<>();
+        for (PreparedRow row : newRows) {
+            if (insertedIds.contains(row.item().id())) {
+                insertedRows.add(row);
+            } else {
+                results.add(duplicate(row, "An item with the same url, title or slug already exists"));
+            }
+        }
+
+        Map<Integer, List<String>> unlinkedTags = linkTags(userId, insertedRows);
+        for (PreparedRow row : insertedRows) {
+            List<String> unlinked = unlinkedTags.get(row.rowIndex());
+            String message = unlinked == null ? null
+                    : "Tags not linked, their slug is taken by another tag: " + String.join(", ", unlinked);
+            results.add(new StashItemImportResult(row.rowIndex(), StashItemImportRowStatus.CREATED, message,
+                    row.item().id()));
+        }
+        return results;
+    }
+
+    /**
+     * Creates the missing tags of the rows and links them to their items
+     *
+     * @return the names of the tags that could not be linked, by row index
+     */
+    private Map<Integer, List<String>> linkTags(UUID userId, List<PreparedRow> rows) {
+        Map<String, ItemTagDraft> tags = new LinkedHashMap<>();
+        rows.forEach(row -> row.tags().forEach(tag -> tags.putIfAbsent(tag.normalizedName(), tag)));
+        if (tags.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, UUID> tagIds = stashItemImportRepository.resolveTags(userId, tags.values());
+        List<UUID> itemIds = new ArrayList<>();
+        List<UUID> linkedTagIds = new ArrayList<>();
+        Map<Integer, List<String>> unlinkedTags = new HashMap<>();
+        for (PreparedRow row : rows) {
+            for (ItemTagDraft tag : row.tags()) {
+                UUID tagId = tagIds.get(tag.normalizedName());
+                // A new tag whose slug clashes with a tag of another name was not created
+                if (tagId != null) {
+                    itemIds.add(row.item().id());
+                    linkedTagIds.add(tagId);
+                } else {
+                    unlinkedTags.computeIfAbsent(row.rowIndex(), index -> new ArrayList<>()).add(tag.name());
+                }
+            }
+        }
+        if (!itemIds.isEmpty()) {
+            stashItemImportRepository.insertItemTags(itemIds, linkedTagIds);
+        }
+        return unlinkedTags;
+    }
+
+    private PreparedRow prepare(StashItemImportRow row) {
+        CreateStashItemRequest request = CreateStashItemRequest.builder()
+                .title(trimToNull(row.title()))
+                .url(trimToNull(row.url()))
+                .description(trimToNull(row.description()))
+                .tags(row.tags())
+                .build();
+
+        Set<ConstraintViolation<CreateStashItemRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return PreparedRow.invalid(row.rowIndex(), violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        if (request.getUrl() == null && request.getDescription() == null) {
+            return PreparedRow.invalid(row.rowIndex(), "Either url or description must be provided");
+        }
+        if (request.getUrl() != null && UrlUtils.extractHost(request.getUrl()) == null) {
+            return PreparedRow.invalid(row.rowIndex(), "url: Url is not valid");
+        }
+
+        Map<String, ItemTagDraft> tags = new LinkedHashMap<>();
+        if (request.getTags() != null) {
+            for (String tag : request.getTags()) {
+                String name = trimToNull(tag);
+                if (name == null) {
+                    continue;
+                }
+                if (name.length() > TAG_NAME_MAX_LENGTH) {
+                    return PreparedRow.invalid(row.rowIndex(),
+                            "tags: Tag names must not exceed " + TAG_NAME_MAX_LENGTH + " characters");
+                }
+                String slug = slugify(name);
+                if (slug == null) {
+                    return PreparedRow.invalid(row.rowIndex(), "tags: Tag '" + name + "' has no usable characters");
+                }
+                tags.putIfAbsent(StringUtils.normalize(name), new ItemTagDraft(name, StringUtils.normalize(name),
+                        slug));
+            }
+        }
+
+        StashItemDraft item = new StashItemDraft(UUID.randomUUID(), request.getTitle(),
+                StringUtils.normalize(request.getTitle()), slugify(request.getTitle()), request.getUrl(),
+                request.getDescription());
+        return new PreparedRow(row.rowIndex(), item, List.copyOf(tags.values()), null);
+    }
+
+    private static StashItemImportResult duplicate(PreparedRow row, String message) {
+        return new StashItemImportResult(row.rowIndex(), StashItemImportRowStatus.DUPLICATE, message, null);
+    }
+
+    // Titles made only of symbols slugify to an empty string, which would clash with every other such title
+    private static String slugify(String text) {
+        String slug = StringUtils.slugify(text);
+        return slug == null || slug.isEmpty() ? null : slug;
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private record PreparedRow(int rowIndex, StashItemDraft item, List<ItemTagDraft> tags, String error) {
+
+        private static PreparedRow invalid(int rowIndex, String error) {
+            return new PreparedRow(rowIndex, null, List.of(), error);
+        }
+
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.sloyardms.stashbox.stashitem.service;
+
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemImportJobResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemImportRowResponse;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportRowStatus;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface StashItemImportService {
+
+    StashItemImportJobResponse createImport(InputStream json, UUID userExternalId);
+
+    StashItemImportJobResponse getImport(UUID id, UUID userExternalId);
+
+    CursorPageResponse<StashItemImportRowResponse> getImportRows(UUID id, StashItemImportRowStatus status,
+                                                                 String cursor, int limit, UUID userExternalId);
+
+}
@@ -0,0 +1,132 @@
+package com.sloyardms.stashbox.stashitem.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sloyardms.stashbox.common.error.exception.BusinessException;
+import com.sloyardms.stashbox.common.error.exception.InvalidCursorException;
+import com.sloyardms.stashbox.common.error.exception.ResourceNotFoundException;
+import com.sloyardms.stashbox.common.pagination.CursorCodec;
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.stashitem.dto.CreateStashItemRequest;
+import com.sloyardms.stashbox.stashitem.dto.StashItemImportJobResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemImportRowResponse;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportJob;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportRowStatus;
+import com.sloyardms.stashbox.stashitem.mapper.StashItemMapper;
+import com.sloyardms.stashbox.stashitem.repository.StashItemImportJobRepository;
+import com.sloyardms.stashbox.stashitem.repository.StashItemImportRepository;
+import com.sloyardms.stashbox.stashitem.repository.StashItemImportRow;
+import com.sloyardms.stashbox.user.service.UserIdResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stages bookmark imports for the import worker. The request body is read into raw rows first, bounded by max-rows,
+ * and then written to the staging table in one short transaction, without validating the rows, so the request
+ * returns as soon as the payload is stored
+ */
+@RequiredArgsConstructor
+@Service
+public class StashItemImportServiceImpl implements StashItemImportService {
+
+    private final ObjectMapper objectMapper;
+    private final UserIdResolver userIdResolver;
+    private final StashItemImportJobRepository stashItemImportJobRepository;
+    private final StashItemImportRepository stashItemImportRepository;
+    private final StashItemImportJobTracker stashItemImportJobTracker;
+    private final StashItemMapper stashItemMapper;
+
+    @Value("${stash-item.import.max-rows:50000}")
+    private int maxRows;
+
+    @Override
+    public StashItemImportJobResponse createImport(InputStream json, UUID userExternalId) {
+        // Read before the first query, the request holds no connection while the client is still uploading
+        List<StashItemImportRow> rows = readRows(json);
+        UUID userId = userIdResolver.resolveUserId(userExternalId);
+        return stashItemMapper.toImportJobResponse(stashItemImportJobTracker.stage(userId, rows));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public StashItemImportJobResponse getImport(UUID id, UUID userExternalId) {
+        return stashItemMapper.toImportJobResponse(findJob(id, userExternalId));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageResponse<StashItemImportRowResponse> getImportRows(UUID id, StashItemImportRowStatus status,
+                                                                        String cursor, int limit,
+                                                                        UUID userExternalId) {
+        StashItemImportJob job = findJob(id, userExternalId);
+        int afterRowIndex = -1;
+        if (cursor != null) {
+            try {
+                afterRowIndex = Integer.parseInt(CursorCodec.decode(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new InvalidCursorException(cursor);
+            }
+        }
+
+        // One extra row tells whether there is a next page without counting
+        List<StashItemImportRowResponse> rows = stashItemImportRepository.findResults(job.getId(), status,
+                afterRowIndex, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<StashItemImportRowResponse> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? CursorCodec.encode(Integer.toString(page.getLast().getIndex())) : null;
+        return CursorPageResponse.<StashItemImportRowResponse>builder()
+                .content(page)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private StashItemImportJob findJob(UUID id, UUID userExternalId) {
+        return stashItemImportJobRepository.findByIdAndUserId(id, userIdResolver.resolveUserId(userExternalId))
+                .orElseThrow(() -> new ResourceNotFoundException("StashItemImport", "Id", id));
+    }
+
+    private List<StashItemImportRow> readRows(InputStream json) {
+        List<StashItemImportRow> rows = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw invalidImportFile("Import body must be a JSON array of items");
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (rows.size() == maxRows) {
+                    throw invalidImportFile("Import must not exceed " + maxRows + " items");
+                }
+                CreateStashItemRequest request = objectMapper.readValue(parser, CreateStashItemRequest.class);
+                rows.add(new StashItemImportRow(rows.size(), request.getTitle(), request.getUrl(),
+                        request.getDescription(), request.getTags()));
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw invalidImportFile("Import body must be a JSON array of items");
+            }
+        } catch (JsonProcessingException e) {
+            throw invalidImportFile("Import body is not valid JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private static BusinessException invalidImportFile(String message) {
+        return new BusinessException("INVALID_IMPORT_FILE", message, HttpStatus.BAD_REQUEST.value());
+    }
+
+}
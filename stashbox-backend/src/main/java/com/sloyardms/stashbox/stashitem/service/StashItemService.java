@@ -0,0 +1,22 @@
+package com.sloyardms.stashbox.stashitem.service;
+
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemSummaryResponse;
+
+import java.util.UUID;
+
+public interface StashItemService {
+
+    CursorPageResponse<StashItemSummaryResponse> getStashItems(UUID groupId, Boolean favorite, String cursor,
+                                                               int limit, UUID userExternalId);
+
+    CursorPageResponse<StashItemResponse> getStashItemDetails(UUID groupId, Boolean favorite, String cursor,
+                                                              int limit, UUID userExternalId);
+
+    StashItemResponse getStashItemById(UUID id, UUID userExternalId);
+
+    CursorPageResponse<StashItemSummaryResponse> searchStashItems(String query, String cursor, int limit,
+                                                                  UUID userExternalId);
+
+}
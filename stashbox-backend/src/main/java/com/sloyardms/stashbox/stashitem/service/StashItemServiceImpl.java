@@ -0,0 +1,156 @@
+package com.sloyardms.stashbox.stashitem.service;
+
+import com.sloyardms.stashbox.common.error.exception.InvalidCursorException;
+import com.sloyardms.stashbox.common.error.exception.ResourceNotFoundException;
+import com.sloyardms.stashbox.common.pagination.CursorCodec;
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemSummaryResponse;
+import com.sloyardms.stashbox.stashitem.entity.StashItem;
+import com.sloyardms.stashbox.stashitem.mapper.StashItemMapper;
+import com.sloyardms.stashbox.stashitem.repository.StashItemRepository;
+import com.sloyardms.stashbox.stashitem.repository.StashItemSearchHit;
+import com.sloyardms.stashbox.stashitem.repository.StashItemSummaryRepository;
+import com.sloyardms.stashbox.user.service.UserIdResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+public class StashItemServiceImpl implements StashItemService {
+
+    private final StashItemRepository stashItemRepository;
+    private final StashItemSummaryRepository stashItemSummaryRepository;
+    private final UserIdResolver userIdResolver;
+    private final StashItemMapper stashItemMapper;
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageResponse<StashItemSummaryResponse> getStashItems(UUID groupId, Boolean favorite, String cursor,
+                                                                      int limit, UUID userExternalId) {
+        return findPage(userIdResolver.resolveUserId(userExternalId), groupId, favorite, cursor, limit);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageResponse<StashItemResponse> getStashItemDetails(UUID groupId, Boolean favorite, String cursor,
+                                                                     int limit, UUID userExternalId) {
+        UUID userId = userIdResolver.resolveUserId(userExternalId);
+        CursorPageResponse<StashItemSummaryResponse> page = findPage(userId, groupId, favorite, cursor, limit);
+        List<UUID> ids = page.getContent().stream().map(StashItemSummaryResponse::getId).toList();
+        return CursorPageResponse.<StashItemResponse>builder()
+                .content(loadDetails(ids, userId))
+                .nextCursor(page.getNextCursor())
+                .hasMore(page.isHasMore())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public StashItemResponse getStashItemById(UUID id, UUID userExternalId) {
+        List<StashItemResponse> items = loadDetails(List.of(id), userIdResolver.resolveUserId(userExternalId));
+        if (items.isEmpty()) {
+            throw new ResourceNotFoundException("StashItem", "Id", id);
+        }
+        return items.getFirst();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageResponse<StashItemSummaryResponse> searchStashItems(String query, String cursor, int limit,
+                                                                         UUID userExternalId) {
+        UUID userId = userIdResolver.resolveUserId(userExternalId);
+        Float afterRank = null;
+        UUID afterId = null;
+        if (cursor != null) {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            try {
+                afterRank = Float.parseFloat(keys[0]);
+                afterId = UUID.fromString(keys[1]);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCursorException(cursor);
+            }
+        }
+
+        // One extra row tells whether there is a next page without counting
+        List<StashItemSearchHit> hits = stashItemSummaryRepository.search(userId, query, afterRank, afterId,
+                limit + 1);
+
+        boolean hasMore = hits.size() > limit;
+        List<StashItemSearchHit> page = hasMore ? hits.subList(0, limit) : hits;
+        String nextCursor = hasMore
+                ? CursorCodec.encode(Float.toString(page.getLast().rank()), page.getLast().item().getId().toString())
+                : null;
+        return CursorPageResponse.<StashItemSummaryResponse>builder()
+                .content(page.stream().map(StashItemSearchHit::item).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private CursorPageResponse<StashItemSummaryResponse> findPage(UUID userId, UUID groupId, Boolean favorite,
+                                                                  String cursor, int limit) {
+        Instant afterCreatedAt = null;
+        UUID afterId = null;
+        if (cursor != null) {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            try {
+                afterCreatedAt = Instant.parse(keys[0]);
+                afterId = UUID.fromString(keys[1]);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidCursorException(cursor);
+            }
+        }
+
+        // One extra row tells whether there is a next page without counting
+        List<StashItemSummaryResponse> items = stashItemSummaryRepository.findPage(userId, groupId, favorite,
+                afterCreatedAt, afterId, limit + 1);
+
+        boolean hasMore = items.size() > limit;
+        List<StashItemSummaryResponse> page = hasMore ? items.subList(0, limit) : items;
+        String nextCursor = hasMore
+                ? CursorCodec.encode(page.getLast().getCreatedAt().toString(), page.getLast().getId().toString())
+                : null;
+        return CursorPageResponse.<StashItemSummaryResponse>builder()
+                .content(page)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Loads the items with a fixed number of queries whatever their count: one for the items with their group and
+     * image, and one for the tags of all of them
+     *
+     * @return the detail of the items that exist, in the order of the given ids
+     */
+    private List<StashItemResponse> loadDetails(List<UUID> ids, UUID userId) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, StashItem> itemsById = stashItemRepository.findAllDetailedByIds(ids, userId).stream()
+                .collect(Collectors.toMap(StashItem::getId, Function.identity()));
+        if (itemsById.isEmpty()) {
+            return List.of();
+        }
+        stashItemRepository.fetchTags(itemsById.keySet());
+
+        return ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .map(stashItemMapper::toResponse)
+                .toList();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.sloyardms.stashbox.user.controller;
+
+import com.sloyardms.stashbox.security.utils.AuthUtils;
+import com.sloyardms.stashbox.user.dto.UserBulkJobResponse;
+import com.sloyardms.stashbox.user.dto.UserBulkRequest;
+import com.sloyardms.stashbox.user.entity.UserBulkOperation;
+import com.sloyardms.stashbox.user.service.UserBulkJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Operations over many users at once. They run as throttled background jobs whose progress is available at the
+ * returned location
+ */
+@RequiredArgsConstructor
+@Validated
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminUserBulkController {
+
+    private final UserBulkJobService userBulkJobService;
+
+    @PostMapping("/users:bulk-delete")
+    public ResponseEntity<UserBulkJobResponse> bulkDeleteUsers(@Valid @RequestBody UserBulkRequest request) {
+        return createJob(UserBulkOperation.DELETE, request);
+    }
+
+    @PostMapping("/users:bulk-reset-settings")
+    public ResponseEntity<UserBulkJobResponse> bulkResetUserSettings(@Valid @RequestBody UserBulkRequest request) {
+        return createJob(UserBulkOperation.RESET_SETTINGS, request);
+    }
+
+    @GetMapping("/users/bulk-jobs/{id}")
+    public ResponseEntity<UserBulkJobResponse> getBulkJob(@PathVariable UUID id) {
+        UserBulkJobResponse result = userBulkJobService.getJob(id);
+        return ResponseEntity.ok(result);
+    }
+
+    private ResponseEntity<UserBulkJobResponse> createJob(UserBulkOperation operation, UserBulkRequest request) {
+        UUID authenticatedUserExternalId = AuthUtils.getCurrentUserExternalId();
+        UserBulkJobResponse result = userBulkJobService.createJob(authenticatedUserExternalId, operation, request);
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/api/v1/admin/users/bulk-jobs/{id}")
+                .buildAndExpand(result.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(result);
+    }
+
+}
@@ -1,8 +1,12 @@
 package com.sloyardms.stashbox.user.controller;
 
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
 import com.sloyardms.stashbox.security.utils.AuthUtils;
 import com.sloyardms.stashbox.user.dto.AdminUserResponse;
+import com.sloyardms.stashbox.user.dto.UserDeletionJobResponse;
 import com.sloyardms.stashbox.user.service.UserService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,7 +20,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -35,10 +41,38 @@ public class AdminUserController {
         return userService.getAllUsersExcludingCurrent(authenticatedUserExternalId, search, pageable);
     }
 
+    /**
+     * Keyset-paginated variant of the user listing, ordered by username. It skips the total count, so its cost does
+     * not grow with the number of users
+     */
+    @GetMapping("/scroll")
+    public CursorPageResponse<AdminUserResponse> scrollUsersExcludingCurrent(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        UUID authenticatedUserExternalId = AuthUtils.getCurrentUserExternalId();
+        return userService.scrollUsersExcludingCurrent(authenticatedUserExternalId, search, cursor, limit);
+    }
+
+    /**
+     * Hides the user right away and purges its data in the background. The progress of the purge is available at
+     * the returned location
+     */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable UUID id) {
-        userService.deleteUserByInternalId(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<UserDeletionJobResponse> deleteUser(@PathVariable UUID id) {
+        UserDeletionJobResponse result = userService.deleteUserByInternalId(id);
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/api/v1/admin/users/deletions/{jobId}")
+                .buildAndExpand(result.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(result);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<UserDeletionJobResponse> getDeletionStatus(@PathVariable UUID jobId) {
+        UserDeletionJobResponse result = userService.getDeletionJob(jobId);
+        return ResponseEntity.ok(result);
     }
 
 }
@@ -2,10 +2,16 @@ package com.sloyardms.stashbox.user.controller;
 
 import com.sloyardms.stashbox.security.utils.AuthUtils;
 import com.sloyardms.stashbox.user.dto.UpdateUserSettingsRequest;
+import com.sloyardms.stashbox.user.dto.UserDeletionJobResponse;
 import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.dto.UserSettingsResponse;
+import com.sloyardms.stashbox.user.service.UserDataExportService;
 import com.sloyardms.stashbox.user.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,6 +21,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -27,6 +34,7 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserDataExportService userDataExportService;
 
     @GetMapping
     public ResponseEntity<UserResponse> getCurrentUser() {
@@ -48,6 +56,27 @@ public class UserController {
         return ResponseEntity.created(location).body(result);
     }
 
+    /**
+     * Streams every table of the user as a ZIP archive with one NDJSON entry per table
+     */
+    @GetMapping(value = "/export", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> exportUserData() {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        StreamingResponseBody body = out -> userDataExportService.exportUserData(userExternalId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("stashbox-export.zip").build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/settings")
+    public ResponseEntity<UserSettingsResponse> getCurrentUserSettings() {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        UserResponse result = userService.getUserByExternalId(userExternalId);
+        return ResponseEntity.ok(result.getSettings());
+    }
+
     @PatchMapping("/settings")
     public ResponseEntity<UserResponse> updateUser(@Valid @RequestBody UpdateUserSettingsRequest request) {
         UUID userExternalId = AuthUtils.getCurrentUserExternalId();
@@ -55,11 +84,27 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Hides the user right away and purges its data in the background. The progress of the purge is available at
+     * the returned location
+     */
     @DeleteMapping
-    public ResponseEntity<Void> deleteUser() {
+    public ResponseEntity<UserDeletionJobResponse> deleteUser() {
         UUID userExternalId = AuthUtils.getCurrentUserExternalId();
-        userService.deleteUserByExternalId(userExternalId);
-        return ResponseEntity.noContent().build();
+        UserDeletionJobResponse result = userService.deleteUserByExternalId(userExternalId);
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .path("/deletion")
+                .build()
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(result);
+    }
+
+    @GetMapping("/deletion")
+    public ResponseEntity<UserDeletionJobResponse> getDeletionStatus() {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        UserDeletionJobResponse result = userService.getLatestDeletionJobByExternalId(userExternalId);
+        return ResponseEntity.ok(result);
     }
 
 }
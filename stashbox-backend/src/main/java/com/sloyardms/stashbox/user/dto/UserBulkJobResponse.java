@@ -0,0 +1,31 @@
+package com.sloyardms.stashbox.user.dto;
+
+import com.sloyardms.stashbox.user.entity.UserBulkJobStatus;
+import com.sloyardms.stashbox.user.entity.UserBulkOperation;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserBulkJobResponse {
+
+    private UUID id;
+    private UserBulkOperation operation;
+    private UserBulkJobStatus status;
+    private long totalUsers;
+    private long processedUsers;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+
+}
@@ -0,0 +1,33 @@
+package com.sloyardms.stashbox.user.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selection of the users a bulk operation applies to. When both are given, users must match both
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserBulkRequest {
+
+    public static final int MAX_IDS = 10000;
+
+    @Size(max = MAX_IDS, message = "{user.bulk.ids.maxSize}")
+    private List<@NotNull(message = "{user.bulk.ids.notNull}") UUID> ids;
+
+    @Size(max = 255, message = "{user.bulk.search.maxSize}")
+    private String search;
+
+}
@@ -0,0 +1,31 @@
+package com.sloyardms.stashbox.user.dto;
+
+import com.sloyardms.stashbox.user.entity.UserDeletionStatus;
+import com.sloyardms.stashbox.user.entity.UserDeletionStep;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserDeletionJobResponse {
+
+    private UUID id;
+    private UUID userId;
+    private UserDeletionStatus status;
+    private UserDeletionStep currentStep;
+    private long deletedRows;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+
+}
@@ -21,6 +21,7 @@ import lombok.ToString;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -63,6 +64,12 @@ public class User extends Auditable {
     @JdbcTypeCode(SqlTypes.JSON)
     private UserSettings settings = new UserSettings();
 
+    /**
+     * Set when the deletion of the user is requested. The user is hidden from then on and purged in the background
+     */
+    @Column(name = "deletion_requested_at")
+    private Instant deletionRequestedAt;
+
     @Builder.Default
     @OneToMany(mappedBy = "user", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<UserFilter> filters = new ArrayList<>();
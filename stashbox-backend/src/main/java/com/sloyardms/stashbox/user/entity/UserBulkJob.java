@@ -0,0 +1,90 @@
+package com.sloyardms.stashbox.user.entity;
+
+import com.sloyardms.stashbox.common.entity.Auditable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Admin operation applied to every user matching a selection, one chunk of users at a time
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(onlyExplicitlyIncluded = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Entity
+@Table(name = "user_bulk_jobs")
+public class UserBulkJob extends Auditable {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id", nullable = false, updatable = false)
+    @ToString.Include
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, updatable = false, length = 30)
+    @ToString.Include
+    private UserBulkOperation operation;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @ToString.Include
+    private UserBulkJobStatus status = UserBulkJobStatus.PENDING;
+
+    /**
+     * External id of the admin that created the job, never selected by the job itself
+     */
+    @Column(name = "requested_by", nullable = false, updatable = false)
+    private UUID requestedBy;
+
+    @Column(name = "user_ids", columnDefinition = "uuid[]", updatable = false)
+    private UUID[] userIds;
+
+    @Column(name = "search_query", updatable = false)
+    private String searchQuery;
+
+    /**
+     * Id of the last processed user, the job resumes after it
+     */
+    @Column(name = "last_user_id")
+    private UUID lastUserId;
+
+    @Column(name = "total_users", nullable = false)
+    private long totalUsers;
+
+    @Builder.Default
+    @Column(name = "processed_users", nullable = false)
+    private long processedUsers = 0;
+
+    @Builder.Default
+    @Column(name = "failures", nullable = false)
+    private int failures = 0;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+}
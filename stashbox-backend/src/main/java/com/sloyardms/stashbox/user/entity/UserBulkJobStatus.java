@@ -0,0 +1,10 @@
+package com.sloyardms.stashbox.user.entity;
+
+public enum UserBulkJobStatus {
+
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+
+}
@@ -0,0 +1,8 @@
+package com.sloyardms.stashbox.user.entity;
+
+public enum UserBulkOperation {
+
+    DELETE,
+    RESET_SETTINGS
+
+}
@@ -0,0 +1,77 @@
+package com.sloyardms.stashbox.user.entity;
+
+import com.sloyardms.stashbox.common.entity.Auditable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Background purge of a user whose deletion was requested. The job is kept after the user is gone so its status
+ * can still be read
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(onlyExplicitlyIncluded = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Entity
+@Table(name = "user_deletion_jobs")
+public class UserDeletionJob extends Auditable {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id", nullable = false, updatable = false)
+    @ToString.Include
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    @ToString.Include
+    private UUID userId;
+
+    @Column(name = "user_external_id", nullable = false, updatable = false)
+    private UUID userExternalId;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @ToString.Include
+    private UserDeletionStatus status = UserDeletionStatus.PENDING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "current_step", length = 50)
+    @ToString.Include
+    private UserDeletionStep currentStep;
+
+    @Builder.Default
+    @Column(name = "deleted_rows", nullable = false)
+    private long deletedRows = 0;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+}
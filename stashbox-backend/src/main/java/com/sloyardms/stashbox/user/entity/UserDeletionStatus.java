@@ -0,0 +1,10 @@
+package com.sloyardms.stashbox.user.entity;
+
+public enum UserDeletionStatus {
+
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+
+}
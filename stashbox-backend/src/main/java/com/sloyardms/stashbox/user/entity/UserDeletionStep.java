@@ -0,0 +1,22 @@
+package com.sloyardms.stashbox.user.entity;
+
+/**
+ * Steps of a user purge, in execution order. Child rows go first so no step cascades into large amounts of rows
+ */
+public enum UserDeletionStep {
+
+    ITEM_TAGS,
+    NOTE_FILES,
+    ITEM_NOTES,
+    STASH_ITEMS,
+    ITEM_IMAGES,
+    TAGS,
+    ITEM_GROUPS,
+    FILTER_MATCH_EVENTS,
+    FILTER_MATCH_ROLLUPS,
+    USER_FILTERS,
+    USER_FILTER_TOMBSTONES,
+    STASH_ITEM_IMPORT_ROWS,
+    STASH_ITEM_IMPORT_JOBS
+
+}
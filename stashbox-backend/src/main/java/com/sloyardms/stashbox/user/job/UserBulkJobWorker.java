@@ -0,0 +1,52 @@
+package com.sloyardms.stashbox.user.job;
+
+import com.sloyardms.stashbox.user.entity.UserBulkJob;
+import com.sloyardms.stashbox.user.service.UserBulkJobTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Runs admin bulk jobs over users. Each run applies at most chunks-per-run chunks of one job, so a job processes no
+ * more than chunk-size * chunks-per-run users per poll interval
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class UserBulkJobWorker {
+
+    private final UserBulkJobTracker userBulkJobTracker;
+
+    @Value("${user.bulk-jobs.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${user.bulk-jobs.chunks-per-run:5}")
+    private int chunksPerRun;
+
+    @Scheduled(fixedDelayString = "${user.bulk-jobs.poll-interval:2s}")
+    public void processNextJob() {
+        Optional<UserBulkJob> claimed = userBulkJobTracker.claimNext();
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        UserBulkJob job = claimed.get();
+        try {
+            for (int chunk = 0; chunk < chunksPerRun; chunk++) {
+                if (!userBulkJobTracker.processChunk(job.getId(), chunkSize)) {
+                    log.info("Completed {} bulk job {}", job.getOperation(), job.getId());
+                    return;
+                }
+            }
+            userBulkJobTracker.release(job.getId());
+        } catch (RuntimeException e) {
+            log.error("{} bulk job {} failed", job.getOperation(), job.getId(), e);
+            userBulkJobTracker.fail(job.getId(), e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.sloyardms.stashbox.user.job;
+
+import com.sloyardms.stashbox.user.entity.UserDeletionJob;
+import com.sloyardms.stashbox.user.entity.UserDeletionStep;
+import com.sloyardms.stashbox.user.repository.UserDataPurgeRepository;
+import com.sloyardms.stashbox.user.service.UserDeletionJobTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Purges users whose deletion was requested. Each chunk is deleted in its own short transaction, so a large account
+ * neither holds locks for long nor blocks the request that asked for the deletion
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class UserDeletionWorker {
+
+    private final UserDeletionJobTracker userDeletionJobTracker;
+    private final UserDataPurgeRepository userDataPurgeRepository;
+
+    @Value("${user.deletion.chunk-size:1000}")
+    private int chunkSize;
+
+    @Scheduled(fixedDelayString = "${user.deletion.poll-interval:5s}")
+    public void processPendingJobs() {
+        Optional<UserDeletionJob> claimed;
+        while ((claimed = userDeletionJobTracker.claimNext()).isPresent()) {
+            process(claimed.get());
+        }
+    }
+
+    private void process(UserDeletionJob job) {
+        try {
+            // Steps already done by a previous attempt delete nothing, so resuming from the first step is cheap
+            for (UserDeletionStep step : UserDeletionStep.values()) {
+                int deleted;
+                do {
+                    deleted = userDataPurgeRepository.deleteChunk(step, job.getUserId(), chunkSize);
+                    userDeletionJobTracker.recordProgress(job.getId(), step, deleted);
+                } while (deleted == chunkSize);
+            }
+            userDeletionJobTracker.complete(job.getId(), job.getUserId());
+            log.info("Purged user {} (deletion job {})", job.getUserId(), job.getId());
+        } catch (RuntimeException e) {
+            log.error("Deletion job {} failed on attempt {}", job.getId(), job.getAttempts(), e);
+            userDeletionJobTracker.fail(job.getId(), e.getMessage());
+        }
+    }
+
+}
@@ -1,8 +1,12 @@
 package com.sloyardms.stashbox.user.mapper;
 
 import com.sloyardms.stashbox.user.dto.AdminUserResponse;
+import com.sloyardms.stashbox.user.dto.UserBulkJobResponse;
+import com.sloyardms.stashbox.user.dto.UserDeletionJobResponse;
 import com.sloyardms.stashbox.user.dto.UserResponse;
 import com.sloyardms.stashbox.user.entity.User;
+import com.sloyardms.stashbox.user.entity.UserBulkJob;
+import com.sloyardms.stashbox.user.entity.UserDeletionJob;
 import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 
@@ -13,4 +17,8 @@ public interface UserMapper {
 
     AdminUserResponse toAdminResponse(User user);
 
+    UserDeletionJobResponse toDeletionJobResponse(UserDeletionJob job);
+
+    UserBulkJobResponse toBulkJobResponse(UserBulkJob job);
+
 }
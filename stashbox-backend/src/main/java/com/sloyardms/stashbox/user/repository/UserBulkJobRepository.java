@@ -0,0 +1,28 @@
+package com.sloyardms.stashbox.user.repository;
+
+import com.sloyardms.stashbox.user.entity.UserBulkJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserBulkJobRepository extends JpaRepository<UserBulkJob, UUID> {
+
+    /**
+     * Locks the oldest unfinished job not leased by a worker. Jobs locked by other workers are skipped
+     */
+    @Query(value = """
+            SELECT *
+            FROM user_bulk_jobs
+            WHERE status IN ('PENDING', 'RUNNING')
+                AND (lease_expires_at IS NULL OR lease_expires_at < :now)
+            ORDER BY created_at
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<UserBulkJob> lockNextClaimable(@Param("now") Instant now);
+
+}
@@ -0,0 +1,130 @@
+package com.sloyardms.stashbox.user.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads the data of a user table by table as JSON rows, built by PostgreSQL, through forward-only cursors. Rows are
+ * handed over one at a time and never mapped to entities, so memory does not grow with the size of the account.
+ * Cursors are only honored inside a transaction, callers must run in one
+ */
+@RequiredArgsConstructor
+@Repository
+public class UserDataExportRepository {
+
+    private static final Map<String, String> EXPORT_SQL = new LinkedHashMap<>();
+
+    static {
+        EXPORT_SQL.put("user", asJson("""
+                SELECT external_id, username, email, settings, created_at, updated_at
+                FROM users
+                WHERE id = ?
+                """));
+        EXPORT_SQL.put("user_filters", asJson("""
+                SELECT id, filter_name, description, url_pattern, domain, extraction_regex, capture_group_index,
+                       priority, is_active, match_count, last_matched_at, created_at, updated_at
+                FROM user_filters
+                WHERE user_id = ?
+                """));
+        EXPORT_SQL.put("item_groups", asJson("""
+                SELECT id, name, slug, description, created_at, updated_at
+                FROM item_groups
+                WHERE user_id = ?
+                """));
+        EXPORT_SQL.put("tags", asJson("""
+                SELECT id, name, slug, created_at, updated_at
+                FROM tags
+                WHERE user_id = ?
+                """));
+        EXPORT_SQL.put("stash_items", asJson("""
+                SELECT id, group_id, title, slug, url, description, is_favorite, image_id, created_at, updated_at,
+                       deleted_at
+                FROM stash_items
+                WHERE user_id = ?
+                """));
+        EXPORT_SQL.put("item_tags", asJson("""
+                SELECT it.item_id, it.tag_id
+                FROM item_tags it
+                JOIN tags t ON t.id = it.tag_id
+                WHERE t.user_id = ?
+                """));
+        EXPORT_SQL.put("item_notes", asJson("""
+                SELECT id, item_id, note, created_at, updated_at
+                FROM item_notes
+                WHERE user_id = ?
+                """));
+        EXPORT_SQL.put("item_images", asJson("""
+                SELECT id, original_filename, stored_filename, file_path, mime_type, file_size, file_extension,
+                       created_at
+                FROM item_images
+                WHERE user_id = ?
+                """));
+        EXPORT_SQL.put("note_files", asJson("""
+                SELECT id, note_id, original_filename, stored_filename, file_path, mime_type, file_size,
+                       file_extension, upload_status, display_order, created_at
+                FROM note_files
+                WHERE user_id = ?
+                """));
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${user.export.fetch-size:500}")
+    private int fetchSize;
+
+    private static String asJson(String select) {
+        return "SELECT CAST(to_jsonb(r) AS text) FROM (" + select + ") r";
+    }
+
+    /**
+     * Names of the exported tables, in export order
+     */
+    public Set<String> tableNames() {
+        return Collections.unmodifiableSet(EXPORT_SQL.keySet());
+    }
+
+    /**
+     * Streams the rows of the user in the given table, each one as a single-line JSON object
+     *
+     * @return the number of rows handed to the handler
+     */
+    public long streamRows(String tableName, UUID userId, JsonRowHandler handler) {
+        String sql = EXPORT_SQL.get(tableName);
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setObject(1, userId);
+            return ps;
+        }, rs -> {
+            try {
+                handler.handle(rs.getString(1));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    @FunctionalInterface
+    public interface JsonRowHandler {
+
+        void handle(String json) throws IOException;
+
+    }
+
+}
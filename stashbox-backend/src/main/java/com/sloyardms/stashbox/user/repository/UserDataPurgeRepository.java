@@ -0,0 +1,95 @@
+package com.sloyardms.stashbox.user.repository;
+
+import com.sloyardms.stashbox.user.entity.UserDeletionStep;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Deletes the data of a user in bounded chunks, one table at a time, so a purge never holds many row locks at once
+ */
+@RequiredArgsConstructor
+@Repository
+public class UserDataPurgeRepository {
+
+    private static final Map<UserDeletionStep, String> DELETE_CHUNK_SQL = new EnumMap<>(UserDeletionStep.class);
+
+    static {
+        DELETE_CHUNK_SQL.put(UserDeletionStep.ITEM_TAGS, """
+                DELETE FROM item_tags
+                WHERE (item_id, tag_id) IN (
+                    SELECT it.item_id, it.tag_id
+                    FROM item_tags it
+                    JOIN tags t ON t.id = it.tag_id
+                    WHERE t.user_id = ?
+                    LIMIT ?
+                )
+                """);
+        DELETE_CHUNK_SQL.put(UserDeletionStep.NOTE_FILES, chunkByUserId("note_files"));
+        DELETE_CHUNK_SQL.put(UserDeletionStep.ITEM_NOTES, chunkByUserId("item_notes"));
+        // Images of deleted items are removed by the stash_items delete trigger
+        DELETE_CHUNK_SQL.put(UserDeletionStep.STASH_ITEMS, chunkByUserId("stash_items"));
+        DELETE_CHUNK_SQL.put(UserDeletionStep.ITEM_IMAGES, chunkByUserId("item_images"));
+        DELETE_CHUNK_SQL.put(UserDeletionStep.TAGS, chunkByUserId("tags"));
+        DELETE_CHUNK_SQL.put(UserDeletionStep.ITEM_GROUPS, chunkByUserId("item_groups"));
+        DELETE_CHUNK_SQL.put(UserDeletionStep.FILTER_MATCH_EVENTS, """
+                DELETE FROM filter_match_events
+                WHERE id IN (
+                    SELECT e.id
+                    FROM filter_match_events e
+                    JOIN user_filters uf ON uf.id = e.filter_id
+                    WHERE uf.user_id = ?
+                    LIMIT ?
+                )
+                """);
+        DELETE_CHUNK_SQL.put(UserDeletionStep.FILTER_MATCH_ROLLUPS, """
+                DELETE FROM filter_match_rollups
+                WHERE (filter_id, granularity, bucket_start) IN (
+                    SELECT r.filter_id, r.granularity, r.bucket_start
+                    FROM filter_match_rollups r
+                    JOIN user_filters uf ON uf.id = r.filter_id
+                    WHERE uf.user_id = ?
+                    LIMIT ?
+                )
+                """);
+        DELETE_CHUNK_SQL.put(UserDeletionStep.USER_FILTERS, chunkByUserId("user_filters"));
+        DELETE_CHUNK_SQL.put(UserDeletionStep.USER_FILTER_TOMBSTONES, chunkByUserId("user_filter_tombstones"));
+        DELETE_CHUNK_SQL.put(UserDeletionStep.STASH_ITEM_IMPORT_ROWS, """
+                DELETE FROM stash_item_import_rows
+                WHERE (job_id, row_index) IN (
+                    SELECT r.job_id, r.row_index
+                    FROM stash_item_import_rows r
+                    JOIN stash_item_import_jobs j ON j.id = r.job_id
+                    WHERE j.user_id = ?
+                    LIMIT ?
+                )
+                """);
+        DELETE_CHUNK_SQL.put(UserDeletionStep.STASH_ITEM_IMPORT_JOBS, chunkByUserId("stash_item_import_jobs"));
+    }
+
+    private static final String DELETE_USER_SQL = "DELETE FROM users WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static String chunkByUserId(String table) {
+        return "DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table + " WHERE user_id = ? LIMIT ?)";
+    }
+
+    /**
+     * Deletes up to chunkSize rows of the user from the table of the given step
+     *
+     * @return the number of deleted rows, less than chunkSize once the table holds no more rows of the user
+     */
+    public int deleteChunk(UserDeletionStep step, UUID userId, int chunkSize) {
+        return jdbcTemplate.update(DELETE_CHUNK_SQL.get(step), userId, chunkSize);
+    }
+
+    public int deleteUser(UUID userId) {
+        return jdbcTemplate.update(DELETE_USER_SQL, userId);
+    }
+
+}
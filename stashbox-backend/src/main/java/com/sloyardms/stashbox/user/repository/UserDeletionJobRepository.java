@@ -0,0 +1,51 @@
+package com.sloyardms.stashbox.user.repository;
+
+import com.sloyardms.stashbox.user.entity.UserDeletionJob;
+import com.sloyardms.stashbox.user.entity.UserDeletionStatus;
+import com.sloyardms.stashbox.user.entity.UserDeletionStep;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserDeletionJobRepository extends JpaRepository<UserDeletionJob, UUID> {
+
+    Optional<UserDeletionJob> findFirstByUserIdAndStatusIn(UUID userId, Collection<UserDeletionStatus> statuses);
+
+    Optional<UserDeletionJob> findFirstByUserExternalIdOrderByCreatedAtDesc(UUID userExternalId);
+
+    /**
+     * Locks the oldest job that is pending or whose worker lease expired. Jobs locked by other workers are skipped
+     */
+    @Query(value = """
+            SELECT *
+            FROM user_deletion_jobs
+            WHERE status IN ('PENDING', 'RUNNING')
+                AND (status = 'PENDING' OR lease_expires_at < :now)
+            ORDER BY created_at
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<UserDeletionJob> lockNextClaimable(@Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            UPDATE UserDeletionJob j
+            SET j.currentStep = :step,
+                j.deletedRows = j.deletedRows + :deletedRows,
+                j.leaseExpiresAt = :leaseExpiresAt,
+                j.updatedAt = :now
+            WHERE j.id = :id
+            """)
+    int recordProgress(@Param("id") UUID id,
+                       @Param("step") UserDeletionStep step,
+                       @Param("deletedRows") long deletedRows,
+                       @Param("leaseExpiresAt") Instant leaseExpiresAt,
+                       @Param("now") Instant now);
+
+}
@@ -3,12 +3,22 @@ package com.sloyardms.stashbox.user.repository;
 import com.sloyardms.stashbox.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User>,
+        UserRepositoryCustom {
 
-    Optional<User> findByExternalId(UUID externalId);
+    /**
+     * Finds a user by external id, skipping users whose deletion was requested
+     */
+    @Query("SELECT u FROM User u WHERE u.externalId = :externalId AND u.deletionRequestedAt IS NULL")
+    Optional<User> findByExternalId(@Param("externalId") UUID externalId);
+
+    @Query("SELECT u.id FROM User u WHERE u.externalId = :externalId AND u.deletionRequestedAt IS NULL")
+    Optional<UUID> findIdByExternalId(@Param("externalId") UUID externalId);
 
 }
@@ -0,0 +1,42 @@
+package com.sloyardms.stashbox.user.repository;
+
+import com.sloyardms.stashbox.user.entity.User;
+import com.sloyardms.stashbox.user.entity.UserSettings;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Creates the user unless a user with the same external id already exists, in a single statement
+     *
+     * @param externalId the external id of the user
+     * @param username   the username of a new user
+     * @param email      the email of a new user
+     * @param settings   the settings of a new user
+     * @return the internal id of the new or existing user, empty if a concurrent insert is not visible yet or the
+     * existing user is pending deletion
+     */
+    Optional<UUID> insertIfAbsent(UUID externalId, String username, String email, UserSettings settings);
+
+    /**
+     * Merges the given keys into the settings of the user in a single statement, leaving the other columns and the
+     * unique constraints untouched
+     *
+     * @param externalId    the external id of the user
+     * @param settingsPatch the settings keys to overwrite
+     * @return the updated user, empty if there is no user with the external id or its deletion was requested
+     */
+    Optional<User> mergeSettings(UUID externalId, Map<String, Object> settingsPatch);
+
+    /**
+     * Overwrites the settings of the given users in a single statement
+     *
+     * @return the number of updated users
+     */
+    int replaceSettings(Collection<UUID> ids, UserSettings settings);
+
+}
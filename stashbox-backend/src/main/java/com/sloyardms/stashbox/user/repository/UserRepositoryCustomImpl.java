@@ -0,0 +1,101 @@
+package com.sloyardms.stashbox.user.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sloyardms.stashbox.user.entity.User;
+import com.sloyardms.stashbox.user.entity.UserSettings;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    // The second branch only sees users committed before the statement started, so it covers the conflict case
+    // without a second round trip. Users pending deletion are not returned
+    private static final String INSERT_IF_ABSENT_SQL = """
+            WITH inserted AS (
+                INSERT INTO users (id, external_id, username, email, settings, created_at, updated_at)
+                VALUES (?, ?, ?, ?, CAST(? AS jsonb), now(), now())
+                ON CONFLICT (external_id) DO NOTHING
+                RETURNING id
+            )
+            SELECT id FROM inserted
+            UNION ALL
+            SELECT id FROM users WHERE external_id = ? AND deletion_requested_at IS NULL
+            LIMIT 1
+            """;
+
+    private static final String MERGE_SETTINGS_SQL = """
+            UPDATE users
+            SET settings = settings || CAST(? AS jsonb), updated_at = now()
+            WHERE external_id = ? AND deletion_requested_at IS NULL
+            RETURNING id, external_id, username, email, settings, created_at, updated_at
+            """;
+
+    private static final String REPLACE_SETTINGS_SQL = """
+            UPDATE users
+            SET settings = CAST(? AS jsonb), updated_at = now()
+            WHERE id = ANY(?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Optional<UUID> insertIfAbsent(UUID externalId, String username, String email, UserSettings settings) {
+        return jdbcTemplate.query(INSERT_IF_ABSENT_SQL, (rs, rowNum) -> rs.getObject(1, UUID.class),
+                        UUID.randomUUID(), externalId, username, email, toJson(settings), externalId)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<User> mergeSettings(UUID externalId, Map<String, Object> settingsPatch) {
+        return jdbcTemplate.query(MERGE_SETTINGS_SQL, (rs, rowNum) -> {
+                    User user = User.builder()
+                            .id(rs.getObject("id", UUID.class))
+                            .externalId(rs.getObject("external_id", UUID.class))
+                            .username(rs.getString("username"))
+                            .email(rs.getString("email"))
+                            .settings(fromJson(rs.getString("settings"), UserSettings.class))
+                            .build();
+                    user.setCreatedAt(rs.getTimestamp("created_at").toInstant());
+                    user.setUpdatedAt(rs.getTimestamp("updated_at").toInstant());
+                    return user;
+                }, toJson(settingsPatch), externalId)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public int replaceSettings(Collection<UUID> ids, UserSettings settings) {
+        String settingsJson = toJson(settings);
+        return jdbcTemplate.update(REPLACE_SETTINGS_SQL, ps -> {
+            ps.setString(1, settingsJson);
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", ids.toArray()));
+        });
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.sloyardms.stashbox.user.service;
+
+import com.sloyardms.stashbox.user.dto.UserBulkJobResponse;
+import com.sloyardms.stashbox.user.dto.UserBulkRequest;
+import com.sloyardms.stashbox.user.entity.UserBulkOperation;
+
+import java.util.UUID;
+
+public interface UserBulkJobService {
+
+    /**
+     * Creates a job applying the operation to the selected users. The job runs in the background
+     *
+     * @param adminExternalId the external id of the requesting admin, who is never selected
+     */
+    UserBulkJobResponse createJob(UUID adminExternalId, UserBulkOperation operation, UserBulkRequest request);
+
+    UserBulkJobResponse getJob(UUID id);
+
+}
@@ -0,0 +1,59 @@
+package com.sloyardms.stashbox.user.service;
+
+import com.sloyardms.stashbox.common.error.exception.BusinessException;
+import com.sloyardms.stashbox.common.error.exception.ResourceNotFoundException;
+import com.sloyardms.stashbox.user.dto.UserBulkJobResponse;
+import com.sloyardms.stashbox.user.dto.UserBulkRequest;
+import com.sloyardms.stashbox.user.entity.UserBulkJob;
+import com.sloyardms.stashbox.user.entity.UserBulkOperation;
+import com.sloyardms.stashbox.user.mapper.UserMapper;
+import com.sloyardms.stashbox.user.repository.UserBulkJobRepository;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.user.specification.UserSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Service
+public class UserBulkJobServiceImpl implements UserBulkJobService {
+
+    private final UserBulkJobRepository userBulkJobRepository;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public UserBulkJobResponse createJob(UUID adminExternalId, UserBulkOperation operation,
+                                         UserBulkRequest request) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean hasSearch = request.getSearch() != null && !request.getSearch().isBlank();
+        // An empty selection would match every user
+        if (!hasIds && !hasSearch) {
+            throw new BusinessException("INVALID_BULK_SELECTION", "Either 'ids' or 'search' must be provided",
+                    HttpStatus.BAD_REQUEST.value());
+        }
+
+        UserBulkJob job = UserBulkJob.builder()
+                .operation(operation)
+                .requestedBy(adminExternalId)
+                .userIds(hasIds ? request.getIds().stream().distinct().toArray(UUID[]::new) : null)
+                .searchQuery(hasSearch ? request.getSearch() : null)
+                .build();
+        // Users created after this point may still be selected, so the total is an estimate
+        job.setTotalUsers(userRepository.count(UserSpecification.selectedBy(job)));
+        return userMapper.toBulkJobResponse(userBulkJobRepository.save(job));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public UserBulkJobResponse getJob(UUID id) {
+        UserBulkJob job = userBulkJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("UserBulkJob", "Id", id));
+        return userMapper.toBulkJobResponse(job);
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.sloyardms.stashbox.user.service;
+
+import com.sloyardms.stashbox.config.cache.CacheNames;
+import com.sloyardms.stashbox.user.entity.User;
+import com.sloyardms.stashbox.user.entity.UserBulkJob;
+import com.sloyardms.stashbox.user.entity.UserBulkJobStatus;
+import com.sloyardms.stashbox.user.entity.UserSettings;
+import com.sloyardms.stashbox.user.repository.UserBulkJobRepository;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.user.specification.UserSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Claims user bulk jobs and applies them one chunk of users per transaction.
+ * A claimed job is leased to one worker, which releases it after a bounded number of chunks so the load of a job
+ * is spread over time
+ */
+@RequiredArgsConstructor
+@Component
+public class UserBulkJobTracker {
+
+    private final UserBulkJobRepository userBulkJobRepository;
+    private final UserRepository userRepository;
+    private final UserDeletionJobTracker userDeletionJobTracker;
+    private final CacheManager cacheManager;
+
+    @Value("${user.bulk-jobs.lease:5m}")
+    private Duration lease;
+
+    @Value("${user.bulk-jobs.max-failures:5}")
+    private int maxFailures;
+
+    @Transactional(rollbackFor = Exception.class)
+    public Optional<UserBulkJob> claimNext() {
+        Instant now = Instant.now();
+        return userBulkJobRepository.lockNextClaimable(now)
+                .map(job -> {
+                    job.setStatus(UserBulkJobStatus.RUNNING);
+                    job.setLeaseExpiresAt(now.plus(lease));
+                    return job;
+                });
+    }
+
+    /**
+     * Applies the operation of the job to the next chunk of selected users and moves the job past them
+     *
+     * @return true if there may be more users to process, false once the job completed
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public boolean processChunk(UUID jobId, int chunkSize) {
+        UserBulkJob job = userBulkJobRepository.findById(jobId).orElseThrow();
+        List<User> users = userRepository.findBy(
+                UserSpecification.selectedBy(job).and(UserSpecification.idAfter(job.getLastUserId())),
+                query -> query
+                        .sortBy(Sort.by("id"))
+                        .limit(chunkSize)
+                        .all());
+
+        switch (job.getOperation()) {
+            case DELETE -> users.forEach(userDeletionJobTracker::schedule);
+            case RESET_SETTINGS -> resetSettings(users);
+        }
+
+        Instant now = Instant.now();
+        job.setProcessedUsers(job.getProcessedUsers() + users.size());
+        if (!users.isEmpty()) {
+            job.setLastUserId(users.getLast().getId());
+        }
+        if (users.size() < chunkSize) {
+            job.setStatus(UserBulkJobStatus.COMPLETED);
+            job.setLeaseExpiresAt(null);
+            job.setCompletedAt(now);
+            return false;
+        }
+        job.setLeaseExpiresAt(now.plus(lease));
+        return true;
+    }
+
+    /**
+     * Lets any worker claim the job again on its next run
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void release(UUID jobId) {
+        userBulkJobRepository.getReferenceById(jobId).setLeaseExpiresAt(null);
+    }
+
+    /**
+     * Records the failure. The job stays leased and is retried once the lease expires, until it fails too often
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void fail(UUID jobId, String errorMessage) {
+        UserBulkJob job = userBulkJobRepository.getReferenceById(jobId);
+        job.setFailures(job.getFailures() + 1);
+        job.setErrorMessage(errorMessage);
+        job.setLeaseExpiresAt(Instant.now().plus(lease));
+        if (job.getFailures() >= maxFailures) {
+            job.setStatus(UserBulkJobStatus.FAILED);
+            job.setLeaseExpiresAt(null);
+            job.setCompletedAt(Instant.now());
+        }
+    }
+
+    private void resetSettings(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        userRepository.replaceSettings(users.stream().map(User::getId).toList(), new UserSettings());
+        Cache userProfiles = Objects.requireNonNull(cacheManager.getCache(CacheNames.USER_PROFILES));
+        users.forEach(user -> userProfiles.evict(user.getExternalId()));
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.sloyardms.stashbox.user.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface UserDataExportService {
+
+    void exportUserData(UUID userExternalId, OutputStream out) throws IOException;
+
+}
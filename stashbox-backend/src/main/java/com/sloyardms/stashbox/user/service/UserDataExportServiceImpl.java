@@ -0,0 +1,61 @@
+package com.sloyardms.stashbox.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sloyardms.stashbox.user.repository.UserDataExportRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the whole account of a user as a ZIP archive with one NDJSON entry per table, followed by a manifest with
+ * the row counts. Rows go from the database cursor straight to the archive
+ */
+@RequiredArgsConstructor
+@Service
+public class UserDataExportServiceImpl implements UserDataExportService {
+
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final ObjectMapper objectMapper;
+    private final UserIdResolver userIdResolver;
+    private final UserDataExportRepository userDataExportRepository;
+
+    // Repeatable read gives every table the same snapshot of the account
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Override
+    public void exportUserData(UUID userExternalId, OutputStream out) throws IOException {
+        UUID userId = userIdResolver.resolveUserId(userExternalId);
+        Map<String, Long> rowCounts = new LinkedHashMap<>();
+
+        // Finish instead of close, the servlet container owns the response stream
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        for (String tableName : userDataExportRepository.tableNames()) {
+            zip.putNextEntry(new ZipEntry(tableName + ".ndjson"));
+            long rows = userDataExportRepository.streamRows(tableName, userId, json -> {
+                zip.write(json.getBytes(StandardCharsets.UTF_8));
+                zip.write(NEW_LINE);
+            });
+            zip.closeEntry();
+            rowCounts.put(tableName, rows);
+        }
+
+        zip.putNextEntry(new ZipEntry("manifest.json"));
+        zip.write(objectMapper.writeValueAsBytes(Map.of(
+                "exportedAt", Instant.now().toString(),
+                "rowCounts", rowCounts)));
+        zip.closeEntry();
+        zip.finish();
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.sloyardms.stashbox.user.service;
+
+import com.sloyardms.stashbox.config.cache.CacheNames;
+import com.sloyardms.stashbox.user.entity.User;
+import com.sloyardms.stashbox.user.entity.UserDeletionJob;
+import com.sloyardms.stashbox.user.entity.UserDeletionStatus;
+import com.sloyardms.stashbox.user.entity.UserDeletionStep;
+import com.sloyardms.stashbox.user.repository.UserDataPurgeRepository;
+import com.sloyardms.stashbox.user.repository.UserDeletionJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Scheduling and state transitions of user deletion jobs. A claimed job is leased to one worker; when the lease runs out without
+ * progress, e.g. because the instance died, another worker picks the job up and resumes it
+ */
+@RequiredArgsConstructor
+@Component
+public class UserDeletionJobTracker {
+
+    private final UserDeletionJobRepository userDeletionJobRepository;
+    private final UserDataPurgeRepository userDataPurgeRepository;
+    private final CacheManager cacheManager;
+
+    private static final Set<UserDeletionStatus> ACTIVE_STATUSES =
+            EnumSet.of(UserDeletionStatus.PENDING, UserDeletionStatus.RUNNING);
+    // Caches keyed by the external id of the user
+    private static final List<String> USER_CACHE_NAMES = List.of(CacheNames.USER_IDS, CacheNames.USER_PROFILES,
+            CacheNames.USER_FILTER_MATCHERS, CacheNames.USER_FILTER_DOMAINS, CacheNames.UNPROVISIONABLE_USERS);
+
+    @Value("${user.deletion.lease:5m}")
+    private Duration lease;
+
+    @Value("${user.deletion.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Hides the user from the API right away and leaves the purge of its data to the UserDeletionWorker
+     *
+     * @return the new deletion job, or the active one if the deletion was already scheduled
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public UserDeletionJob schedule(User user) {
+        Optional<UserDeletionJob> activeJob = userDeletionJobRepository.findFirstByUserIdAndStatusIn(user.getId(),
+                ACTIVE_STATUSES);
+        if (activeJob.isPresent()) {
+            return activeJob.get();
+        }
+
+        if (user.getDeletionRequestedAt() == null) {
+            user.setDeletionRequestedAt(Instant.now());
+        }
+        UserDeletionJob job = userDeletionJobRepository.save(UserDeletionJob.builder()
+                .userId(user.getId())
+                .userExternalId(user.getExternalId())
+                .build());
+        evictUserCaches(user.getExternalId());
+        return job;
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public Optional<UserDeletionJob> claimNext() {
+        Instant now = Instant.now();
+        return userDeletionJobRepository.lockNextClaimable(now)
+                .map(job -> {
+                    job.setStatus(UserDeletionStatus.RUNNING);
+                    job.setAttempts(job.getAttempts() + 1);
+                    job.setLeaseExpiresAt(now.plus(lease));
+                    return userDeletionJobRepository.save(job);
+                });
+    }
+
+    /**
+     * Adds the rows deleted by a chunk to the job and extends the lease of the worker
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void recordProgress(UUID jobId, UserDeletionStep step, int deletedRows) {
+        Instant now = Instant.now();
+        userDeletionJobRepository.recordProgress(jobId, step, deletedRows, now.plus(lease), now);
+    }
+
+    /**
+     * Deletes the user row, by now without children, and completes the job in the same transaction
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void complete(UUID jobId, UUID userId) {
+        int deletedRows = userDataPurgeRepository.deleteUser(userId);
+        UserDeletionJob job = userDeletionJobRepository.getReferenceById(jobId);
+        // A request resolving the user while the deletion was being scheduled may have cached it again, callers
+        // would then insert rows referencing the deleted user
+        evictUserCaches(job.getUserExternalId());
+        job.setStatus(UserDeletionStatus.COMPLETED);
+        job.setDeletedRows(job.getDeletedRows() + deletedRows);
+        job.setCurrentStep(null);
+        job.setLeaseExpiresAt(null);
+        job.setErrorMessage(null);
+        job.setCompletedAt(Instant.now());
+    }
+
+    /**
+     * Records the failure. The job stays leased and is retried once the lease expires, until it runs out of attempts
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void fail(UUID jobId, String errorMessage) {
+        UserDeletionJob job = userDeletionJobRepository.getReferenceById(jobId);
+        job.setErrorMessage(errorMessage);
+        if (job.getAttempts() >= maxAttempts) {
+            job.setStatus(UserDeletionStatus.FAILED);
+            job.setLeaseExpiresAt(null);
+            job.setCompletedAt(Instant.now());
+        }
+    }
+
+    private void evictUserCaches(UUID userExternalId) {
+        for (String cacheName : USER_CACHE_NAMES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(userExternalId);
+            }
+        }
+    }
+
+}
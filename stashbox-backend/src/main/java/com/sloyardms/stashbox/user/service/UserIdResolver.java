@@ -0,0 +1,32 @@
+package com.sloyardms.stashbox.user.service;
+
+import com.sloyardms.stashbox.common.error.exception.ResourceNotFoundException;
+import com.sloyardms.stashbox.config.cache.CacheNames;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Resolves the external id of a user (the JWT subject) to the internal users.id, so user-scoped queries can filter on
+ * the user_id column without joining users.
+ * Resolutions are cached process-wide and evicted by the User service when the user deletion is requested. Users
+ * pending deletion do not resolve
+ */
+@RequiredArgsConstructor
+@Component
+public class UserIdResolver {
+
+    private final UserRepository userRepository;
+
+    @Cacheable(cacheNames = CacheNames.USER_IDS, key = "#userExternalId", sync = true)
+    @Transactional(readOnly = true)
+    public UUID resolveUserId(UUID userExternalId) {
+        return userRepository.findIdByExternalId(userExternalId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "External Id", "[REDACTED]"));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.sloyardms.stashbox.user.service;
+
+import com.sloyardms.stashbox.config.cache.CacheNames;
+import com.sloyardms.stashbox.user.entity.UserSettings;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Creates users on their first authenticated request.
+ * Subjects already present in the user id cache are known to be provisioned, so the steady-state cost is a cache
+ * lookup. A miss costs a single insert-if-absent statement that also returns the id of an existing user.
+ * Subjects that cannot be provisioned, because they are pending deletion or their username or email is taken, are
+ * remembered for a short while so their requests do not repeat the insert
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class UserProvisioner {
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    public void provision(UUID userExternalId, String username, String email) {
+        Cache userIds = Objects.requireNonNull(cacheManager.getCache(CacheNames.USER_IDS));
+        if (userIds.get(userExternalId) != null) {
+            return;
+        }
+        Cache unprovisionable = Objects.requireNonNull(cacheManager.getCache(CacheNames.UNPROVISIONABLE_USERS));
+        if (unprovisionable.get(userExternalId) != null) {
+            return;
+        }
+
+        try {
+            Optional<UUID> userId = userRepository.insertIfAbsent(userExternalId, username, email,
+                    new UserSettings());
+            if (userId.isPresent()) {
+                userIds.put(userExternalId, userId.get());
+            } else {
+                unprovisionable.put(userExternalId, Boolean.TRUE);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Username or email already taken by another subject, user-scoped calls keep failing as unregistered
+            log.warn("Could not provision user {}: {}", userExternalId, e.getMostSpecificCause().getMessage());
+            unprovisionable.put(userExternalId, Boolean.TRUE);
+        }
+    }
+
+}
@@ -1,7 +1,9 @@
 package com.sloyardms.stashbox.user.service;
 
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
 import com.sloyardms.stashbox.user.dto.AdminUserResponse;
 import com.sloyardms.stashbox.user.dto.UpdateUserSettingsRequest;
+import com.sloyardms.stashbox.user.dto.UserDeletionJobResponse;
 import com.sloyardms.stashbox.user.dto.UserResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,11 +17,28 @@ public interface UserService {
     Page<AdminUserResponse> getAllUsersExcludingCurrent(UUID currentAdminExternalId, String searchQuery,
                                                         Pageable pageable);
 
+    CursorPageResponse<AdminUserResponse> scrollUsersExcludingCurrent(UUID currentAdminExternalId, String searchQuery,
+                                                                      String cursor, int limit);
+
     UserResponse saveUser(UUID externalId, String username, String email);
 
-    void deleteUserByInternalId(UUID internalId);
+    /**
+     * Marks the user as pending deletion and schedules the purge of its data
+     *
+     * @return the deletion job, an already scheduled one if the deletion was requested before
+     */
+    UserDeletionJobResponse deleteUserByInternalId(UUID internalId);
+
+    /**
+     * Marks the user as pending deletion and schedules the purge of its data
+     *
+     * @return the deletion job
+     */
+    UserDeletionJobResponse deleteUserByExternalId(UUID userExternalId);
+
+    UserDeletionJobResponse getDeletionJob(UUID jobId);
 
-    void deleteUserByExternalId(UUID userExternalId);
+    UserDeletionJobResponse getLatestDeletionJobByExternalId(UUID userExternalId);
 
     UserResponse updateUserSettings(UpdateUserSettingsRequest updateUserSettingsRequest, UUID userExternalId);
 
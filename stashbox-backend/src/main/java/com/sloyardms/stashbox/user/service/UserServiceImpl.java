@@ -1,25 +1,38 @@
 package com.sloyardms.stashbox.user.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sloyardms.stashbox.common.error.exception.InvalidCursorException;
 import com.sloyardms.stashbox.common.error.exception.ResourceAlreadyExistsException;
 import com.sloyardms.stashbox.common.error.exception.ResourceNotFoundException;
+import com.sloyardms.stashbox.common.pagination.CursorCodec;
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
 import com.sloyardms.stashbox.common.utils.PageableValidator;
+import com.sloyardms.stashbox.config.cache.CacheNames;
 import com.sloyardms.stashbox.user.dto.AdminUserResponse;
 import com.sloyardms.stashbox.user.dto.UpdateUserSettingsRequest;
+import com.sloyardms.stashbox.user.dto.UserDeletionJobResponse;
 import com.sloyardms.stashbox.user.dto.UserResponse;
 import com.sloyardms.stashbox.user.entity.User;
-import com.sloyardms.stashbox.user.entity.UserSettings;
+import com.sloyardms.stashbox.user.entity.UserDeletionJob;
 import com.sloyardms.stashbox.user.mapper.UserMapper;
-import com.sloyardms.stashbox.user.mapper.UserSettingsMapper;
+import com.sloyardms.stashbox.user.repository.UserDeletionJobRepository;
 import com.sloyardms.stashbox.user.repository.UserRepository;
 import com.sloyardms.stashbox.user.specification.UserSpecification;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
@@ -28,10 +41,15 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
 
     private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("username", "email", "createdAt", "updatedAt");
+    private static final TypeReference<Map<String, Object>> SETTINGS_PATCH_TYPE = new TypeReference<>() {
+    };
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final UserSettingsMapper userSettingsMapper;
+    private final ObjectMapper objectMapper;
+    private final UserDeletionJobRepository userDeletionJobRepository;
+    private final UserDeletionJobTracker userDeletionJobTracker;
 
+    @Cacheable(cacheNames = CacheNames.USER_PROFILES, key = "#userExternalId", sync = true)
     @Transactional(readOnly = true)
     @Override
     public UserResponse getUserByExternalId(UUID userExternalId) {
@@ -49,6 +67,7 @@ public class UserServiceImpl implements UserService {
 
         Specification<User> spec = Specification.allOf(
                 UserSpecification.excludingUser(currentAdminExternalId),
+                UserSpecification.notPendingDeletion(),
                 UserSpecification.search(searchQuery)
         );
 
@@ -56,6 +75,44 @@ public class UserServiceImpl implements UserService {
         return users.map(userMapper::toAdminResponse);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageResponse<AdminUserResponse> scrollUsersExcludingCurrent(UUID currentAdminExternalId,
+                                                                             String searchQuery, String cursor,
+                                                                             int limit) {
+        Specification<User> spec = Specification.allOf(
+                UserSpecification.excludingUser(currentAdminExternalId),
+                UserSpecification.notPendingDeletion(),
+                UserSpecification.search(searchQuery)
+        );
+        if (cursor != null) {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            try {
+                spec = spec.and(UserSpecification.after(keys[1], UUID.fromString(keys[0])));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCursorException(cursor);
+            }
+        }
+
+        // One extra row tells whether there is a next page without counting
+        List<User> users = userRepository.findBy(spec, query -> query
+                .sortBy(Sort.by("username", "id"))
+                .limit(limit + 1)
+                .all());
+
+        boolean hasMore = users.size() > limit;
+        List<User> page = hasMore ? users.subList(0, limit) : users;
+        // The username goes last since it is the only key that may contain the cursor separator
+        String nextCursor = hasMore
+                ? CursorCodec.encode(page.getLast().getId().toString(), page.getLast().getUsername())
+                : null;
+        return CursorPageResponse.<AdminUserResponse>builder()
+                .content(page.stream().map(userMapper::toAdminResponse).toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Transactional(rollbackFor = Exception.class)
     @Override
     public UserResponse saveUser(UUID externalId, String username, String email) {
@@ -70,28 +127,46 @@ public class UserServiceImpl implements UserService {
 
     @Transactional(rollbackFor = Exception.class)
     @Override
-    public void deleteUserByInternalId(UUID internalId) {
+    public UserDeletionJobResponse deleteUserByInternalId(UUID internalId) {
         User user = userRepository.findById(internalId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "Id", internalId));
-        userRepository.delete(user);
+        return userMapper.toDeletionJobResponse(userDeletionJobTracker.schedule(user));
     }
 
     @Transactional(rollbackFor = Exception.class)
     @Override
-    public void deleteUserByExternalId(UUID userExternalId) {
+    public UserDeletionJobResponse deleteUserByExternalId(UUID userExternalId) {
         User user = userRepository.findByExternalId(userExternalId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "External Id", userExternalId));
-        userRepository.delete(user);
+        return userMapper.toDeletionJobResponse(userDeletionJobTracker.schedule(user));
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public UserDeletionJobResponse getDeletionJob(UUID jobId) {
+        UserDeletionJob job = userDeletionJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("UserDeletionJob", "Id", jobId));
+        return userMapper.toDeletionJobResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public UserDeletionJobResponse getLatestDeletionJobByExternalId(UUID userExternalId) {
+        UserDeletionJob job = userDeletionJobRepository.findFirstByUserExternalIdOrderByCreatedAtDesc(userExternalId)
+                .orElseThrow(() -> new ResourceNotFoundException("UserDeletionJob", "External Id", userExternalId));
+        return userMapper.toDeletionJobResponse(job);
+    }
+
+    @CachePut(cacheNames = CacheNames.USER_PROFILES, key = "#userExternalId")
     @Transactional(rollbackFor = Exception.class)
     @Override
     public UserResponse updateUserSettings(UpdateUserSettingsRequest updateUserSettingsRequest, UUID userExternalId) {
-        User user = userRepository.findByExternalId(userExternalId)
+        // Only the provided keys are merged, the stored values of the others are kept
+        Map<String, Object> settingsPatch = objectMapper.convertValue(updateUserSettingsRequest, SETTINGS_PATCH_TYPE);
+        settingsPatch.values().removeIf(Objects::isNull);
+
+        User user = userRepository.mergeSettings(userExternalId, settingsPatch)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "External Id", userExternalId));
-        UserSettings newSettings = userSettingsMapper.updateFromDto(updateUserSettingsRequest, user.getSettings());
-        user.setSettings(newSettings);
-        user = saveUserChanges(user);
         return userMapper.toResponse(user);
     }
 
@@ -2,8 +2,11 @@ package com.sloyardms.stashbox.user.specification;
 
 import com.sloyardms.stashbox.common.specification.SpecificationUtils;
 import com.sloyardms.stashbox.user.entity.User;
+import com.sloyardms.stashbox.user.entity.UserBulkJob;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.UUID;
 
 public class UserSpecification extends SpecificationUtils {
@@ -13,6 +16,54 @@ public class UserSpecification extends SpecificationUtils {
                 cb.notEqual(root.get("externalId"), userExternalId);
     }
 
+    /**
+     * Users a bulk job applies to: the selected users except the requesting admin and users pending deletion
+     */
+    public static Specification<User> selectedBy(UserBulkJob job) {
+        return Specification.allOf(
+                excludingUser(job.getRequestedBy()),
+                notPendingDeletion(),
+                idIn(job.getUserIds() != null ? Arrays.asList(job.getUserIds()) : null),
+                search(job.getSearchQuery())
+        );
+    }
+
+    public static Specification<User> idIn(Collection<UUID> ids) {
+        return (root, query, cb) -> {
+            if (ids == null) {
+                return cb.conjunction();
+            }
+            return root.get("id").in(ids);
+        };
+    }
+
+    /**
+     * Keyset condition selecting the users after the given id in id order, all users when the id is null
+     */
+    public static Specification<User> idAfter(UUID id) {
+        return (root, query, cb) -> id == null
+                ? cb.conjunction()
+                : cb.greaterThan(root.<UUID>get("id"), id);
+    }
+
+    public static Specification<User> notPendingDeletion() {
+        return (root, query, cb) ->
+                cb.isNull(root.get("deletionRequestedAt"));
+    }
+
+    /**
+     * Keyset condition selecting the users after the given position in (username, id) order
+     */
+    public static Specification<User> after(String username, UUID id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("username"), username),
+                cb.and(
+                        cb.equal(root.get("username"), username),
+                        cb.greaterThan(root.<UUID>get("id"), id)
+                )
+        );
+    }
+
     public static Specification<User> search(String searchQuery) {
         return (root, query, cb) -> {
             if (searchQuery == null || searchQuery.isBlank()) {
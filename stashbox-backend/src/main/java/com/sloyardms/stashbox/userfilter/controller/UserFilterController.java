@@ -3,12 +3,25 @@ package com.sloyardms.stashbox.userfilter.controller;
 import com.sloyardms.stashbox.security.utils.AuthUtils;
 import com.sloyardms.stashbox.userfilter.dto.CreateUserFilterRequest;
 import com.sloyardms.stashbox.userfilter.dto.UpdateUserFilterRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterBatchMatchRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterBatchMatchResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterDomainList;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsGranularity;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsResponse;
 import com.sloyardms.stashbox.userfilter.dto.UserFilterResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterSearchMode;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterSnapshotResponse;
 import com.sloyardms.stashbox.userfilter.service.UserFilterService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -21,9 +34,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -35,6 +50,15 @@ public class UserFilterController {
 
     private final UserFilterService userFilterService;
 
+    @GetMapping("/snapshot")
+    public ResponseEntity<UserFilterSnapshotResponse> getUserFilterSnapshot(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") @Min(1) @Max(1000) int limit) {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        UserFilterSnapshotResponse response = userFilterService.getUserFilterSnapshot(since, limit, userExternalId);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserFilterResponse> getUserFilterById(@PathVariable UUID id) {
         UUID userExternalId = AuthUtils.getCurrentUserExternalId();
@@ -47,11 +71,12 @@ public class UserFilterController {
             @RequestParam(required = false) Boolean active,
             @RequestParam(required = false) String domain,
             @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "CONTAINS") UserFilterSearchMode searchMode,
             Pageable pageable) {
 
         UUID userExternalId = AuthUtils.getCurrentUserExternalId();
-        Page<UserFilterResponse> response = userFilterService.getAllUserFilters(search, active, domain, userExternalId,
-                pageable);
+        Page<UserFilterResponse> response = userFilterService.getAllUserFilters(search, searchMode, active, domain,
+                userExternalId, pageable);
         return ResponseEntity.ok(response);
     }
 
@@ -89,11 +114,52 @@ public class UserFilterController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<UserFilterMatchStatsResponse> getUserFilterMatchStats(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "HOUR") UserFilterMatchStatsGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        UserFilterMatchStatsResponse response = userFilterService.getUserFilterMatchStats(id, granularity, from, to,
+                userExternalId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/match")
+    public ResponseEntity<UserFilterMatchResponse> matchUrl(@Valid @RequestBody UserFilterMatchRequest request) {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        UserFilterMatchResponse response = userFilterService.matchUrl(request.getUrl(), userExternalId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/match:batch")
+    public ResponseEntity<UserFilterBatchMatchResponse> matchUrls(
+            @Valid @RequestBody UserFilterBatchMatchRequest request) {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        UserFilterBatchMatchResponse response = userFilterService.matchUrls(request.getUrls(), userExternalId);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/domains")
-    public ResponseEntity<List<String>> getUserFilterDomains() {
+    public ResponseEntity<List<String>> getUserFilterDomains(@RequestParam(required = false) String host,
+                                                             WebRequest webRequest) {
         UUID userExternalId = AuthUtils.getCurrentUserExternalId();
-        List<String> userFilterDomains = userFilterService.getUserFilterDomains(userExternalId);
-        return ResponseEntity.ok(userFilterDomains);
+        if (host != null) {
+            return ResponseEntity.ok(userFilterService.getUserFilterDomainsForHost(host, userExternalId));
+        }
+
+        UserFilterDomainList userFilterDomains = userFilterService.getUserFilterDomains(userExternalId);
+        if (webRequest.checkNotModified(userFilterDomains.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(userFilterDomains.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(userFilterDomains.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(userFilterDomains.domains());
     }
 
 }
@@ -0,0 +1,53 @@
+package com.sloyardms.stashbox.userfilter.controller;
+
+import com.sloyardms.stashbox.security.utils.AuthUtils;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterImportResponse;
+import com.sloyardms.stashbox.userfilter.service.UserFilterTransferService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Bulk import and export of the current user's filters as a JSON array.
+ * Mapped under /api/v1 because custom methods use a colon suffix on the collection path
+ */
+@RequiredArgsConstructor
+@Validated
+@RestController
+@RequestMapping("/api/v1")
+public class UserFilterTransferController {
+
+    private final UserFilterTransferService userFilterTransferService;
+
+    @PostMapping(value = "/filters:import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserFilterImportResponse> importUserFilters(HttpServletRequest request) throws IOException {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        UserFilterImportResponse response = userFilterTransferService.importUserFilters(request.getInputStream(),
+                userExternalId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/filters:export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUserFilters() {
+        UUID userExternalId = AuthUtils.getCurrentUserExternalId();
+        StreamingResponseBody body = out -> userFilterTransferService.exportUserFilters(userExternalId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("filters.json").build().toString())
+                .body(body);
+    }
+
+}
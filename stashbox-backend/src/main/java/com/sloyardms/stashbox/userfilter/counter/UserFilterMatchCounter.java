@@ -0,0 +1,126 @@
+package com.sloyardms.stashbox.userfilter.counter;
+
+import com.sloyardms.stashbox.userfilter.repository.MatchCountDelta;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for UserFilter match counts.
+ * Matches are added to in-memory counters and periodically written in batched multi-row updates, so hot filters
+ * no longer serialize on their row lock for every match. The map only holds filters with matches not yet written
+ */
+@Slf4j
+@Component
+public class UserFilterMatchCounter {
+
+    private final Map<UUID, PendingMatches> pending = new ConcurrentHashMap<>();
+    private final UserFilterRepository userFilterRepository;
+    private final int flushBatchSize;
+
+    public UserFilterMatchCounter(UserFilterRepository userFilterRepository, MeterRegistry meterRegistry,
+                                  @Value("${user-filter.match-counter.flush-batch-size:1000}") int flushBatchSize) {
+        this.userFilterRepository = userFilterRepository;
+        this.flushBatchSize = flushBatchSize;
+        Gauge.builder("stashbox.user-filter.match-counter.backlog", this, UserFilterMatchCounter::getBacklog)
+                .description("Filter matches buffered in memory and not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers matches of a filter until the next flush
+     *
+     * @param filterId  the matched filter
+     * @param count     the number of matches
+     * @param matchedAt when the matches happened
+     */
+    public void record(UUID filterId, long count, Instant matchedAt) {
+        // Updated inside compute, so a flush draining the counter sees either all or none of these matches
+        pending.compute(filterId, (id, matches) -> {
+            PendingMatches target = matches != null ? matches : new PendingMatches();
+            target.count.add(count);
+            target.lastMatchedAt.accumulate(matchedAt.toEpochMilli());
+            return target;
+        });
+    }
+
+    public void record(UUID filterId, Instant matchedAt) {
+        record(filterId, 1, matchedAt);
+    }
+
+    /**
+     * @return the number of buffered matches not yet written to the database
+     */
+    public long getBacklog() {
+        return pending.values().stream().mapToLong(matches -> matches.count.sum()).sum();
+    }
+
+    /**
+     * Writes all buffered matches to the database.
+     * Each counter is taken out of the map before it is read, so matches recorded meanwhile start a new counter for
+     * the next flush. Counters of filters that no longer exist are dropped with their matches, counters of a failed
+     * batch are put back for the next flush
+     */
+    @Scheduled(fixedDelayString = "${user-filter.match-counter.flush-interval:5s}")
+    public synchronized void flush() {
+        List<MatchCountDelta> deltas = new ArrayList<>();
+        for (UUID filterId : pending.keySet()) {
+            PendingMatches drained = drain(filterId);
+            if (drained != null && drained.count.sum() > 0) {
+                deltas.add(new MatchCountDelta(filterId, drained.count.sum(),
+                        Instant.ofEpochMilli(drained.lastMatchedAt.get())));
+            }
+        }
+
+        for (int from = 0; from < deltas.size(); from += flushBatchSize) {
+            List<MatchCountDelta> batch = deltas.subList(from, Math.min(from + flushBatchSize, deltas.size()));
+            try {
+                userFilterRepository.incrementMatchCounts(batch);
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush {} UserFilter match counters, retrying on next flush", batch.size(), e);
+                batch.forEach(delta -> record(delta.filterId(), delta.matchCount(), delta.lastMatchedAt()));
+            }
+        }
+    }
+
+    /**
+     * Removes the counter of a filter atomically with {@link #record}, no match can be added to it afterwards
+     *
+     * @return the removed counter, or null if there was none
+     */
+    private PendingMatches drain(UUID filterId) {
+        PendingMatches[] drained = new PendingMatches[1];
+        pending.computeIfPresent(filterId, (id, matches) -> {
+            drained[0] = matches;
+            return null;
+        });
+        return drained[0];
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private static final class PendingMatches {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAccumulator lastMatchedAt = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    }
+
+}
@@ -4,6 +4,7 @@ import com.sloyardms.stashbox.common.annotations.ValidRegex;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.AccessLevel;
@@ -41,7 +42,7 @@ public class CreateUserFilterRequest {
     private String extractionRegex;
 
     @NotNull(message = "{userFilter.captureGroupIndex.notNull}")
-    @PositiveOrZero(message = "{userFilter.captureGroupIndex.positiveOrZero}")
+    @Positive(message = "{userFilter.captureGroupIndex.positive}")
     @Max(value = 20, message = "{userFilter.captureGroupIndex.max}")
     private Integer captureGroupIndex;
 
@@ -3,6 +3,7 @@ package com.sloyardms.stashbox.userfilter.dto;
 import com.sloyardms.stashbox.common.annotations.AtLeastOneNonNullField;
 import com.sloyardms.stashbox.common.annotations.ValidRegex;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.AccessLevel;
@@ -36,7 +37,7 @@ public class UpdateUserFilterRequest {
     @ValidRegex(message = "{userFilter.extractionRegex.invalid}")
     private String extractionRegex;
 
-    @PositiveOrZero(message = "{userFilter.captureGroupIndex.positiveOrZero}")
+    @Positive(message = "{userFilter.captureGroupIndex.positive}")
     @Max(value = 20, message = "{userFilter.captureGroupIndex.max}")
     private Integer captureGroupIndex;
 
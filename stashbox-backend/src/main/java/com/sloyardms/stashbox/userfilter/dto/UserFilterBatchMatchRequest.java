@@ -0,0 +1,29 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserFilterBatchMatchRequest {
+
+    public static final int MAX_URLS = 1000;
+
+    @NotEmpty(message = "{userFilter.batchMatch.urls.notEmpty}")
+    @Size(max = MAX_URLS, message = "{userFilter.batchMatch.urls.maxSize}")
+    private List<@NotBlank(message = "{userFilter.match.url.notBlank}")
+    @Size(max = 2048, message = "{userFilter.match.url.maxSize}") String> urls;
+
+}
@@ -0,0 +1,23 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserFilterBatchMatchResponse {
+
+    private int total;
+    private int matched;
+    private List<UserFilterMatchResponse> results;
+
+}
@@ -0,0 +1,21 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Distinct filter domains of a user together with the ETag of the list, cached per user
+ *
+ * @param domains the domains in alphabetical order
+ * @param etag    content hash of the domains, changes whenever the list changes
+ */
+public record UserFilterDomainList(List<String> domains, String etag) {
+
+    public static UserFilterDomainList of(List<String> domains) {
+        byte[] content = String.join("\n", domains).getBytes(StandardCharsets.UTF_8);
+        return new UserFilterDomainList(List.copyOf(domains), DigestUtils.md5DigestAsHex(content));
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserFilterImportError {
+
+    public enum Reason {
+        INVALID,
+        CONFLICT
+    }
+
+    /**
+     * Zero-based position of the row in the imported array
+     */
+    private int index;
+    private String filterName;
+    private Reason reason;
+    private List<String> messages;
+
+}
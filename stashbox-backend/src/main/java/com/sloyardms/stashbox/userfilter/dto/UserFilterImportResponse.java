@@ -0,0 +1,25 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserFilterImportResponse {
+
+    private int total;
+    private int created;
+    private int conflicts;
+    private int invalid;
+    private List<UserFilterImportError> errors;
+
+}
@@ -0,0 +1,23 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserFilterMatchRequest {
+
+    @NotBlank(message = "{userFilter.match.url.notBlank}")
+    @Size(max = 2048, message = "{userFilter.match.url.maxSize}")
+    private String url;
+
+}
@@ -0,0 +1,25 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserFilterMatchResponse {
+
+    private String url;
+    private boolean matched;
+    private UUID filterId;
+    private String filterName;
+    private String extractedValue;
+
+}
@@ -0,0 +1,22 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserFilterMatchStatsBucket {
+
+    private Instant bucketStart;
+    private long matchCount;
+
+}
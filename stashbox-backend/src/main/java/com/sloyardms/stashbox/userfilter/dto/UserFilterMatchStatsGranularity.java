@@ -0,0 +1,29 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+@Getter
+@RequiredArgsConstructor
+public enum UserFilterMatchStatsGranularity {
+
+    HOUR(ChronoUnit.HOURS, Duration.ofDays(1), Duration.ofDays(31)),
+    DAY(ChronoUnit.DAYS, Duration.ofDays(30), Duration.ofDays(366));
+
+    /**
+     * Unit the buckets are truncated to, in UTC
+     */
+    private final ChronoUnit unit;
+    /**
+     * Range returned when the request does not specify one
+     */
+    private final Duration defaultRange;
+    /**
+     * Largest range a single request may ask for
+     */
+    private final Duration maxRange;
+
+}
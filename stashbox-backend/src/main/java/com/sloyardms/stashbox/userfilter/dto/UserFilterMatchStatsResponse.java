@@ -0,0 +1,31 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserFilterMatchStatsResponse {
+
+    private UUID filterId;
+    private UserFilterMatchStatsGranularity granularity;
+    private Instant from;
+    private Instant to;
+    private long totalMatches;
+    /**
+     * Buckets with at least one match, oldest first. Buckets without matches are omitted
+     */
+    private List<UserFilterMatchStatsBucket> buckets;
+
+}
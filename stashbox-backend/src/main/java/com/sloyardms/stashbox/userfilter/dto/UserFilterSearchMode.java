@@ -0,0 +1,15 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+public enum UserFilterSearchMode {
+
+    /**
+     * Substring match on the filter name and URL pattern
+     */
+    CONTAINS,
+
+    /**
+     * Trigram similarity match, ranked by how close the filter name or URL pattern is to the search term
+     */
+    SIMILARITY
+
+}
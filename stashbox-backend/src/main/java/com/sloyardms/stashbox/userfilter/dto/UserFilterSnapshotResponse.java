@@ -0,0 +1,28 @@
+package com.sloyardms.stashbox.userfilter.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+public class UserFilterSnapshotResponse {
+
+    /**
+     * True when the response starts from scratch and the client must replace its local copy instead of merging
+     */
+    private boolean fullSnapshot;
+    private List<UserFilterResponse> filters;
+    private List<UserFilterTombstoneResponse> deleted;
+    private String nextCursor;
+    private boolean hasMore;
+
+}
@@ -0,0 +1,55 @@
+package com.sloyardms.stashbox.userfilter.entity;
+
+import com.sloyardms.stashbox.user.entity.User;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Marker left behind by a deleted UserFilter so clients syncing through the snapshot endpoint learn about the
+ * deletion. The id is the id of the deleted filter
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(onlyExplicitlyIncluded = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Builder
+@Entity
+@Table(name = "user_filter_tombstones",
+        indexes = {
+                @Index(name = "user_filter_tombstones_user_id_deleted_at_index",
+                        columnList = "user_id, deleted_at, id")
+        }
+)
+public class UserFilterTombstone {
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false)
+    @ToString.Include
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "deleted_at", nullable = false)
+    @ToString.Include
+    private Instant deletedAt;
+
+}
@@ -0,0 +1,73 @@
+package com.sloyardms.stashbox.userfilter.job;
+
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsGranularity;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterMatchStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Rolls the filter_match_events log into hourly and daily per-filter totals, and purges events and rollups past
+ * their retention. Match stats are served from the rollups only
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class UserFilterMatchRollupJob {
+
+    private final UserFilterMatchStatsRepository userFilterMatchStatsRepository;
+
+    @Value("${user-filter.match-stats.rollup-batch-size:10000}")
+    private int batchSize;
+
+    @Value("${user-filter.match-stats.settle-window:10s}")
+    private Duration settleWindow;
+
+    @Value("${user-filter.match-stats.event-retention:7d}")
+    private Duration eventRetention;
+
+    @Value("${user-filter.match-stats.hourly-retention:90d}")
+    private Duration hourlyRetention;
+
+    /**
+     * Adds all events recorded since the last run to the rollups and moves the watermark past them.
+     * Events newer than the settle window are left for the next run, since identity values can be committed out of
+     * order by concurrent flushes
+     */
+    @Scheduled(fixedDelayString = "${user-filter.match-stats.rollup-interval:1m}")
+    @Transactional(rollbackFor = Exception.class)
+    public void rollUp() {
+        Instant recordedBefore = Instant.now().minus(settleWindow);
+        long watermark = userFilterMatchStatsRepository.lockWatermark();
+        long start = watermark;
+
+        Long batchEnd;
+        while ((batchEnd = userFilterMatchStatsRepository.findRollupBatchEnd(watermark, recordedBefore,
+                batchSize)) != null) {
+            userFilterMatchStatsRepository.rollUp(watermark, batchEnd);
+            watermark = batchEnd;
+        }
+
+        if (watermark != start) {
+            userFilterMatchStatsRepository.updateWatermark(watermark);
+            log.debug("Rolled up UserFilter match events up to id {}", watermark);
+        }
+    }
+
+    @Scheduled(cron = "${user-filter.match-stats.cleanup-cron:0 45 3 * * *}")
+    @Transactional(rollbackFor = Exception.class)
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int events = userFilterMatchStatsRepository.deleteRolledUpEventsRecordedBefore(now.minus(eventRetention));
+        int rollups = userFilterMatchStatsRepository.deleteRollupsBefore(UserFilterMatchStatsGranularity.HOUR,
+                now.minus(hourlyRetention));
+        log.info("Purged {} expired UserFilter match events and {} hourly rollups", events, rollups);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.sloyardms.stashbox.userfilter.job;
+
+import com.sloyardms.stashbox.userfilter.repository.UserFilterTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Purges UserFilter tombstones older than the retention period.
+ * Snapshot cursors older than the retention period get a full snapshot instead of a delta
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class UserFilterTombstoneCleanupJob {
+
+    private final UserFilterTombstoneRepository userFilterTombstoneRepository;
+
+    @Value("${user-filter.snapshot.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    @Scheduled(cron = "${user-filter.snapshot.tombstone-cleanup-cron:0 30 3 * * *}")
+    @Transactional(rollbackFor = Exception.class)
+    public void purgeExpiredTombstones() {
+        int deleted = userFilterTombstoneRepository.deleteAllDeletedBefore(Instant.now().minus(tombstoneRetention));
+        log.info("Purged {} expired UserFilter tombstones", deleted);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.sloyardms.stashbox.userfilter.matcher;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable snapshot of an active UserFilter with its extraction regex already compiled
+ */
+public record CompiledUserFilter(UUID id, String filterName, String domain, Pattern pattern,
+                                 int captureGroupIndex, int priority) {
+}
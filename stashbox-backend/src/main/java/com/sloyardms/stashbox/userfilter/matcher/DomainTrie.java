@@ -0,0 +1,83 @@
+package com.sloyardms.stashbox.userfilter.matcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Trie over domain names keyed by reversed labels, so {@code news.example.co.uk} is stored under
+ * {@code uk → co → example → news}. Looking up a host walks one node per label and collects the values of every
+ * registered parent domain along the way.
+ * Not thread-safe while being built; safe to share once fully populated
+ *
+ * @param <T> the values registered per domain
+ */
+final class DomainTrie<T> {
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Registers a value for a normalized domain
+     */
+    void put(String domain, T value) {
+        Node<T> node = root;
+        String[] labels = domain.split("\\.");
+        for (int i = labels.length - 1; i >= 0; i--) {
+            node = node.children.computeIfAbsent(labels[i], label -> new Node<>());
+        }
+        if (node.domain == null) {
+            node.domain = domain;
+            node.values = new ArrayList<>();
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * Replaces the values of every domain, e.g. to sort or freeze them once the trie is populated
+     */
+    void replaceValues(UnaryOperator<List<T>> operator) {
+        replaceValues(root, operator);
+    }
+
+    /**
+     * Finds the registered domains equal to or parent of the host, in O(number of labels)
+     *
+     * @param host the normalized host to resolve
+     * @return the matching domains with their values, most specific domain first
+     */
+    List<Entry<T>> lookup(String host) {
+        List<Entry<T>> entries = new ArrayList<>();
+        Node<T> node = root;
+        int end = host.length();
+        while (end > 0 && node != null) {
+            int start = host.lastIndexOf('.', end - 1) + 1;
+            node = node.children.get(host.substring(start, end));
+            if (node != null && node.domain != null) {
+                entries.add(new Entry<>(node.domain, node.values));
+            }
+            end = start - 1;
+        }
+        return entries.reversed();
+    }
+
+    private static <T> void replaceValues(Node<T> node, UnaryOperator<List<T>> operator) {
+        if (node.values != null) {
+            node.values = operator.apply(node.values);
+        }
+        node.children.values().forEach(child -> replaceValues(child, operator));
+    }
+
+    record Entry<T>(String domain, List<T> values) {
+    }
+
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private String domain;
+        private List<T> values;
+
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.sloyardms.stashbox.userfilter.matcher;
+
+import java.util.UUID;
+
+/**
+ * Winning filter for a URL together with the value captured by its extraction regex
+ */
+public record UserFilterMatch(UUID filterId, String filterName, String extractedValue) {
+}
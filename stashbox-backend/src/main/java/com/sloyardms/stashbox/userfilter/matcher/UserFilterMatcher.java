@@ -0,0 +1,148 @@
+package com.sloyardms.stashbox.userfilter.matcher;
+
+import com.sloyardms.stashbox.common.regex.RegexPatternCache;
+import com.sloyardms.stashbox.common.regex.RegexTimeoutException;
+import com.sloyardms.stashbox.common.regex.TimeLimitedCharSequence;
+import com.sloyardms.stashbox.common.utils.UrlUtils;
+import com.sloyardms.stashbox.userfilter.entity.UserFilter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable, pre-compiled view of a user's active filters indexed by domain.
+ * Built once per user and cached until one of the user's filters changes. Domains are kept in a reversed-label
+ * trie, so a URL host is resolved to the filters of its domain and of every parent domain in O(labels), followed by
+ * the regex evaluations of those candidates
+ */
+@Slf4j
+public final class UserFilterMatcher {
+
+    private static final Comparator<CompiledUserFilter> PRIORITY_ORDER = Comparator
+            .comparingInt(CompiledUserFilter::priority).reversed()
+            .thenComparing(CompiledUserFilter::filterName)
+            .thenComparing(CompiledUserFilter::id);
+
+    private static final Comparator<CompiledUserFilter> PRIORITY_ONLY_ORDER = Comparator
+            .comparingInt(CompiledUserFilter::priority).reversed();
+
+    private final DomainTrie<CompiledUserFilter> filtersByDomain;
+    private final long matchBudgetMillis;
+
+    private UserFilterMatcher(DomainTrie<CompiledUserFilter> filtersByDomain, long matchBudgetMillis) {
+        this.filtersByDomain = filtersByDomain;
+        this.matchBudgetMillis = matchBudgetMillis;
+    }
+
+    /**
+     * Builds a matcher from the given filters, skipping inactive filters and filters whose regex is rejected by the
+     * pattern cache
+     *
+     * @param filters           the user's filters
+     * @param regexPatternCache the shared cache used to compile the extraction regexes
+     * @return a matcher indexing the active filters by normalized domain, highest priority first
+     */
+    public static UserFilterMatcher of(Collection<UserFilter> filters, RegexPatternCache regexPatternCache) {
+        DomainTrie<CompiledUserFilter> filtersByDomain = new DomainTrie<>();
+
+        for (UserFilter filter : filters) {
+            String domain = UrlUtils.normalizeHost(filter.getDomain());
+            if (!Boolean.TRUE.equals(filter.getActive()) || domain == null) {
+                continue;
+            }
+
+            Optional<Pattern> pattern = regexPatternCache.getPattern(filter.getExtractionRegex());
+            if (pattern.isEmpty()) {
+                log.warn("Skipping UserFilter {} with invalid extraction regex", filter.getId());
+                continue;
+            }
+
+            CompiledUserFilter compiled = new CompiledUserFilter(filter.getId(), filter.getFilterName(), domain,
+                    pattern.get(), filter.getCaptureGroupIndex(), filter.getPriority());
+            filtersByDomain.put(domain, compiled);
+        }
+
+        filtersByDomain.replaceValues(compiled -> compiled.stream().sorted(PRIORITY_ORDER).toList());
+        return new UserFilterMatcher(filtersByDomain, regexPatternCache.getProbeBudgetMillis());
+    }
+
+    /**
+     * Finds the highest priority filter registered for the URL host or one of its parent domains whose regex matches
+     * the URL. Between filters of equal priority the one registered for the more specific domain wins
+     *
+     * @param url the URL to match
+     * @return the winning filter and its extracted value, or empty if no filter matches
+     */
+    public Optional<UserFilterMatch> match(String url) {
+        return match(url, UrlUtils.extractHost(url));
+    }
+
+    /**
+     * Same as {@link #match(String)} for callers that already extracted the host of the URL
+     *
+     * @param url  the URL to match
+     * @param host the normalized host of the URL; may be null
+     * @return the winning filter and its extracted value, or empty if no filter matches
+     */
+    public Optional<UserFilterMatch> match(String url, String host) {
+        if (host == null) {
+            return Optional.empty();
+        }
+
+        for (CompiledUserFilter filter : findCandidates(host)) {
+            Matcher matcher = filter.pattern().matcher(TimeLimitedCharSequence.of(url, matchBudgetMillis));
+            if (!find(matcher, filter) || matcher.groupCount() < filter.captureGroupIndex()) {
+                continue;
+            }
+
+            String extractedValue = matcher.group(filter.captureGroupIndex());
+            if (extractedValue != null) {
+                return Optional.of(new UserFilterMatch(filter.id(), filter.filterName(), extractedValue));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Resolves a host to the domains of the active filters that apply to it
+     *
+     * @param host the normalized host
+     * @return the host itself and/or its parent domains that have filters, most specific first
+     */
+    public List<String> findDomains(String host) {
+        return filtersByDomain.lookup(host).stream().map(DomainTrie.Entry::domain).toList();
+    }
+
+    private List<CompiledUserFilter> findCandidates(String host) {
+        List<DomainTrie.Entry<CompiledUserFilter>> entries = filtersByDomain.lookup(host);
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        if (entries.size() == 1) {
+            return entries.getFirst().values();
+        }
+
+        // Entries are ordered most specific first and each list by priority, so a stable sort on priority alone
+        // keeps the more specific domain ahead on ties
+        List<CompiledUserFilter> candidates = new ArrayList<>();
+        entries.forEach(entry -> candidates.addAll(entry.values()));
+        candidates.sort(PRIORITY_ONLY_ORDER);
+        return candidates;
+    }
+
+    private static boolean find(Matcher matcher, CompiledUserFilter filter) {
+        try {
+            return matcher.find();
+        } catch (RegexTimeoutException e) {
+            log.warn("UserFilter {} exceeded its evaluation budget", filter.id());
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.sloyardms.stashbox.userfilter.matcher;
+
+import com.sloyardms.stashbox.common.regex.RegexPatternCache;
+import com.sloyardms.stashbox.config.cache.CacheNames;
+import com.sloyardms.stashbox.user.service.UserIdResolver;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Lazily builds and caches one {@link UserFilterMatcher} per user.
+ * The cache entry is evicted by the UserFilter service whenever one of the user's filters is created, updated or
+ * deleted
+ */
+@RequiredArgsConstructor
+@Component
+public class UserFilterMatcherProvider {
+
+    private final UserFilterRepository userFilterRepository;
+    private final UserIdResolver userIdResolver;
+    private final RegexPatternCache regexPatternCache;
+
+    @Cacheable(cacheNames = CacheNames.USER_FILTER_MATCHERS, key = "#userExternalId", sync = true)
+    @Transactional(readOnly = true)
+    public UserFilterMatcher getMatcher(UUID userExternalId) {
+        return UserFilterMatcher.of(userFilterRepository.findAllActiveByUserId(
+                        userIdResolver.resolveUserId(userExternalId)),
+                regexPatternCache);
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.sloyardms.stashbox.userfilter.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Number of matches to add to a UserFilter and the most recent time it matched
+ */
+public record MatchCountDelta(UUID filterId, long matchCount, Instant lastMatchedAt) {
+}
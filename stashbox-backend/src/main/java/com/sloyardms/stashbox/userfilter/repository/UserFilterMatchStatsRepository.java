@@ -0,0 +1,130 @@
+package com.sloyardms.stashbox.userfilter.repository;
+
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsBucket;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsGranularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Access to the filter_match_events log and the hourly/daily rollups computed from it
+ */
+@RequiredArgsConstructor
+@Repository
+public class UserFilterMatchStatsRepository {
+
+    private static final String LOCK_WATERMARK_SQL =
+            "SELECT last_event_id FROM filter_match_rollup_watermark WHERE id = 1 FOR UPDATE";
+
+    private static final String UPDATE_WATERMARK_SQL =
+            "UPDATE filter_match_rollup_watermark SET last_event_id = ? WHERE id = 1";
+
+    private static final String FIND_BATCH_END_SQL = """
+            SELECT MAX(id) FROM (
+                SELECT id FROM filter_match_events
+                WHERE id > ? AND recorded_at < ?
+                ORDER BY id
+                LIMIT ?
+            ) batch
+            """;
+
+    private static final String ROLL_UP_SQL = """
+            WITH batch AS (
+                SELECT filter_id, matched_at, match_count
+                FROM filter_match_events
+                WHERE id > ? AND id <= ?
+            )
+            INSERT INTO filter_match_rollups (filter_id, granularity, bucket_start, match_count)
+            SELECT filter_id, 'HOUR', date_trunc('hour', matched_at, 'UTC'), SUM(match_count)
+            FROM batch GROUP BY 1, 2, 3
+            UNION ALL
+            SELECT filter_id, 'DAY', date_trunc('day', matched_at, 'UTC'), SUM(match_count)
+            FROM batch GROUP BY 1, 2, 3
+            ON CONFLICT (filter_id, granularity, bucket_start)
+                DO UPDATE SET match_count = filter_match_rollups.match_count + EXCLUDED.match_count
+            """;
+
+    private static final String DELETE_ROLLED_UP_EVENTS_SQL = """
+            DELETE FROM filter_match_events
+            WHERE recorded_at < ?
+                AND id <= (SELECT last_event_id FROM filter_match_rollup_watermark WHERE id = 1)
+            """;
+
+    private static final String DELETE_ROLLUPS_SQL =
+            "DELETE FROM filter_match_rollups WHERE granularity = ? AND bucket_start < ?";
+
+    private static final String FIND_ROLLUPS_SQL = """
+            SELECT bucket_start, match_count
+            FROM filter_match_rollups
+            WHERE filter_id = ? AND granularity = ? AND bucket_start >= ? AND bucket_start < ?
+            ORDER BY bucket_start
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads the rollup watermark and locks it until the end of the transaction, so only one rollup runs at a time
+     *
+     * @return the id of the last event included in the rollups
+     */
+    public long lockWatermark() {
+        Long watermark = jdbcTemplate.queryForObject(LOCK_WATERMARK_SQL, Long.class);
+        return watermark != null ? watermark : 0;
+    }
+
+    public void updateWatermark(long lastEventId) {
+        jdbcTemplate.update(UPDATE_WATERMARK_SQL, lastEventId);
+    }
+
+    /**
+     * @param afterId        the current watermark
+     * @param recordedBefore only events recorded before this instant are eligible
+     * @param batchSize      the maximum number of events in the batch
+     * @return the id of the last event of the next batch, or null when there are no eligible events
+     */
+    public Long findRollupBatchEnd(long afterId, Instant recordedBefore, int batchSize) {
+        return jdbcTemplate.queryForObject(FIND_BATCH_END_SQL, Long.class, afterId, Timestamp.from(recordedBefore),
+                batchSize);
+    }
+
+    /**
+     * Adds the events with ids in (afterId, upToId] to the hourly and daily rollups
+     */
+    public void rollUp(long afterId, long upToId) {
+        jdbcTemplate.update(ROLL_UP_SQL, afterId, upToId);
+    }
+
+    /**
+     * Deletes events recorded before the cutoff that are already included in the rollups
+     *
+     * @return the number of deleted events
+     */
+    public int deleteRolledUpEventsRecordedBefore(Instant cutoff) {
+        return jdbcTemplate.update(DELETE_ROLLED_UP_EVENTS_SQL, Timestamp.from(cutoff));
+    }
+
+    /**
+     * @return the number of deleted rollups
+     */
+    public int deleteRollupsBefore(UserFilterMatchStatsGranularity granularity, Instant cutoff) {
+        return jdbcTemplate.update(DELETE_ROLLUPS_SQL, granularity.name(), Timestamp.from(cutoff));
+    }
+
+    /**
+     * @return the non-empty buckets of the filter in [from, to), oldest first
+     */
+    public List<UserFilterMatchStatsBucket> findRollups(UUID filterId, UserFilterMatchStatsGranularity granularity,
+                                                        Instant from, Instant to) {
+        return jdbcTemplate.query(FIND_ROLLUPS_SQL, (rs, rowNum) -> UserFilterMatchStatsBucket.builder()
+                        .bucketStart(rs.getTimestamp("bucket_start").toInstant())
+                        .matchCount(rs.getLong("match_count"))
+                        .build(),
+                filterId, granularity.name(), Timestamp.from(from), Timestamp.from(to));
+    }
+
+}
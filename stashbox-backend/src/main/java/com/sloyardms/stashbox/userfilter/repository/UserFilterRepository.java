@@ -2,33 +2,65 @@ package com.sloyardms.stashbox.userfilter.repository;
 
 import com.sloyardms.stashbox.common.repository.UserScopedRepository;
 import com.sloyardms.stashbox.userfilter.entity.UserFilter;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface UserFilterRepository extends UserScopedRepository<UserFilter, UUID>,
-        JpaSpecificationExecutor<UserFilter> {
+        JpaSpecificationExecutor<UserFilter>, UserFilterRepositoryCustom {
 
-    @Modifying
     @Query("""
-            UPDATE UserFilter uf
-            SET uf.matchCount = uf.matchCount + 1, uf.lastMatchedAt = :matchedAt
-            WHERE uf.id = :id AND uf.user.externalId = :userExternalId
+            SELECT COUNT(uf) > 0
+            FROM UserFilter uf
+            WHERE uf.id = :id AND uf.user.id = :userId
             """)
-    int incrementMatchCount(@Param("id") UUID id, @Param("userExternalId") UUID userExternalId,
-                            @Param("matchedAt") Instant matchedAt);
+    boolean existsByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
 
     @Query("""
             SELECT DISTINCT uf.domain
             FROM UserFilter uf
-            WHERE uf.user.externalId = :userExternalId
+            WHERE uf.user.id = :userId
             ORDER BY uf.domain
             """)
-    List<String> findDistinctDomainsByUserExternalId(@Param("userExternalId") UUID userExternalId);
+    List<String> findDistinctDomainsByUserId(@Param("userId") UUID userId);
+
+    @Query("""
+            SELECT uf
+            FROM UserFilter uf
+            WHERE uf.user.id = :userId AND uf.active = true
+            """)
+    List<UserFilter> findAllActiveByUserId(@Param("userId") UUID userId);
+
+    @Query("""
+            SELECT uf
+            FROM UserFilter uf
+            WHERE uf.user.id = :userId
+                AND (uf.updatedAt > :updatedAt OR (uf.updatedAt = :updatedAt AND uf.id > :id))
+                AND uf.updatedAt < :until
+            ORDER BY uf.updatedAt, uf.id
+            """)
+    List<UserFilter> findUpdatedAfter(@Param("userId") UUID userId,
+                                      @Param("updatedAt") Instant updatedAt,
+                                      @Param("id") UUID id,
+                                      @Param("until") Instant until,
+                                      Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT uf
+            FROM UserFilter uf
+            WHERE uf.user.id = :userId
+            ORDER BY uf.createdAt, uf.id
+            """)
+    Stream<UserFilter> streamAllByUserId(@Param("userId") UUID userId);
 
 }
@@ -0,0 +1,36 @@
+package com.sloyardms.stashbox.userfilter.repository;
+
+import com.sloyardms.stashbox.userfilter.entity.UserFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserFilterRepositoryCustom {
+
+    /**
+     * Applies several match count increments in a single UPDATE statement and appends them to the
+     * filter_match_events log. Deltas for filters that no longer exist are ignored
+     *
+     * @param deltas the increments to apply, at most one per filter
+     * @return the ids of the updated filters
+     */
+    List<UUID> incrementMatchCounts(Collection<MatchCountDelta> deltas);
+
+    /**
+     * Searches the filters of a user by trigram similarity of their name or URL pattern to the search term.
+     * Results are ranked by similarity, the sort of the pageable is ignored
+     *
+     * @param userId         the internal id of the owner of the filters
+     * @param searchQuery    the search term
+     * @param active         optional active flag to filter by
+     * @param domain         optional exact domain to filter by
+     * @param pageable       the page to return
+     * @return the matching filters, most similar first
+     */
+    Page<UserFilter> searchBySimilarity(UUID userId, String searchQuery, Boolean active, String domain,
+                                        Pageable pageable);
+
+}
@@ -0,0 +1,109 @@
+package com.sloyardms.stashbox.userfilter.repository;
+
+import com.sloyardms.stashbox.common.utils.StringUtils;
+import com.sloyardms.stashbox.userfilter.entity.UserFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class UserFilterRepositoryCustomImpl implements UserFilterRepositoryCustom {
+
+    private static final String INCREMENT_MATCH_COUNTS_SQL = """
+            WITH updated AS (
+                UPDATE user_filters uf
+                SET match_count = uf.match_count + delta.match_count,
+                    last_matched_at = GREATEST(uf.last_matched_at, delta.last_matched_at)
+                FROM unnest(CAST(? AS uuid[]), CAST(? AS bigint[]), CAST(? AS timestamptz[]))
+                    AS delta(id, match_count, last_matched_at)
+                WHERE uf.id = delta.id
+                RETURNING uf.id, delta.match_count, delta.last_matched_at
+            ), events AS (
+                INSERT INTO filter_match_events (filter_id, matched_at, match_count)
+                SELECT id, COALESCE(last_matched_at, now()), match_count FROM updated
+            )
+            SELECT id FROM updated
+            """;
+
+    private static final String SIMILARITY_SEARCH_CONDITIONS = """
+            FROM user_filters uf
+            WHERE uf.user_id = :userId
+                AND (uf.normalized_filter_name % :searchQuery OR :searchQuery <% uf.normalized_url_pattern)
+                AND (CAST(:active AS boolean) IS NULL OR uf.is_active = CAST(:active AS boolean))
+                AND (CAST(:domain AS text) IS NULL OR uf.domain = CAST(:domain AS text))
+            """;
+
+    private static final String SIMILARITY_SEARCH_SQL = "SELECT uf.* " + SIMILARITY_SEARCH_CONDITIONS + """
+            ORDER BY GREATEST(similarity(uf.normalized_filter_name, :searchQuery),
+                              word_similarity(:searchQuery, uf.normalized_url_pattern)) DESC, uf.id
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final String SIMILARITY_COUNT_SQL = "SELECT COUNT(*) " + SIMILARITY_SEARCH_CONDITIONS;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<UUID> incrementMatchCounts(Collection<MatchCountDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+
+        String[] ids = new String[deltas.size()];
+        String[] matchCounts = new String[deltas.size()];
+        String[] lastMatchedAts = new String[deltas.size()];
+        int i = 0;
+        for (MatchCountDelta delta : deltas) {
+            ids[i] = delta.filterId().toString();
+            matchCounts[i] = Long.toString(delta.matchCount());
+            lastMatchedAts[i] = delta.lastMatchedAt() != null ? delta.lastMatchedAt().toString() : null;
+            i++;
+        }
+
+        return jdbcTemplate.query(INCREMENT_MATCH_COUNTS_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("text", ids));
+            ps.setArray(2, connection.createArrayOf("text", matchCounts));
+            ps.setArray(3, connection.createArrayOf("text", lastMatchedAts));
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    @Override
+    public Page<UserFilter> searchBySimilarity(UUID userId, String searchQuery, Boolean active, String domain,
+                                               Pageable pageable) {
+        String normalizedQuery = StringUtils.normalize(searchQuery);
+
+        Query query = entityManager.createNativeQuery(SIMILARITY_SEARCH_SQL, UserFilter.class);
+        bindSimilarityParameters(query, userId, normalizedQuery, active, domain);
+        query.setParameter("limit", pageable.getPageSize());
+        query.setParameter("offset", pageable.getOffset());
+
+        @SuppressWarnings("unchecked")
+        List<UserFilter> content = query.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Query countQuery = entityManager.createNativeQuery(SIMILARITY_COUNT_SQL, Long.class);
+            bindSimilarityParameters(countQuery, userId, normalizedQuery, active, domain);
+            return (Long) countQuery.getSingleResult();
+        });
+    }
+
+    private static void bindSimilarityParameters(Query query, UUID userId, String searchQuery,
+                                                 Boolean active, String domain) {
+        query.setParameter("userId", userId);
+        query.setParameter("searchQuery", searchQuery);
+        query.setParameter("active", active);
+        query.setParameter("domain", domain == null || domain.isBlank() ? null : domain.trim());
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.sloyardms.stashbox.userfilter.repository;
+
+import com.sloyardms.stashbox.userfilter.entity.UserFilterTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserFilterTombstoneRepository extends JpaRepository<UserFilterTombstone, UUID> {
+
+    @Query("""
+            SELECT t
+            FROM UserFilterTombstone t
+            WHERE t.user.id = :userId
+                AND (t.deletedAt > :deletedAt OR (t.deletedAt = :deletedAt AND t.id > :id))
+                AND t.deletedAt < :until
+            ORDER BY t.deletedAt, t.id
+            """)
+    List<UserFilterTombstone> findDeletedAfter(@Param("userId") UUID userId,
+                                               @Param("deletedAt") Instant deletedAt,
+                                               @Param("id") UUID id,
+                                               @Param("until") Instant until,
+                                               Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM UserFilterTombstone t WHERE t.deletedAt < :threshold")
+    int deleteAllDeletedBefore(@Param("threshold") Instant threshold);
+
+}
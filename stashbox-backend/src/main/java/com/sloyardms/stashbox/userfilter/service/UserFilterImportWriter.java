@@ -0,0 +1,139 @@
+package com.sloyardms.stashbox.userfilter.service;
+
+import com.sloyardms.stashbox.common.utils.StringUtils;
+import com.sloyardms.stashbox.userfilter.dto.CreateUserFilterRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterImportError;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Writes the validated rows of a filter import in one transaction, one multi-row insert per batch whose RETURNING
+ * clause tells the created rows from the conflicting ones
+ */
+@RequiredArgsConstructor
+@Component
+public class UserFilterImportWriter {
+
+    // Rows conflicting with an existing filter, or an earlier row of the batch, are skipped and not returned
+    private static final String INSERT_SQL = """
+            INSERT INTO user_filters (id, user_id, filter_name, normalized_filter_name, description, url_pattern,
+                normalized_url_pattern, domain, extraction_regex, capture_group_index, priority, is_active,
+                match_count, created_at, updated_at)
+            SELECT t.id, ?, t.filter_name, t.normalized_filter_name, t.description, t.url_pattern,
+                t.normalized_url_pattern, t.domain, t.extraction_regex, t.capture_group_index, t.priority, TRUE, 0,
+                now(), now()
+            FROM unnest(?, ?, ?, ?, ?, ?, ?, ?, ?, ?) AS t(id, filter_name, normalized_filter_name, description,
+                url_pattern, normalized_url_pattern, domain, extraction_regex, capture_group_index, priority)
+            ON CONFLICT DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String EXISTING_NAMES_SQL = """
+            SELECT normalized_filter_name
+            FROM user_filters
+            WHERE user_id = ? AND normalized_filter_name = ANY(?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${user-filter.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * @param userId the internal id of the owner of the filters
+     * @param rows   the valid rows of the import
+     * @return a conflict error for every row that was not created
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<UserFilterImportError> write(UUID userId, List<PendingRow> rows) {
+        List<UserFilterImportError> conflicts = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<PendingRow> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            reportConflicts(userId, insert(userId, batch), conflicts);
+        }
+        return conflicts;
+    }
+
+    /**
+     * @return the rows of the batch that were not inserted
+     */
+    private List<PendingRow> insert(UUID userId, List<PendingRow> batch) {
+        List<UUID> ids = batch.stream().map(row -> UUID.randomUUID()).toList();
+        Set<UUID> insertedIds = new HashSet<>(jdbcTemplate.query(INSERT_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setObject(1, userId);
+            ps.setArray(2, connection.createArrayOf("uuid", ids.toArray()));
+            ps.setArray(3, textArray(connection, batch, row -> row.request().getFilterName()));
+            ps.setArray(4, textArray(connection, batch, PendingRow::normalizedFilterName));
+            ps.setArray(5, textArray(connection, batch, row -> row.request().getDescription()));
+            ps.setArray(6, textArray(connection, batch, row -> row.request().getUrlPattern()));
+            ps.setArray(7, textArray(connection, batch,
+                    row -> StringUtils.normalize(row.request().getUrlPattern())));
+            ps.setArray(8, textArray(connection, batch, row -> row.request().getDomain()));
+            ps.setArray(9, textArray(connection, batch, row -> row.request().getExtractionRegex()));
+            ps.setArray(10, connection.createArrayOf("int4",
+                    batch.stream().map(row -> row.request().getCaptureGroupIndex()).toArray()));
+            ps.setArray(11, connection.createArrayOf("int4",
+                    batch.stream().map(row -> row.request().getPriority()).toArray()));
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class)));
+
+        List<PendingRow> notInserted = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (!insertedIds.contains(ids.get(i))) {
+                notInserted.add(batch.get(i));
+            }
+        }
+        return notInserted;
+    }
+
+    private static Array textArray(Connection connection, List<PendingRow> batch,
+                                   Function<PendingRow, String> extractor) throws SQLException {
+        return connection.createArrayOf("text", batch.stream().map(extractor).toArray());
+    }
+
+    private void reportConflicts(UUID userId, List<PendingRow> rows, List<UserFilterImportError> conflicts) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        String[] names = rows.stream().map(PendingRow::normalizedFilterName).toArray(String[]::new);
+        Set<String> existingNames = new HashSet<>(jdbcTemplate.query(EXISTING_NAMES_SQL, ps -> {
+            ps.setObject(1, userId);
+            ps.setArray(2, ps.getConnection().createArrayOf("text", names));
+        }, (rs, rowNum) -> rs.getString(1)));
+
+        for (PendingRow row : rows) {
+            String field = existingNames.contains(row.normalizedFilterName()) ? "filterName" : "urlPattern";
+            conflicts.add(UserFilterImportError.builder()
+                    .index(row.index())
+                    .filterName(row.request().getFilterName())
+                    .reason(UserFilterImportError.Reason.CONFLICT)
+                    .messages(List.of(field + ": a filter with the same " + field + " already exists"))
+                    .build());
+        }
+    }
+
+    /**
+     * A row of the import that passed validation
+     *
+     * @param index                the position of the row in the import
+     * @param request              the row as sent
+     * @param normalizedFilterName the normalized name the row conflicts on
+     */
+    public record PendingRow(int index, CreateUserFilterRequest request, String normalizedFilterName) {
+    }
+
+}
@@ -2,10 +2,18 @@ package com.sloyardms.stashbox.userfilter.service;
 
 import com.sloyardms.stashbox.userfilter.dto.CreateUserFilterRequest;
 import com.sloyardms.stashbox.userfilter.dto.UpdateUserFilterRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterBatchMatchResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterDomainList;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsGranularity;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsResponse;
 import com.sloyardms.stashbox.userfilter.dto.UserFilterResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterSearchMode;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterSnapshotResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,8 +21,8 @@ public interface UserFilterService {
 
     UserFilterResponse getUserFilterById(UUID id, UUID userExternalId);
 
-    Page<UserFilterResponse> getAllUserFilters(String searchQuery, Boolean active, String domain, UUID userExternalId,
-                                               Pageable pageable);
+    Page<UserFilterResponse> getAllUserFilters(String searchQuery, UserFilterSearchMode searchMode, Boolean active,
+                                               String domain, UUID userExternalId, Pageable pageable);
 
     UserFilterResponse saveUserFilter(CreateUserFilterRequest request, UUID userExternalId);
 
@@ -24,6 +32,17 @@ public interface UserFilterService {
 
     void recordFilterMatch(UUID id, UUID userExternalId);
 
-    List<String> getUserFilterDomains(UUID userExternalId);
+    UserFilterDomainList getUserFilterDomains(UUID userExternalId);
+
+    List<String> getUserFilterDomainsForHost(String host, UUID userExternalId);
+
+    UserFilterMatchResponse matchUrl(String url, UUID userExternalId);
+
+    UserFilterBatchMatchResponse matchUrls(List<String> urls, UUID userExternalId);
+
+    UserFilterSnapshotResponse getUserFilterSnapshot(String since, int limit, UUID userExternalId);
+
+    UserFilterMatchStatsResponse getUserFilterMatchStats(UUID id, UserFilterMatchStatsGranularity granularity,
+                                                         Instant from, Instant to, UUID userExternalId);
 
 }
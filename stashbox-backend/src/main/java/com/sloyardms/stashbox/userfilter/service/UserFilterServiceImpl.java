@@ -1,29 +1,64 @@
 package com.sloyardms.stashbox.userfilter.service;
 
+import com.sloyardms.stashbox.common.error.exception.BusinessException;
+import com.sloyardms.stashbox.common.error.exception.InvalidCursorException;
 import com.sloyardms.stashbox.common.error.exception.ResourceAlreadyExistsException;
 import com.sloyardms.stashbox.common.error.exception.ResourceNotFoundException;
+import com.sloyardms.stashbox.common.pagination.CursorCodec;
 import com.sloyardms.stashbox.common.utils.PageableValidator;
+import com.sloyardms.stashbox.common.utils.UrlUtils;
+import com.sloyardms.stashbox.config.cache.CacheNames;
 import com.sloyardms.stashbox.user.entity.User;
 import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.user.service.UserIdResolver;
+import com.sloyardms.stashbox.userfilter.counter.UserFilterMatchCounter;
 import com.sloyardms.stashbox.userfilter.dto.CreateUserFilterRequest;
 import com.sloyardms.stashbox.userfilter.dto.UpdateUserFilterRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterBatchMatchResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterDomainList;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsBucket;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsGranularity;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsResponse;
 import com.sloyardms.stashbox.userfilter.dto.UserFilterResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterSearchMode;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterSnapshotResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterTombstoneResponse;
 import com.sloyardms.stashbox.userfilter.entity.UserFilter;
+import com.sloyardms.stashbox.userfilter.entity.UserFilterTombstone;
 import com.sloyardms.stashbox.userfilter.mapper.UserFilterMapper;
+import com.sloyardms.stashbox.userfilter.matcher.UserFilterMatch;
+import com.sloyardms.stashbox.userfilter.matcher.UserFilterMatcher;
+import com.sloyardms.stashbox.userfilter.matcher.UserFilterMatcherProvider;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterMatchStatsRepository;
 import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterTombstoneRepository;
 import com.sloyardms.stashbox.userfilter.specification.UserFilterSpecification;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
@@ -31,14 +66,27 @@ public class UserFilterServiceImpl implements UserFilterService {
 
     private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("filterName", "priority", "active", "matchCount",
             "createdAt", "updatedAt", "lastMatchedAt");
+    private static final int PARALLEL_MATCH_THRESHOLD = 256;
     private final UserFilterRepository userFilterRepository;
     private final UserFilterMapper userFilterMapper;
     private final UserRepository userRepository;
+    private final UserIdResolver userIdResolver;
+    private final UserFilterMatcherProvider userFilterMatcherProvider;
+    private final UserFilterMatchCounter userFilterMatchCounter;
+    private final UserFilterTombstoneRepository userFilterTombstoneRepository;
+    private final UserFilterMatchStatsRepository userFilterMatchStatsRepository;
+
+    @Value("${user-filter.snapshot.settle-window:2s}")
+    private Duration snapshotSettleWindow;
+
+    @Value("${user-filter.snapshot.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
 
     @Transactional(readOnly = true)
     @Override
     public UserFilterResponse getUserFilterById(UUID id, UUID userExternalId) {
-        UserFilter userFilter = userFilterRepository.findByIdAndUserExternalId(id, userExternalId)
+        UUID userId = userIdResolver.resolveUserId(userExternalId);
+        UserFilter userFilter = userFilterRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("UserFilter", "id", id));
         System.out.println(userFilter);
         return userFilterMapper.toResponse(userFilter);
@@ -46,13 +94,19 @@ public class UserFilterServiceImpl implements UserFilterService {
 
     @Transactional(readOnly = true)
     @Override
-    public Page<UserFilterResponse> getAllUserFilters(String searchQuery, Boolean active, String domain,
-                                                      UUID userExternalId,
+    public Page<UserFilterResponse> getAllUserFilters(String searchQuery, UserFilterSearchMode searchMode,
+                                                      Boolean active, String domain, UUID userExternalId,
                                                       Pageable pageable) {
 
         PageableValidator.validateSortFields(pageable, ALLOWED_SORT_FIELDS);
+        UUID userId = userIdResolver.resolveUserId(userExternalId);
+        if (searchMode == UserFilterSearchMode.SIMILARITY && searchQuery != null && !searchQuery.isBlank()) {
+            return userFilterRepository.searchBySimilarity(userId, searchQuery, active, domain, pageable)
+                    .map(userFilterMapper::toResponse);
+        }
+
         Specification<UserFilter> spec = Specification.allOf(
-                UserFilterSpecification.belongsToUser(userExternalId),
+                UserFilterSpecification.belongsToUser(userId),
                 UserFilterSpecification.active(active),
                 UserFilterSpecification.byDomain(domain),
                 UserFilterSpecification.search(searchQuery)
@@ -62,11 +116,12 @@ public class UserFilterServiceImpl implements UserFilterService {
         return filters.map(userFilterMapper::toResponse);
     }
 
+    @CacheEvict(cacheNames = {CacheNames.USER_FILTER_MATCHERS, CacheNames.USER_FILTER_DOMAINS},
+            key = "#userExternalId")
     @Transactional(rollbackFor = Exception.class)
     @Override
     public UserFilterResponse saveUserFilter(CreateUserFilterRequest request, UUID userExternalId) {
-        User user = userRepository.findByExternalId(userExternalId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "External Id", "[REDACTED]"));
+        User user = userRepository.getReferenceById(userIdResolver.resolveUserId(userExternalId));
 
         UserFilter filter = userFilterMapper.toEntity(request);
         filter.setUser(user);
@@ -76,36 +131,232 @@ public class UserFilterServiceImpl implements UserFilterService {
         return userFilterMapper.toResponse(filter);
     }
 
+    @CacheEvict(cacheNames = {CacheNames.USER_FILTER_MATCHERS, CacheNames.USER_FILTER_DOMAINS},
+            key = "#userExternalId")
     @Transactional(rollbackFor = Exception.class)
     @Override
     public UserFilterResponse updateUserFilter(UUID id, UpdateUserFilterRequest request, UUID userExternalId) {
-        UserFilter filter = userFilterRepository.findByIdAndUserExternalId(id, userExternalId)
+        UUID userId = userIdResolver.resolveUserId(userExternalId);
+        UserFilter filter = userFilterRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("UserFilter", "Id", id));
         filter = userFilterMapper.updateFromRequest(request, filter);
         filter = saveChanges(filter);
         return userFilterMapper.toResponse(filter);
     }
 
+    @CacheEvict(cacheNames = {CacheNames.USER_FILTER_MATCHERS, CacheNames.USER_FILTER_DOMAINS},
+            key = "#userExternalId")
     @Transactional(rollbackFor = Exception.class)
     @Override
     public void deleteUserFilter(UUID id, UUID userExternalId) {
-        UserFilter filter = userFilterRepository.findByIdAndUserExternalId(id, userExternalId)
+        UUID userId = userIdResolver.resolveUserId(userExternalId);
+        UserFilter filter = userFilterRepository.findByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("UserFilter", "Id", id));
         userFilterRepository.delete(filter);
+        userFilterTombstoneRepository.save(UserFilterTombstone.builder()
+                .id(filter.getId())
+                .user(filter.getUser())
+                .deletedAt(Instant.now())
+                .build());
     }
 
-    @Transactional(rollbackFor = Exception.class)
+    @Transactional(readOnly = true)
     @Override
     public void recordFilterMatch(UUID id, UUID userExternalId) {
-        int updated = userFilterRepository.incrementMatchCount(id, userExternalId, Instant.now());
-        if (updated == 0) {
+        if (!userFilterRepository.existsByIdAndUserId(id, userIdResolver.resolveUserId(userExternalId))) {
             throw new ResourceNotFoundException("UserFilter", "Id", id);
         }
+        userFilterMatchCounter.record(id, Instant.now());
+    }
+
+    @Cacheable(cacheNames = CacheNames.USER_FILTER_DOMAINS, key = "#userExternalId", sync = true)
+    @Transactional(readOnly = true)
+    @Override
+    public UserFilterDomainList getUserFilterDomains(UUID userExternalId) {
+        return UserFilterDomainList.of(userFilterRepository.findDistinctDomainsByUserId(
+                userIdResolver.resolveUserId(userExternalId)));
+    }
+
+    @Override
+    public List<String> getUserFilterDomainsForHost(String host, UUID userExternalId) {
+        String normalizedHost = UrlUtils.normalizeHost(host);
+        if (normalizedHost == null) {
+            return List.of();
+        }
+        return userFilterMatcherProvider.getMatcher(userExternalId).findDomains(normalizedHost);
+    }
+
+    @Override
+    public UserFilterMatchResponse matchUrl(String url, UUID userExternalId) {
+        return userFilterMatcherProvider.getMatcher(userExternalId).match(url)
+                .map(match -> {
+                    userFilterMatchCounter.record(match.filterId(), Instant.now());
+                    return toMatchResponse(url, match);
+                })
+                .orElseGet(() -> toMatchResponse(url, null));
     }
 
     @Override
-    public List<String> getUserFilterDomains(UUID userExternalId) {
-        return userFilterRepository.findDistinctDomainsByUserExternalId(userExternalId);
+    public UserFilterBatchMatchResponse matchUrls(List<String> urls, UUID userExternalId) {
+        UserFilterMatcher matcher = userFilterMatcherProvider.getMatcher(userExternalId);
+
+        // URLs sharing a host hit the same filter list, so each host group is evaluated as one unit of work
+        Map<String, List<Integer>> indexesByHost = new HashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String host = UrlUtils.extractHost(urls.get(i));
+            if (host != null) {
+                indexesByHost.computeIfAbsent(host, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        UserFilterMatch[] matches = new UserFilterMatch[urls.size()];
+        Stream<Map.Entry<String, List<Integer>>> groups = indexesByHost.entrySet().stream();
+        if (urls.size() >= PARALLEL_MATCH_THRESHOLD) {
+            groups = groups.parallel();
+        }
+        groups.forEach(group -> {
+            for (int index : group.getValue()) {
+                matches[index] = matcher.match(urls.get(index), group.getKey()).orElse(null);
+            }
+        });
+
+        Instant matchedAt = Instant.now();
+        Map<UUID, Long> matchCounts = new HashMap<>();
+        List<UserFilterMatchResponse> results = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            if (matches[i] != null) {
+                matchCounts.merge(matches[i].filterId(), 1L, Long::sum);
+            }
+            results.add(toMatchResponse(urls.get(i), matches[i]));
+        }
+
+        matchCounts.forEach((filterId, count) -> userFilterMatchCounter.record(filterId, count, matchedAt));
+
+        return UserFilterBatchMatchResponse.builder()
+                .total(urls.size())
+                .matched((int) results.stream().filter(UserFilterMatchResponse::isMatched).count())
+                .results(results)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public UserFilterSnapshotResponse getUserFilterSnapshot(String since, int limit, UUID userExternalId) {
+        Instant now = Instant.now();
+        // Rows newer than the settle window may still be joined by transactions that commit later with an older
+        // updatedAt, so the cursor never moves past them
+        Instant until = now.minus(snapshotSettleWindow);
+
+        UUID userId = userIdResolver.resolveUserId(userExternalId);
+        SnapshotCursor cursor = since == null ? null : SnapshotCursor.decode(since);
+        boolean fullSnapshot = cursor == null || cursor.timestamp().isBefore(now.minus(tombstoneRetention));
+        SnapshotCursor start = fullSnapshot ? SnapshotCursor.START : cursor;
+
+        List<UserFilter> filters = userFilterRepository.findUpdatedAfter(userId, start.timestamp(),
+                start.id(), until, Limit.of(limit + 1));
+        List<UserFilterTombstone> tombstones = fullSnapshot
+                ? List.of()
+                : userFilterTombstoneRepository.findDeletedAfter(userId, start.timestamp(), start.id(),
+                until, Limit.of(limit + 1));
+
+        // Merge both keyset-ordered lists and keep the first page. UUIDs are compared as strings to follow the
+        // unsigned byte order used by PostgreSQL
+        List<SnapshotCursor> changes = new ArrayList<>(filters.size() + tombstones.size());
+        filters.forEach(filter -> changes.add(new SnapshotCursor(filter.getUpdatedAt(), filter.getId())));
+        tombstones.forEach(tombstone -> changes.add(new SnapshotCursor(tombstone.getDeletedAt(), tombstone.getId())));
+        changes.sort(SnapshotCursor.ORDER);
+
+        boolean hasMore = changes.size() > limit;
+        List<SnapshotCursor> page = hasMore ? changes.subList(0, limit) : changes;
+        Set<UUID> pageIds = new HashSet<>();
+        page.forEach(change -> pageIds.add(change.id()));
+
+        String nextCursor = page.isEmpty() ? (fullSnapshot ? null : since) : page.getLast().encode();
+        return UserFilterSnapshotResponse.builder()
+                .fullSnapshot(fullSnapshot)
+                .filters(filters.stream()
+                        .filter(filter -> pageIds.contains(filter.getId()))
+                        .map(userFilterMapper::toResponse)
+                        .toList())
+                .deleted(tombstones.stream()
+                        .filter(tombstone -> pageIds.contains(tombstone.getId()))
+                        .map(tombstone -> UserFilterTombstoneResponse.builder()
+                                .id(tombstone.getId())
+                                .deletedAt(tombstone.getDeletedAt())
+                                .build())
+                        .toList())
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public UserFilterMatchStatsResponse getUserFilterMatchStats(UUID id, UserFilterMatchStatsGranularity granularity,
+                                                                Instant from, Instant to, UUID userExternalId) {
+        if (!userFilterRepository.existsByIdAndUserId(id, userIdResolver.resolveUserId(userExternalId))) {
+            throw new ResourceNotFoundException("UserFilter", "Id", id);
+        }
+
+        Instant rangeEnd = to != null ? to : Instant.now();
+        Instant rangeStart = (from != null ? from : rangeEnd.minus(granularity.getDefaultRange()))
+                .truncatedTo(granularity.getUnit());
+        if (!rangeStart.isBefore(rangeEnd)) {
+            throw new BusinessException("INVALID_STATS_RANGE", "'from' must be before 'to'",
+                    HttpStatus.BAD_REQUEST.value());
+        }
+        if (Duration.between(rangeStart, rangeEnd).compareTo(granularity.getMaxRange()) > 0) {
+            throw new BusinessException("INVALID_STATS_RANGE", "The range of " + granularity + " stats cannot exceed "
+                    + granularity.getMaxRange().toDays() + " days", HttpStatus.BAD_REQUEST.value());
+        }
+
+        List<UserFilterMatchStatsBucket> buckets = userFilterMatchStatsRepository.findRollups(id, granularity,
+                rangeStart, rangeEnd);
+        return UserFilterMatchStatsResponse.builder()
+                .filterId(id)
+                .granularity(granularity)
+                .from(rangeStart)
+                .to(rangeEnd)
+                .totalMatches(buckets.stream().mapToLong(UserFilterMatchStatsBucket::getMatchCount).sum())
+                .buckets(buckets)
+                .build();
+    }
+
+    private UserFilterMatchResponse toMatchResponse(String url, UserFilterMatch match) {
+        if (match == null) {
+            return UserFilterMatchResponse.builder()
+                    .url(url)
+                    .matched(false)
+                    .build();
+        }
+        return UserFilterMatchResponse.builder()
+                .url(url)
+                .matched(true)
+                .filterId(match.filterId())
+                .filterName(match.filterName())
+                .extractedValue(match.extractedValue())
+                .build();
+    }
+
+    private record SnapshotCursor(Instant timestamp, UUID id) {
+
+        private static final SnapshotCursor START = new SnapshotCursor(Instant.EPOCH, new UUID(0, 0));
+        private static final Comparator<SnapshotCursor> ORDER = Comparator.comparing(SnapshotCursor::timestamp)
+                .thenComparing(cursor -> cursor.id().toString());
+
+        private static SnapshotCursor decode(String cursor) {
+            String[] keys = CursorCodec.decode(cursor, 2);
+            try {
+                return new SnapshotCursor(Instant.parse(keys[0]), UUID.fromString(keys[1]));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new InvalidCursorException(cursor);
+            }
+        }
+
+        private String encode() {
+            return CursorCodec.encode(timestamp.toString(), id.toString());
+        }
+
     }
 
     private UserFilter saveChanges(UserFilter userFilter) {
@@ -0,0 +1,16 @@
+package com.sloyardms.stashbox.userfilter.service;
+
+import com.sloyardms.stashbox.userfilter.dto.UserFilterImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface UserFilterTransferService {
+
+    UserFilterImportResponse importUserFilters(InputStream json, UUID userExternalId);
+
+    void exportUserFilters(UUID userExternalId, OutputStream out) throws IOException;
+
+}
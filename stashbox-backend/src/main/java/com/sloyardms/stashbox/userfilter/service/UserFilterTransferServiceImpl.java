@@ -0,0 +1,152 @@
+package com.sloyardms.stashbox.userfilter.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sloyardms.stashbox.common.error.exception.BusinessException;
+import com.sloyardms.stashbox.common.utils.StringUtils;
+import com.sloyardms.stashbox.config.cache.CacheNames;
+import com.sloyardms.stashbox.user.service.UserIdResolver;
+import com.sloyardms.stashbox.userfilter.dto.CreateUserFilterRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterImportError;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterImportResponse;
+import com.sloyardms.stashbox.userfilter.entity.UserFilter;
+import com.sloyardms.stashbox.userfilter.mapper.UserFilterMapper;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import com.sloyardms.stashbox.userfilter.service.UserFilterImportWriter.PendingRow;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+@Service
+public class UserFilterTransferServiceImpl implements UserFilterTransferService {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final UserIdResolver userIdResolver;
+    private final UserFilterRepository userFilterRepository;
+    private final UserFilterMapper userFilterMapper;
+    private final UserFilterImportWriter userFilterImportWriter;
+
+    @Value("${user-filter.import.max-rows:10000}")
+    private int maxRows;
+
+    @CacheEvict(cacheNames = {CacheNames.USER_FILTER_MATCHERS, CacheNames.USER_FILTER_DOMAINS},
+            key = "#userExternalId")
+    @Override
+    public UserFilterImportResponse importUserFilters(InputStream json, UUID userExternalId) {
+        // Read before the first query, the request holds no connection while the client is still uploading
+        ImportState state = readRows(json);
+        UUID userId = userIdResolver.resolveUserId(userExternalId);
+        List<UserFilterImportError> conflicts = userFilterImportWriter.write(userId, state.rows);
+
+        List<UserFilterImportError> errors = new ArrayList<>(state.invalid);
+        errors.addAll(conflicts);
+        errors.sort(Comparator.comparingInt(UserFilterImportError::getIndex));
+        return UserFilterImportResponse.builder()
+                .total(state.total)
+                .created(state.rows.size() - conflicts.size())
+                .conflicts(conflicts.size())
+                .invalid(state.invalid.size())
+                .errors(errors)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportUserFilters(UUID userExternalId, OutputStream out) throws IOException {
+        try (Stream<UserFilter> filters = userFilterRepository.streamAllByUserId(
+                userIdResolver.resolveUserId(userExternalId));
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (UserFilter filter : (Iterable<UserFilter>) filters::iterator) {
+                objectMapper.writeValue(generator, userFilterMapper.toResponse(filter));
+                // Keep the persistence context from growing with the whole result set
+                entityManager.detach(filter);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private ImportState readRows(InputStream json) {
+        ImportState state = new ImportState();
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw invalidImportFile("Import body must be a JSON array of filters");
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (state.total == maxRows) {
+                    throw invalidImportFile("Import must not exceed " + maxRows + " filters");
+                }
+                CreateUserFilterRequest request = objectMapper.readValue(parser, CreateUserFilterRequest.class);
+                state.accept(request);
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw invalidImportFile("Import body must be a JSON array of filters");
+            }
+        } catch (JsonProcessingException e) {
+            throw invalidImportFile("Import body is not valid JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return state;
+    }
+
+    private static BusinessException invalidImportFile(String message) {
+        return new BusinessException("INVALID_IMPORT_FILE", message, HttpStatus.BAD_REQUEST.value());
+    }
+
+    /**
+     * The rows of one import split into the valid ones, left for the writer, and those rejected by validation
+     */
+    private final class ImportState {
+
+        private final List<PendingRow> rows = new ArrayList<>();
+        private final List<UserFilterImportError> invalid = new ArrayList<>();
+        private int total;
+
+        private void accept(CreateUserFilterRequest request) {
+            int index = total++;
+            Set<ConstraintViolation<CreateUserFilterRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                invalid.add(UserFilterImportError.builder()
+                        .index(index)
+                        .filterName(request.getFilterName())
+                        .reason(UserFilterImportError.Reason.INVALID)
+                        .messages(violations.stream()
+                                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                                .sorted()
+                                .toList())
+                        .build());
+                return;
+            }
+
+            rows.add(new PendingRow(index, request, StringUtils.normalize(request.getFilterName())));
+        }
+
+    }
+
+}
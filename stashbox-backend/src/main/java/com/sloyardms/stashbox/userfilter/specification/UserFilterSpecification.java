@@ -8,9 +8,9 @@ import java.util.UUID;
 
 public class UserFilterSpecification extends SpecificationUtils {
 
-    public static Specification<UserFilter> belongsToUser(UUID userExternalId) {
+    public static Specification<UserFilter> belongsToUser(UUID userId) {
         return (root, query, cb) ->
-                cb.equal(root.get("user").get("externalId"), userExternalId);
+                cb.equal(root.get("user").get("id"), userId);
     }
 
     public static Specification<UserFilter> active(Boolean active) {
@@ -0,0 +1,37 @@
+-- Bookmark imports. The import request stages the raw rows, the import worker then validates, de-duplicates and
+-- inserts them in chunks, walking the rows in row_index order from last_row_index
+CREATE TABLE stash_item_import_jobs (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL,
+    last_row_index INTEGER NOT NULL DEFAULT -1,
+    total_rows INTEGER NOT NULL DEFAULT 0,
+    processed_rows INTEGER NOT NULL DEFAULT 0,
+    created_rows INTEGER NOT NULL DEFAULT 0,
+    duplicate_rows INTEGER NOT NULL DEFAULT 0,
+    invalid_rows INTEGER NOT NULL DEFAULT 0,
+    failures INTEGER NOT NULL DEFAULT 0,
+    lease_expires_at TIMESTAMP WITH TIME ZONE,
+    error_message TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+CREATE INDEX stash_item_import_jobs_user_id_index ON stash_item_import_jobs(user_id);
+CREATE INDEX stash_item_import_jobs_active_created_at_index ON stash_item_import_jobs(created_at)
+    WHERE status IN ('PENDING', 'RUNNING');
+
+-- Staged rows of an import, with the per-row result once processed
+CREATE TABLE stash_item_import_rows (
+    job_id UUID NOT NULL REFERENCES stash_item_import_jobs(id) ON DELETE CASCADE,
+    row_index INTEGER NOT NULL,
+    title TEXT,
+    url TEXT,
+    description TEXT,
+    tags TEXT[],
+    status VARCHAR(20) NOT NULL,
+    message TEXT,
+    item_id UUID,
+
+    PRIMARY KEY (job_id, row_index)
+);
@@ -0,0 +1,4 @@
+-- Serves the favorites listing across all groups (ORDER BY created_at DESC, id DESC). The favorites index of V1 leads
+-- with group_id, so it can only return favorites in creation order within a single group
+CREATE INDEX stash_items_user_favorites_created_active_index ON stash_items(user_id, created_at DESC, id DESC)
+    WHERE is_favorite = TRUE AND deleted_at IS NULL;
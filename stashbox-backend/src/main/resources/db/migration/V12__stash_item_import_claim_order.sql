@@ -0,0 +1,8 @@
+-- Claims go to the job claimed least recently, so a released large import goes behind the jobs that are waiting
+-- instead of being claimed again right away because it is the oldest
+ALTER TABLE stash_item_import_jobs ADD COLUMN last_claimed_at TIMESTAMP WITH TIME ZONE;
+
+DROP INDEX stash_item_import_jobs_active_created_at_index;
+CREATE INDEX stash_item_import_jobs_active_claim_order_index
+    ON stash_item_import_jobs(last_claimed_at NULLS FIRST, created_at)
+    WHERE status IN ('PENDING', 'RUNNING');
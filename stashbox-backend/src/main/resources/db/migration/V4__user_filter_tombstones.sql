@@ -0,0 +1,11 @@
+-- Tombstones of deleted user filters, used by the snapshot endpoint to sync deletions
+CREATE TABLE user_filter_tombstones (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX user_filter_tombstones_user_id_deleted_at_index ON user_filter_tombstones(user_id, deleted_at, id);
+CREATE INDEX user_filter_tombstones_deleted_at_index ON user_filter_tombstones(deleted_at);
+
+-- Keyset index for the snapshot endpoint
+CREATE INDEX user_filters_user_id_updated_at_index ON user_filters(user_id, updated_at, id);
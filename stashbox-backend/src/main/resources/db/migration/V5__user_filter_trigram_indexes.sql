@@ -0,0 +1,8 @@
+-- Trigram indexes serving substring (LIKE '%term%') and similarity searches on user filters
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX user_filters_normalized_filter_name_trgm_idx ON user_filters
+    USING GIN(normalized_filter_name gin_trgm_ops);
+
+CREATE INDEX user_filters_normalized_url_pattern_trgm_idx ON user_filters
+    USING GIN(normalized_url_pattern gin_trgm_ops);
@@ -0,0 +1,27 @@
+-- Append-only log of filter matches, written in batches by the match counter flush
+CREATE TABLE filter_match_events (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    filter_id UUID NOT NULL REFERENCES user_filters(id) ON DELETE CASCADE,
+    matched_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    match_count BIGINT NOT NULL,
+    recorded_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+CREATE INDEX filter_match_events_filter_id_index ON filter_match_events(filter_id);
+CREATE INDEX filter_match_events_recorded_at_index ON filter_match_events(recorded_at);
+
+-- Hourly and daily per-filter match totals computed from filter_match_events
+CREATE TABLE filter_match_rollups (
+    filter_id UUID NOT NULL REFERENCES user_filters(id) ON DELETE CASCADE,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP WITH TIME ZONE NOT NULL,
+    match_count BIGINT NOT NULL,
+    PRIMARY KEY (filter_id, granularity, bucket_start)
+);
+CREATE INDEX filter_match_rollups_granularity_bucket_start_index ON filter_match_rollups(granularity, bucket_start);
+
+-- Id of the last event included in the rollups
+CREATE TABLE filter_match_rollup_watermark (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    last_event_id BIGINT NOT NULL
+);
+INSERT INTO filter_match_rollup_watermark (id, last_event_id) VALUES (1, 0);
@@ -0,0 +1,7 @@
+-- Trigram indexes serving the admin user search (lower(username) / lower(email) LIKE '%term%').
+-- Keyset pagination on (username, id) is served by the unique index behind users_username_unique
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX users_lower_username_trgm_idx ON users USING GIN(lower(username) gin_trgm_ops);
+
+CREATE INDEX users_lower_email_trgm_idx ON users USING GIN(lower(email) gin_trgm_ops);
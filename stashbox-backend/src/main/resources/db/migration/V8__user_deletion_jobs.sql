@@ -0,0 +1,29 @@
+-- Users whose deletion was requested are hidden from the API until the deletion worker purges them
+ALTER TABLE users ADD COLUMN deletion_requested_at TIMESTAMP WITH TIME ZONE;
+
+-- Progress of the chunked background purge of a user. There is no foreign key to users since the job outlives the user
+CREATE TABLE user_deletion_jobs (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    user_external_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    current_step VARCHAR(50),
+    deleted_rows BIGINT NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    lease_expires_at TIMESTAMP WITH TIME ZONE,
+    error_message TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+CREATE UNIQUE INDEX user_deletion_jobs_user_id_active_unique ON user_deletion_jobs(user_id)
+    WHERE status IN ('PENDING', 'RUNNING');
+CREATE INDEX user_deletion_jobs_active_created_at_index ON user_deletion_jobs(created_at)
+    WHERE status IN ('PENDING', 'RUNNING');
+CREATE INDEX user_deletion_jobs_user_external_id_index ON user_deletion_jobs(user_external_id, created_at DESC);
+
+-- Chunked purges select by user_id, and the ON DELETE SET NULL check of item_groups looks up stash_items by group_id
+CREATE INDEX stash_items_user_id_index ON stash_items(user_id);
+CREATE INDEX stash_items_group_id_index ON stash_items(group_id);
+CREATE INDEX item_notes_user_id_index ON item_notes(user_id);
+CREATE INDEX note_files_user_id_index ON note_files(user_id);
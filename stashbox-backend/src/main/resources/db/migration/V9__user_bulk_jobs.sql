@@ -0,0 +1,21 @@
+-- Admin operations over many users, applied in throttled chunks by the bulk job worker.
+-- Users are selected by id list and/or search query and walked in id order from last_user_id
+CREATE TABLE user_bulk_jobs (
+    id UUID PRIMARY KEY,
+    operation VARCHAR(30) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    requested_by UUID NOT NULL,
+    user_ids UUID[],
+    search_query TEXT,
+    last_user_id UUID,
+    total_users BIGINT NOT NULL,
+    processed_users BIGINT NOT NULL DEFAULT 0,
+    failures INTEGER NOT NULL DEFAULT 0,
+    lease_expires_at TIMESTAMP WITH TIME ZONE,
+    error_message TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+CREATE INDEX user_bulk_jobs_active_created_at_index ON user_bulk_jobs(created_at)
+    WHERE status IN ('PENDING', 'RUNNING');
@@ -0,0 +1,56 @@
+package com.sloyardms.stashbox.common.regex;
+
+import com.sloyardms.stashbox.config.cache.CacheNames;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies which compilation results are kept, only deterministic ones may outlive the call that produced them
+ */
+class RegexPatternCacheTest {
+
+    private static final String CATASTROPHIC_REGEX = "^/tag/((a+)+)+$";
+
+    private Cache cache;
+    private RegexPatternCache regexPatternCache;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheNames.REGEX_PATTERNS);
+        cache = cacheManager.getCache(CacheNames.REGEX_PATTERNS);
+        regexPatternCache = new RegexPatternCache(cacheManager, 50, 32);
+    }
+
+    @Test
+    @DisplayName("Should cache valid patterns")
+    void shouldCacheValidPatterns() {
+        CompiledRegex compiled = regexPatternCache.compile("/tag/([^/?#]+)");
+
+        assertThat(compiled.isValid()).isTrue();
+        assertThat(regexPatternCache.compile("/tag/([^/?#]+)")).isSameAs(compiled);
+    }
+
+    @Test
+    @DisplayName("Should cache syntax errors")
+    void shouldCacheSyntaxErrors() {
+        CompiledRegex compiled = regexPatternCache.compile("/tag/([^/?#]+");
+
+        assertThat(compiled.status()).isEqualTo(CompiledRegex.Status.INVALID_SYNTAX);
+        assertThat(cache.get("/tag/([^/?#]+", CompiledRegex.class)).isSameAs(compiled);
+    }
+
+    @Test
+    @DisplayName("Should not cache patterns rejected for running out of time")
+    void shouldNotCacheTimeouts() {
+        CompiledRegex compiled = regexPatternCache.compile(CATASTROPHIC_REGEX);
+
+        assertThat(compiled.status()).isEqualTo(CompiledRegex.Status.TOO_EXPENSIVE);
+        assertThat(cache.get(CATASTROPHIC_REGEX)).isNull();
+    }
+
+}
@@ -6,14 +6,36 @@ public final class ApiEndpoints {
 
     // User
     public static final String USER_PROFILE = "/api/v1/users/me";
+    public static final String USER_DELETION = "/api/v1/users/me/deletion";
+    public static final String USER_EXPORT = "/api/v1/users/me/export";
     public static final String USER_SETTINGS = "/api/v1/users/me/settings";
     public static final String ADMIN_USERS_LIST = "/api/v1/admin/users";
     public static final String ADMIN_USERS_BY_ID = "/api/v1/admin/users/{id}";
+    public static final String ADMIN_USERS_SCROLL = "/api/v1/admin/users/scroll";
+    public static final String ADMIN_USER_DELETIONS_BY_ID = "/api/v1/admin/users/deletions/{jobId}";
+    public static final String ADMIN_USERS_BULK_DELETE = "/api/v1/admin/users:bulk-delete";
+    public static final String ADMIN_USERS_BULK_RESET_SETTINGS = "/api/v1/admin/users:bulk-reset-settings";
+    public static final String ADMIN_USER_BULK_JOBS_BY_ID = "/api/v1/admin/users/bulk-jobs/{id}";
+
+    // StashItem
+    public static final String STASH_ITEMS = "/api/v1/items";
+    public static final String STASH_ITEMS_DETAILS = "/api/v1/items/details";
+    public static final String STASH_ITEM_BY_ID = "/api/v1/items/{id}";
+    public static final String STASH_ITEMS_SEARCH = "/api/v1/items/search";
+    public static final String STASH_ITEMS_IMPORT = "/api/v1/items:import";
+    public static final String STASH_ITEM_IMPORTS_BY_ID = "/api/v1/items/imports/{id}";
+    public static final String STASH_ITEM_IMPORT_ROWS = "/api/v1/items/imports/{id}/rows";
 
     // UserFilter
     public static final String USER_FILTER_BY_ID = "/api/v1/filters/{id}";
     public static final String USER_FILTERS = "/api/v1/filters";
     public static final String USER_FILTER_RECORD_MATCH = "/api/v1/filters/{id}/match";
+    public static final String USER_FILTER_MATCH_STATS = "/api/v1/filters/{id}/stats";
     public static final String USER_FILTERS_DOMAIN_LIST = "/api/v1/filters/domains";
+    public static final String USER_FILTERS_MATCH = "/api/v1/filters/match";
+    public static final String USER_FILTERS_SNAPSHOT = "/api/v1/filters/snapshot";
+    public static final String USER_FILTERS_IMPORT = "/api/v1/filters:import";
+    public static final String USER_FILTERS_EXPORT = "/api/v1/filters:export";
+    public static final String USER_FILTERS_MATCH_BATCH = "/api/v1/filters/match:batch";
 
 }
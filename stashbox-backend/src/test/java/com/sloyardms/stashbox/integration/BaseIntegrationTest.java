@@ -10,18 +10,26 @@ import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.Objects;
+
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 
+// Tests issue requests faster than any client would, RateLimitIT enables the limiter with its own limits
+@TestPropertySource(properties = "security.rate-limit.enabled=false")
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
 public class BaseIntegrationTest {
@@ -34,6 +42,9 @@ public class BaseIntegrationTest {
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     public static final String NORMAL_USERNAME = "normal_user";
     public static final String NORMAL_PASSWORD = "password";
     public static final String ADMIN_USERNAME = "admin_user";
@@ -50,6 +61,14 @@ public class BaseIntegrationTest {
 
         registry.add("spring.security.oauth2.resourceserver.jwt.issuer-uri",
                 () -> keycloak.getAuthServerUrl() + "/realms/stashbox");
+
+        // Changes must be visible to snapshot syncs right away
+        registry.add("user-filter.snapshot.settle-window", () -> "0s");
+        registry.add("user-filter.match-stats.settle-window", () -> "0s");
+        // Deletion, bulk job and import tests run the workers themselves
+        registry.add("user.deletion.poll-interval", () -> "1h");
+        registry.add("user.bulk-jobs.poll-interval", () -> "1h");
+        registry.add("stash-item.import.poll-interval", () -> "1h");
     }
 
     @BeforeEach
@@ -58,6 +77,7 @@ public class BaseIntegrationTest {
         largePageSize = defaultPageSize + 5;
         RestAssured.baseURI = "http://localhost";
         RestAssured.port = port;
+        clearCaches();
     }
 
     @AfterEach
@@ -121,6 +141,16 @@ public class BaseIntegrationTest {
                 .as(UserResponse.class);
     }
 
+    /**
+     * Clears every application cache, fixtures write straight to the repositories and bypass cache evictions
+     */
+    public void clearCaches() {
+        cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .forEach(Cache::clear);
+    }
+
     /**
      * Asserts pagination metadata matches expected values
      */
@@ -0,0 +1,96 @@
+package com.sloyardms.stashbox.integration.security;
+
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.user.dto.UpdateUserSettingsRequest;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@ActiveProfiles("dev")
+@TestPropertySource(properties = {
+        "security.rate-limit.enabled=true",
+        "security.rate-limit.user.read=3/1h",
+        "security.rate-limit.user.write=1/1h",
+        "security.rate-limit.admin.read=10/1h"
+})
+public class RateLimitIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Nested
+    @DisplayName("Rate Limiting")
+    class RateLimiting {
+
+        // Buckets outlive each test, so every test uses a category or role the others leave untouched
+
+        @Test
+        @DisplayName("Should return 429 with Retry-After once the read bucket is empty")
+        void shouldReturn429WhenReadBucketIsEmpty() {
+            for (int i = 0; i < 3; i++) {
+                normalUserRequest()
+                        .when()
+                        .get(ApiEndpoints.USER_PROFILE)
+                        .then()
+                        .statusCode(HttpStatus.NOT_FOUND.value());
+            }
+
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .log().body()
+                    .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                    .header("Retry-After", notNullValue())
+                    .body("type", equalTo("urn:problem-type:rate-limited"));
+        }
+
+        @Test
+        @DisplayName("Should apply the admin limits to admins")
+        void shouldApplyAdminLimitsToAdmins() {
+            for (int i = 0; i < 5; i++) {
+                adminUserRequest()
+                        .when()
+                        .get(ApiEndpoints.USER_PROFILE)
+                        .then()
+                        .statusCode(HttpStatus.NOT_FOUND.value());
+            }
+        }
+
+        @Test
+        @DisplayName("Should limit writes separately from reads")
+        void shouldLimitWritesSeparately() {
+            UpdateUserSettingsRequest request = UpdateUserSettingsRequest.builder().darkMode(true).build();
+            normalUserRequest()
+                    .body(request)
+                    .when()
+                    .patch(ApiEndpoints.USER_SETTINGS)
+                    .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+
+            normalUserRequest()
+                    .body(request)
+                    .when()
+                    .patch(ApiEndpoints.USER_SETTINGS)
+                    .then()
+                    .statusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+
+    }
+
+}
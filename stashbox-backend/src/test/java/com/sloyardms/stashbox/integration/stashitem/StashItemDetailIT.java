@@ -0,0 +1,177 @@
+package com.sloyardms.stashbox.integration.stashitem;
+
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.itemgroup.entity.ItemGroup;
+import com.sloyardms.stashbox.itemtag.entity.ItemTag;
+import com.sloyardms.stashbox.stashitem.dto.StashItemResponse;
+import com.sloyardms.stashbox.stashitem.entity.StashItem;
+import com.sloyardms.stashbox.stashitem.repository.StashItemRepository;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import io.restassured.common.mapper.TypeRef;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@ActiveProfiles("dev")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class StashItemDetailIT extends BaseIntegrationTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StashItemRepository stashItemRepository;
+
+    @Autowired
+    private StashItemFixture fixture;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserResponse currentUser;
+
+    @BeforeEach
+    void setUp() {
+        stashItemRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        currentUser = createNormalUser();
+    }
+
+    private void createItemsWithAssociations(int count) {
+        List<ItemGroup> groups = List.of(
+                fixture.createGroup(currentUser.getId(), "Reading"),
+                fixture.createGroup(currentUser.getId(), "Watching"));
+        List<ItemTag> tags = List.of(
+                fixture.createTag(currentUser.getId(), "java"),
+                fixture.createTag(currentUser.getId(), "sql"),
+                fixture.createTag(currentUser.getId(), "performance"));
+        for (int i = 0; i < count; i++) {
+            StashItem item = fixture.createItem(currentUser.getId(), "Item " + i, "Description " + i,
+                    groups.get(i % groups.size()), i % 2 == 0);
+            fixture.attachImage(currentUser.getId(), item);
+            fixture.tagItem(item, tags.get(i % tags.size()));
+            fixture.tagItem(item, tags.get((i + 1) % tags.size()));
+        }
+    }
+
+    private CursorPageResponse<StashItemResponse> getDetailsPage() {
+        return normalUserRequest()
+                .queryParam("limit", PAGE_SIZE)
+                .when()
+                .get(ApiEndpoints.STASH_ITEMS_DETAILS)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(new TypeRef<>() {
+                });
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should load a page of 50 items with their group, image and tags in a fixed number of queries")
+        void shouldLoadPageWithFixedQueryCount() {
+            createItemsWithAssociations(PAGE_SIZE);
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            // Warm the user id cache so only the item queries are counted
+            getDetailsPage();
+            statistics.clear();
+
+            CursorPageResponse<StashItemResponse> page = getDetailsPage();
+
+            assertThat(page.getContent()).hasSize(PAGE_SIZE);
+            assertThat(page.getContent()).allSatisfy(item -> {
+                assertThat(item.getGroup()).isNotNull();
+                assertThat(item.getImage()).isNotNull();
+                assertThat(item.getTags()).hasSize(2);
+            });
+            // One query for the items with their group and image, one for the tags. The ids page is plain JDBC
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should return the detail of a single item")
+        void shouldReturnSingleItemDetail() {
+            createItemsWithAssociations(1);
+            StashItem item = stashItemRepository.findAll().getFirst();
+
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEM_BY_ID, item.getId())
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("id", equalTo(item.getId().toString()))
+                    .body("group.name", equalTo("Reading"))
+                    .body("tags", hasSize(2));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Not Found Errors")
+    class NotFoundErrors {
+
+        @Test
+        @DisplayName("Should return 404 when the item belongs to another user")
+        void shouldReturn404WhenItemBelongsToAnotherUser() {
+            StashItem foreign = fixture.createItem(createAdminUser().getId(), "Foreign item", "Hidden");
+
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEM_BY_ID, foreign.getId())
+                    .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the item does not exist")
+        void shouldReturn404WhenItemDoesNotExist() {
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEM_BY_ID, UUID.randomUUID())
+                    .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when token is not provided")
+        void shouldReturn401WhenTokenNotProvided() {
+            given()
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEMS_DETAILS)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.sloyardms.stashbox.integration.stashitem;
+
+import com.sloyardms.stashbox.common.utils.StringUtils;
+import com.sloyardms.stashbox.itemgroup.entity.ItemGroup;
+import com.sloyardms.stashbox.itemgroup.repository.ItemGroupRepository;
+import com.sloyardms.stashbox.itemimage.entity.ItemImage;
+import com.sloyardms.stashbox.itemimage.repository.ItemImageRepository;
+import com.sloyardms.stashbox.itemtag.entity.ItemTag;
+import com.sloyardms.stashbox.itemtag.repository.ItemTagRepository;
+import com.sloyardms.stashbox.stashitem.entity.StashItem;
+import com.sloyardms.stashbox.stashitem.repository.StashItemRepository;
+import com.sloyardms.stashbox.user.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+public class StashItemFixture {
+
+    @Autowired
+    private StashItemRepository stashItemRepository;
+
+    @Autowired
+    private ItemGroupRepository itemGroupRepository;
+
+    @Autowired
+    private ItemTagRepository itemTagRepository;
+
+    @Autowired
+    private ItemImageRepository itemImageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public ItemGroup createGroup(UUID userId, String name) {
+        ItemGroup group = ItemGroup.builder()
+                .id(UUID.randomUUID())
+                .user(User.builder().id(userId).build())
+                .name(name)
+                .normalizedName(StringUtils.normalize(name))
+                .slug(name.toLowerCase().replaceAll("[^a-z0-9]+", "-"))
+                .build();
+        return itemGroupRepository.save(group);
+    }
+
+    public StashItem createItem(UUID userId, String title, String description) {
+        return createItem(userId, title, description, null, false);
+    }
+
+    public StashItem createItem(UUID userId, String title, String description, ItemGroup group, boolean favorite) {
+        String slug = title.toLowerCase().replaceAll("[^a-z0-9]+", "-");
+        StashItem item = StashItem.builder()
+                .id(UUID.randomUUID())
+                .user(User.builder().id(userId).build())
+                .title(title)
+                .normalizedTitle(StringUtils.normalize(title))
+                .slug(slug)
+                .url("https://example.com/" + slug)
+                .description(description)
+                .group(group)
+                .favorite(favorite)
+                .build();
+        return stashItemRepository.save(item);
+    }
+
+    public ItemTag createTag(UUID userId, String name) {
+        ItemTag tag = ItemTag.builder()
+                .id(UUID.randomUUID())
+                .user(User.builder().id(userId).build())
+                .name(name)
+                .normalizedName(StringUtils.normalize(name))
+                .slug(name.toLowerCase().replaceAll("[^a-z0-9]+", "-"))
+                .build();
+        return itemTagRepository.save(tag);
+    }
+
+    public void tagItem(StashItem item, ItemTag tag) {
+        jdbcTemplate.update("INSERT INTO item_tags (item_id, tag_id) VALUES (?, ?)", item.getId(), tag.getId());
+    }
+
+    public ItemImage attachImage(UUID userId, StashItem item) {
+        String storedFilename = item.getId() + ".png";
+        ItemImage image = itemImageRepository.save(ItemImage.builder()
+                .id(UUID.randomUUID())
+                .user(User.builder().id(userId).build())
+                .originalFilename(item.getSlug() + ".png")
+                .storedFilename(storedFilename)
+                .filePath("images/" + storedFilename)
+                .mimeType("image/png")
+                .fileSize(1024L)
+                .fileExtension("png")
+                .build());
+        jdbcTemplate.update("UPDATE stash_items SET image_id = ? WHERE id = ?", image.getId(), item.getId());
+        return image;
+    }
+
+}
@@ -0,0 +1,306 @@
+package com.sloyardms.stashbox.integration.stashitem;
+
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.stashitem.dto.CreateStashItemRequest;
+import com.sloyardms.stashbox.stashitem.dto.StashItemImportJobResponse;
+import com.sloyardms.stashbox.stashitem.dto.StashItemImportRowResponse;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportJobStatus;
+import com.sloyardms.stashbox.stashitem.entity.StashItemImportRowStatus;
+import com.sloyardms.stashbox.stashitem.job.StashItemImportWorker;
+import com.sloyardms.stashbox.stashitem.repository.StashItemRepository;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@ActiveProfiles("dev")
+@TestPropertySource(properties = "stash-item.import.chunk-size=2")
+public class StashItemImportIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StashItemRepository stashItemRepository;
+
+    @Autowired
+    private StashItemImportWorker stashItemImportWorker;
+
+    @Autowired
+    private StashItemFixture fixture;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserResponse currentUser;
+
+    @BeforeEach
+    void setUp() {
+        stashItemRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        currentUser = createNormalUser();
+    }
+
+    private StashItemImportJobResponse importItems(Object body) {
+        return normalUserRequest()
+                .body(body)
+                .when()
+                .post(ApiEndpoints.STASH_ITEMS_IMPORT)
+                .then()
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .header("Location", containsString("/api/v1/items/imports/"))
+                .extract()
+                .as(StashItemImportJobResponse.class);
+    }
+
+    private StashItemImportJobResponse getImport(UUID id) {
+        return normalUserRequest()
+                .when()
+                .get(ApiEndpoints.STASH_ITEM_IMPORTS_BY_ID, id)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(StashItemImportJobResponse.class);
+    }
+
+    private CursorPageResponse<StashItemImportRowResponse> getImportRows(UUID id, StashItemImportRowStatus status) {
+        return normalUserRequest()
+                .queryParam("status", status)
+                .when()
+                .get(ApiEndpoints.STASH_ITEM_IMPORT_ROWS, id)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(new TypeRef<>() {
+                });
+    }
+
+    private static CreateStashItemRequest row(String title, String url, String... tags) {
+        return CreateStashItemRequest.builder()
+                .title(title)
+                .url(url)
+                .tags(List.of(tags))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should stage the rows and import them in the background with per-row results")
+        void shouldImportRowsInBackground() {
+            fixture.createItem(currentUser.getId(), "Existing bookmark", "Already stashed");
+            List<CreateStashItemRequest> rows = List.of(
+                    row("Java streams", "https://example.com/java-streams", "Java", "java "),
+                    row("SQL joins", "https://example.com/sql-joins", "sql"),
+                    row("Java streams again", "https://example.com/java-streams"),
+                    row("No content", null),
+                    row("Existing Bookmark", "https://example.com/other"));
+
+            StashItemImportJobResponse created = importItems(rows);
+
+            assertThat(created.getStatus()).isEqualTo(StashItemImportJobStatus.PENDING);
+            assertThat(created.getTotalRows()).isEqualTo(5);
+            assertThat(stashItemRepository.count()).isEqualTo(1);
+
+            stashItemImportWorker.processNextJob();
+
+            StashItemImportJobResponse job = getImport(created.getId());
+            assertThat(job.getStatus()).isEqualTo(StashItemImportJobStatus.COMPLETED);
+            assertThat(job.getProcessedRows()).isEqualTo(5);
+            assertThat(job.getCreatedRows()).isEqualTo(2);
+            assertThat(job.getDuplicateRows()).isEqualTo(2);
+            assertThat(job.getInvalidRows()).isEqualTo(1);
+            assertThat(stashItemRepository.count()).isEqualTo(3);
+
+            assertThat(getImportRows(created.getId(), StashItemImportRowStatus.DUPLICATE).getContent())
+                    .extracting(StashItemImportRowResponse::getIndex)
+                    .containsExactly(2, 4);
+            assertThat(getImportRows(created.getId(), StashItemImportRowStatus.INVALID).getContent())
+                    .extracting(StashItemImportRowResponse::getIndex)
+                    .containsExactly(3);
+            assertThat(getImportRows(created.getId(), StashItemImportRowStatus.CREATED).getContent())
+                    .allSatisfy(result -> assertThat(result.getItemId()).isNotNull());
+            // Tags are created once per normalized name and linked to their items
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tags", Integer.class)).isEqualTo(2);
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM item_tags", Integer.class)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should create the item and name the tags whose slug is taken by another tag")
+        void shouldReportTagsWithClashingSlug() {
+            fixture.createTag(currentUser.getId(), "Spring Boot");
+            List<CreateStashItemRequest> rows = List.of(
+                    row("Spring tips", "https://example.com/spring-tips", "spring-boot", "Kotlin"),
+                    row("Web basics", "https://example.com/web-basics", "Web Dev", "web-dev"));
+
+            StashItemImportJobResponse created = importItems(rows);
+            stashItemImportWorker.processNextJob();
+
+            List<StashItemImportRowResponse> results =
+                    getImportRows(created.getId(), StashItemImportRowStatus.CREATED).getContent();
+            assertThat(results).hasSize(2);
+            assertThat(results.get(0).getMessage()).contains("spring-boot").doesNotContain("Kotlin");
+            assertThat(results.get(1).getMessage()).containsAnyOf("Web Dev", "web-dev");
+            // Spring Boot, Kotlin and one of the two web tags, each linked once
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tags", Integer.class)).isEqualTo(3);
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM item_tags", Integer.class)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should page through the results of a large import")
+        void shouldPageThroughResults() {
+            List<CreateStashItemRequest> rows = new ArrayList<>();
+            for (int i = 0; i < 15; i++) {
+                rows.add(row("Bookmark " + i, "https://example.com/" + i));
+            }
+            StashItemImportJobResponse created = importItems(rows);
+
+            stashItemImportWorker.processNextJob();
+
+            CursorPageResponse<StashItemImportRowResponse> firstPage = normalUserRequest()
+                    .queryParam("limit", 10)
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEM_IMPORT_ROWS, created.getId())
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .as(new TypeRef<>() {
+                    });
+            CursorPageResponse<StashItemImportRowResponse> secondPage = normalUserRequest()
+                    .queryParam("limit", 10)
+                    .queryParam("cursor", firstPage.getNextCursor())
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEM_IMPORT_ROWS, created.getId())
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .as(new TypeRef<>() {
+                    });
+
+            assertThat(firstPage.getContent()).hasSize(10);
+            assertThat(firstPage.isHasMore()).isTrue();
+            assertThat(secondPage.getContent()).hasSize(5);
+            assertThat(secondPage.isHasMore()).isFalse();
+            assertThat(getImport(created.getId()).getCreatedRows()).isEqualTo(15);
+        }
+
+        @Test
+        @DisplayName("Should run a waiting import before resuming a released large import")
+        void shouldInterleaveImportsOfDifferentUsers() {
+            List<CreateStashItemRequest> rows = new ArrayList<>();
+            // More than one run of chunks-per-run (20) chunks of two rows
+            for (int i = 0; i < 50; i++) {
+                rows.add(row("Bookmark " + i, "https://example.com/" + i));
+            }
+            StashItemImportJobResponse large = importItems(rows);
+            createAdminUser();
+            StashItemImportJobResponse small = adminUserRequest()
+                    .body(List.of(row("Admin bookmark", "https://example.com/admin")))
+                    .when()
+                    .post(ApiEndpoints.STASH_ITEMS_IMPORT)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .extract()
+                    .as(StashItemImportJobResponse.class);
+
+            stashItemImportWorker.processNextJob();
+            assertThat(getImport(large.getId()).getProcessedRows()).isEqualTo(40);
+
+            stashItemImportWorker.processNextJob();
+            assertThat(getImport(large.getId()).getStatus()).isEqualTo(StashItemImportJobStatus.RUNNING);
+            assertThat(jdbcTemplate.queryForObject("SELECT status FROM stash_item_import_jobs WHERE id = ?",
+                    String.class, small.getId())).isEqualTo(StashItemImportJobStatus.COMPLETED.name());
+
+            stashItemImportWorker.processNextJob();
+            assertThat(getImport(large.getId()).getStatus()).isEqualTo(StashItemImportJobStatus.COMPLETED);
+            assertThat(getImport(large.getId()).getProcessedRows()).isEqualTo(50);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Validation Errors")
+    class ValidationErrors {
+
+        @Test
+        @DisplayName("Should return 400 and stage nothing when the body is not a JSON array")
+        void shouldReturn400WhenBodyIsNotArray() {
+            normalUserRequest()
+                    .body("{\"title\": \"Not an array\"}")
+                    .when()
+                    .post(ApiEndpoints.STASH_ITEMS_IMPORT)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM stash_item_import_jobs", Integer.class))
+                    .isZero();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Not Found Errors")
+    class NotFoundErrors {
+
+        @Test
+        @DisplayName("Should return 404 when the import belongs to another user")
+        void shouldReturn404WhenImportBelongsToAnotherUser() {
+            createAdminUser();
+            StashItemImportJobResponse adminImport = adminUserRequest()
+                    .body(List.of(row("Admin bookmark", "https://example.com/admin")))
+                    .when()
+                    .post(ApiEndpoints.STASH_ITEMS_IMPORT)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .extract()
+                    .as(StashItemImportJobResponse.class);
+
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEM_IMPORTS_BY_ID, adminImport.getId())
+                    .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when token is not provided")
+        void shouldReturn401WhenTokenNotProvided() {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body("[]")
+                    .when()
+                    .post(ApiEndpoints.STASH_ITEMS_IMPORT)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.sloyardms.stashbox.integration.stashitem;
+
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.itemgroup.entity.ItemGroup;
+import com.sloyardms.stashbox.stashitem.dto.StashItemSummaryResponse;
+import com.sloyardms.stashbox.stashitem.entity.StashItem;
+import com.sloyardms.stashbox.stashitem.repository.StashItemRepository;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("dev")
+public class StashItemListingIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StashItemRepository stashItemRepository;
+
+    @Autowired
+    private StashItemFixture fixture;
+
+    private UserResponse currentUser;
+
+    @BeforeEach
+    void setUp() {
+        stashItemRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        currentUser = createNormalUser();
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should return every active item newest first exactly once across pages")
+        void shouldReturnEveryItemAcrossPages() {
+            for (int i = 1; i <= 23; i++) {
+                fixture.createItem(currentUser.getId(), "Item " + i, "Description " + i);
+            }
+            fixture.createItem(createAdminUser().getId(), "Foreign item", "Not listed");
+            List<UUID> expected = stashItemRepository.findAll(
+                            Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))).stream()
+                    .filter(item -> !item.getTitle().equals("Foreign item"))
+                    .map(StashItem::getId)
+                    .toList();
+
+            List<UUID> ids = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                String currentCursor = cursor;
+                CursorPageResponse<StashItemSummaryResponse> page = listItems(spec -> {
+                    spec.queryParam("limit", 5);
+                    if (currentCursor != null) {
+                        spec.queryParam("cursor", currentCursor);
+                    }
+                });
+                page.getContent().forEach(item -> ids.add(item.getId()));
+                cursor = page.getNextCursor();
+                assertThat(page.isHasMore()).isEqualTo(cursor != null);
+                pages++;
+            } while (cursor != null);
+
+            assertThat(pages).isEqualTo(5);
+            assertThat(ids).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        @DisplayName("Should filter by group and favorite")
+        void shouldFilterByGroupAndFavorite() {
+            ItemGroup reading = fixture.createGroup(currentUser.getId(), "Reading");
+            StashItem favoriteInGroup = fixture.createItem(currentUser.getId(), "Favorite article", "Read",
+                    reading, true);
+            StashItem inGroup = fixture.createItem(currentUser.getId(), "Other article", "Later", reading, false);
+            fixture.createItem(currentUser.getId(), "Ungrouped favorite", "Elsewhere", null, true);
+
+            CursorPageResponse<StashItemSummaryResponse> grouped = listItems(spec ->
+                    spec.queryParam("group", reading.getId()));
+            CursorPageResponse<StashItemSummaryResponse> favorites = listItems(spec -> spec
+                    .queryParam("group", reading.getId())
+                    .queryParam("favorite", true));
+
+            assertThat(grouped.getContent())
+                    .extracting(StashItemSummaryResponse::getId)
+                    .containsExactlyInAnyOrder(favoriteInGroup.getId(), inGroup.getId());
+            assertThat(favorites.getContent())
+                    .extracting(StashItemSummaryResponse::getId)
+                    .containsExactly(favoriteInGroup.getId());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Validation Errors")
+    class ValidationErrors {
+
+        @Test
+        @DisplayName("Should return 400 when the cursor is malformed")
+        void shouldReturn400WhenCursorIsMalformed() {
+            normalUserRequest()
+                    .queryParam("cursor", "not-a-cursor")
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEMS)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the limit is out of range")
+        void shouldReturn400WhenLimitIsOutOfRange() {
+            normalUserRequest()
+                    .queryParam("limit", 0)
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEMS)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when token is not provided")
+        void shouldReturn401WhenTokenNotProvided() {
+            given()
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEMS)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+    }
+
+    private CursorPageResponse<StashItemSummaryResponse> listItems(Consumer<RequestSpecification> customizer) {
+        RequestSpecification request = normalUserRequest();
+        customizer.accept(request);
+
+        return request
+                .when()
+                .get(ApiEndpoints.STASH_ITEMS)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(new TypeRef<>() {
+                });
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.sloyardms.stashbox.integration.stashitem;
+
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.stashitem.dto.StashItemSummaryResponse;
+import com.sloyardms.stashbox.stashitem.entity.StashItem;
+import com.sloyardms.stashbox.stashitem.repository.StashItemRepository;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("dev")
+public class StashItemSearchIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StashItemRepository stashItemRepository;
+
+    @Autowired
+    private StashItemFixture fixture;
+
+    private UserResponse currentUser;
+
+    @BeforeEach
+    void setUp() {
+        stashItemRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        currentUser = createNormalUser();
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should rank title matches above description matches")
+        void shouldRankTitleMatchesFirst() {
+            StashItem inDescription = fixture.createItem(currentUser.getId(), "Weekend reading",
+                    "A long article about postgres internals");
+            StashItem inTitle = fixture.createItem(currentUser.getId(), "Postgres tuning guide",
+                    "Settings worth changing");
+            fixture.createItem(currentUser.getId(), "Sourdough recipe", "Flour, water and salt");
+
+            CursorPageResponse<StashItemSummaryResponse> response = search(spec -> spec.queryParam("q", "postgres"));
+
+            assertThat(response.getContent())
+                    .extracting(StashItemSummaryResponse::getId)
+                    .containsExactly(inTitle.getId(), inDescription.getId());
+            assertThat(response.getContent().getFirst().getSnippet()).contains("<b>Postgres</b>");
+            assertThat(response.isHasMore()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should return every match exactly once across pages")
+        void shouldReturnEveryMatchAcrossPages() {
+            for (int i = 1; i <= 7; i++) {
+                fixture.createItem(currentUser.getId(), "Kotlin note " + i, "coroutines ".repeat(i));
+            }
+
+            List<UUID> ids = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                String currentCursor = cursor;
+                CursorPageResponse<StashItemSummaryResponse> page = search(spec -> {
+                    spec.queryParam("q", "kotlin coroutines").queryParam("limit", 3);
+                    if (currentCursor != null) {
+                        spec.queryParam("cursor", currentCursor);
+                    }
+                });
+                page.getContent().forEach(item -> ids.add(item.getId()));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertThat(pages).isEqualTo(3);
+            assertThat(ids).hasSize(7).doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("Should page through matches sharing the same rank in id order")
+        void shouldPageThroughEqualRanks() {
+            List<UUID> expected = new ArrayList<>();
+            // Description matches rank 0.2, a value a float cannot hold exactly
+            for (int i = 1; i <= 7; i++) {
+                expected.add(fixture.createItem(currentUser.getId(), "Reading list " + i, "Notes on elixir")
+                        .getId());
+            }
+            // PostgreSQL orders uuids by their unsigned bytes, which is the order of their hex strings
+            expected.sort(Comparator.comparing(UUID::toString));
+
+            List<UUID> ids = new ArrayList<>();
+            String cursor = null;
+            do {
+                String currentCursor = cursor;
+                CursorPageResponse<StashItemSummaryResponse> page = search(spec -> {
+                    spec.queryParam("q", "elixir").queryParam("limit", 3);
+                    if (currentCursor != null) {
+                        spec.queryParam("cursor", currentCursor);
+                    }
+                });
+                page.getContent().forEach(item -> ids.add(item.getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertThat(ids).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        @DisplayName("Should not return deleted items or items of other users")
+        void shouldNotReturnDeletedOrForeignItems() {
+            StashItem deleted = fixture.createItem(currentUser.getId(), "Old rust notes", "Ownership");
+            deleted.setDeletedAt(OffsetDateTime.now());
+            stashItemRepository.save(deleted);
+            fixture.createItem(createAdminUser().getId(), "Admin rust notes", "Borrowing");
+
+            CursorPageResponse<StashItemSummaryResponse> response = search(spec -> spec.queryParam("q", "rust"));
+
+            assertThat(response.getContent()).isEmpty();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Validation Errors")
+    class ValidationErrors {
+
+        @Test
+        @DisplayName("Should return 400 when the query is blank")
+        void shouldReturn400WhenQueryIsBlank() {
+            normalUserRequest()
+                    .queryParam("q", " ")
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEMS_SEARCH)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the cursor is malformed")
+        void shouldReturn400WhenCursorIsMalformed() {
+            normalUserRequest()
+                    .queryParam("q", "postgres")
+                    .queryParam("cursor", "not-a-cursor")
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEMS_SEARCH)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when token is not provided")
+        void shouldReturn401WhenTokenNotProvided() {
+            given()
+                    .queryParam("q", "postgres")
+                    .when()
+                    .get(ApiEndpoints.STASH_ITEMS_SEARCH)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+    }
+
+    private CursorPageResponse<StashItemSummaryResponse> search(Consumer<RequestSpecification> customizer) {
+        RequestSpecification request = normalUserRequest();
+        customizer.accept(request);
+
+        return request
+                .when()
+                .get(ApiEndpoints.STASH_ITEMS_SEARCH)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(new TypeRef<>() {
+                });
+    }
+
+}
@@ -0,0 +1,242 @@
+package com.sloyardms.stashbox.integration.user;
+
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.user.dto.UserBulkRequest;
+import com.sloyardms.stashbox.user.entity.User;
+import com.sloyardms.stashbox.user.entity.UserBulkJobStatus;
+import com.sloyardms.stashbox.user.entity.UserSettings;
+import com.sloyardms.stashbox.user.job.UserBulkJobWorker;
+import com.sloyardms.stashbox.user.job.UserDeletionWorker;
+import com.sloyardms.stashbox.user.repository.UserBulkJobRepository;
+import com.sloyardms.stashbox.user.repository.UserDeletionJobRepository;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@ActiveProfiles("dev")
+@TestPropertySource(properties = {"user.bulk-jobs.chunk-size=2", "user.bulk-jobs.chunks-per-run=1"})
+public class AdminUserBulkIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserBulkJobRepository userBulkJobRepository;
+
+    @Autowired
+    private UserDeletionJobRepository userDeletionJobRepository;
+
+    @Autowired
+    private UserBulkJobWorker userBulkJobWorker;
+
+    @Autowired
+    private UserDeletionWorker userDeletionWorker;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        userBulkJobRepository.deleteAllInBatch();
+        userDeletionJobRepository.deleteAllInBatch();
+        createAdminUser();
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should return 202 and delete the users matching the search in chunks")
+        void shouldDeleteUsersMatchingSearchInChunks() {
+            createUsers("test", 5);
+            createUsers("keep", 1);
+
+            String jobId = adminUserRequest()
+                    .body(UserBulkRequest.builder().search("test").build())
+                    .when()
+                    .post(ApiEndpoints.ADMIN_USERS_BULK_DELETE)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .body("status", equalTo(UserBulkJobStatus.PENDING.name()))
+                    .body("totalUsers", equalTo(5))
+                    .extract()
+                    .path("id");
+
+            // Two users per run, the third run finds the last user and completes the job
+            userBulkJobWorker.processNextJob();
+            assertBulkJob(jobId, UserBulkJobStatus.RUNNING, 2);
+            userBulkJobWorker.processNextJob();
+            userBulkJobWorker.processNextJob();
+            assertBulkJob(jobId, UserBulkJobStatus.COMPLETED, 5);
+
+            userDeletionWorker.processPendingJobs();
+            assertThat(userRepository.findAll())
+                    .extracting(User::getUsername)
+                    .containsExactlyInAnyOrder("admin_user", "keep0");
+        }
+
+        @Test
+        @DisplayName("Should only delete the given ids and never the requesting admin")
+        void shouldDeleteGivenIdsExceptAdmin() {
+            List<User> users = createUsers("test", 3);
+            UUID adminId = userRepository.findAll().stream()
+                    .filter(user -> user.getUsername().equals("admin_user"))
+                    .findFirst()
+                    .orElseThrow()
+                    .getId();
+
+            String jobId = adminUserRequest()
+                    .body(UserBulkRequest.builder()
+                            .ids(List.of(users.getFirst().getId(), adminId))
+                            .build())
+                    .when()
+                    .post(ApiEndpoints.ADMIN_USERS_BULK_DELETE)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .body("totalUsers", equalTo(1))
+                    .extract()
+                    .path("id");
+
+            userBulkJobWorker.processNextJob();
+            assertBulkJob(jobId, UserBulkJobStatus.COMPLETED, 1);
+
+            userDeletionWorker.processPendingJobs();
+            assertThat(userRepository.findAll())
+                    .extracting(User::getUsername)
+                    .containsExactlyInAnyOrder("admin_user", "test1", "test2");
+        }
+
+        @Test
+        @DisplayName("Should reset the settings of the matching users")
+        void shouldResetSettingsOfMatchingUsers() {
+            createUsers("test", 3);
+            createUsers("keep", 1);
+
+            String jobId = adminUserRequest()
+                    .body(UserBulkRequest.builder().search("test").build())
+                    .when()
+                    .post(ApiEndpoints.ADMIN_USERS_BULK_RESET_SETTINGS)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .extract()
+                    .path("id");
+
+            userBulkJobWorker.processNextJob();
+            userBulkJobWorker.processNextJob();
+            assertBulkJob(jobId, UserBulkJobStatus.COMPLETED, 3);
+
+            assertThat(userRepository.findAll())
+                    .filteredOn(user -> !user.getUsername().equals("admin_user"))
+                    .allSatisfy(user -> assertThat(user.getSettings().getDarkMode())
+                            .isEqualTo(user.getUsername().startsWith("keep")));
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Validation Errors")
+    class ValidationErrors {
+
+        @Test
+        @DisplayName("Should return 400 when neither ids nor search are provided")
+        void shouldReturn400WhenSelectionIsEmpty() {
+            adminUserRequest()
+                    .body(UserBulkRequest.builder().search(" ").build())
+                    .when()
+                    .post(ApiEndpoints.ADMIN_USERS_BULK_DELETE)
+                    .then()
+                    .log().body()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+
+            assertThat(userBulkJobRepository.count()).isZero();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Resource Not Found")
+    class ResourceNotFound {
+
+        @Test
+        @DisplayName("Should return 404 when bulk job does not exists")
+        void shouldReturn404WhenBulkJobDoesNotExist() {
+            adminUserRequest()
+                    .pathParam("id", UUID.randomUUID())
+                    .when()
+                    .get(ApiEndpoints.ADMIN_USER_BULK_JOBS_BY_ID)
+                    .then()
+                    .log().body()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when token is not provided")
+        void shouldReturn401WhenTokenNotProvided() {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(UserBulkRequest.builder().search("test").build())
+                    .when()
+                    .post(ApiEndpoints.ADMIN_USERS_BULK_DELETE)
+                    .then()
+                    .log().body()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+        @Test
+        @DisplayName("Should return 403 when authenticated user is not ADMIN")
+        void shouldReturn403WhenAuthenticatedUserIsNotAdmin() {
+            normalUserRequest()
+                    .body(UserBulkRequest.builder().search("test").build())
+                    .when()
+                    .post(ApiEndpoints.ADMIN_USERS_BULK_DELETE)
+                    .then()
+                    .log().body()
+                    .statusCode(HttpStatus.FORBIDDEN.value());
+        }
+
+    }
+
+    private void assertBulkJob(String jobId, UserBulkJobStatus status, int processedUsers) {
+        adminUserRequest()
+                .pathParam("id", jobId)
+                .when()
+                .get(ApiEndpoints.ADMIN_USER_BULK_JOBS_BY_ID)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("status", equalTo(status.name()))
+                .body("processedUsers", equalTo(processedUsers));
+    }
+
+    private List<User> createUsers(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> userRepository.save(User.builder()
+                        .externalId(UUID.randomUUID())
+                        .username(prefix + i)
+                        .email(prefix + i + "@gmail.com")
+                        .settings(UserSettings.builder().darkMode(true).build())
+                        .build()))
+                .toList();
+    }
+
+}
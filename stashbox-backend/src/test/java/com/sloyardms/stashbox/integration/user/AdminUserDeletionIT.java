@@ -3,6 +3,9 @@ package com.sloyardms.stashbox.integration.user;
 import com.sloyardms.stashbox.constants.ApiEndpoints;
 import com.sloyardms.stashbox.integration.BaseIntegrationTest;
 import com.sloyardms.stashbox.user.entity.User;
+import com.sloyardms.stashbox.user.entity.UserDeletionStatus;
+import com.sloyardms.stashbox.user.job.UserDeletionWorker;
+import com.sloyardms.stashbox.user.repository.UserDeletionJobRepository;
 import com.sloyardms.stashbox.user.repository.UserRepository;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +20,8 @@ import java.util.UUID;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 
 @ActiveProfiles("dev")
 public class AdminUserDeletionIT extends BaseIntegrationTest {
@@ -24,9 +29,16 @@ public class AdminUserDeletionIT extends BaseIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDeletionJobRepository userDeletionJobRepository;
+
+    @Autowired
+    private UserDeletionWorker userDeletionWorker;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
+        userDeletionJobRepository.deleteAllInBatch();
         createAdminUser();
     }
 
@@ -35,28 +47,89 @@ public class AdminUserDeletionIT extends BaseIntegrationTest {
     class SuccessfulOperations {
 
         @Test
-        @DisplayName("Should return 204 and delete user")
-        void shouldReturn204AndDeleteUser() {
-            User newUser = User.builder()
-                    .externalId(UUID.randomUUID())
-                    .username("user1")
-                    .email("user1@gmail.com")
-                    .build();
-            newUser = userRepository.save(newUser);
+        @DisplayName("Should return 202 and delete user in the background")
+        void shouldReturn202AndDeleteUser() {
+            User newUser = createUser("user1");
 
             int numberOfUsers = (int) userRepository.count();
 
-            adminUserRequest()
+            String jobId = adminUserRequest()
                     .pathParams("id", newUser.getId())
                     .when()
                     .delete(ApiEndpoints.ADMIN_USERS_BY_ID)
                     .then()
-                    .statusCode(HttpStatus.NO_CONTENT.value());
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .body("userId", equalTo(newUser.getId().toString()))
+                    .body("status", equalTo(UserDeletionStatus.PENDING.name()))
+                    .extract()
+                    .path("id");
+
+            userDeletionWorker.processPendingJobs();
 
             int numberOfUsersAfterDelete = (int) userRepository.count();
             assertThat(numberOfUsersAfterDelete).isEqualTo(numberOfUsers - 1);
+            adminUserRequest()
+                    .pathParams("jobId", jobId)
+                    .when()
+                    .get(ApiEndpoints.ADMIN_USER_DELETIONS_BY_ID)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("status", equalTo(UserDeletionStatus.COMPLETED.name()));
+        }
+
+        @Test
+        @DisplayName("Should return the pending job when the deletion is requested again")
+        void shouldReturnPendingJobWhenRequestedAgain() {
+            User newUser = createUser("user1");
+
+            String jobId = adminUserRequest()
+                    .pathParams("id", newUser.getId())
+                    .when()
+                    .delete(ApiEndpoints.ADMIN_USERS_BY_ID)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .extract()
+                    .path("id");
+
+            adminUserRequest()
+                    .pathParams("id", newUser.getId())
+                    .when()
+                    .delete(ApiEndpoints.ADMIN_USERS_BY_ID)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .body("id", equalTo(jobId));
+            assertThat(userDeletionJobRepository.count()).isEqualTo(1);
         }
 
+        @Test
+        @DisplayName("Should hide users pending deletion from the user list")
+        void shouldHideUsersPendingDeletion() {
+            User newUser = createUser("user1");
+
+            adminUserRequest()
+                    .pathParams("id", newUser.getId())
+                    .when()
+                    .delete(ApiEndpoints.ADMIN_USERS_BY_ID)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value());
+
+            adminUserRequest()
+                    .when()
+                    .get(ApiEndpoints.ADMIN_USERS_LIST)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("content", hasSize(0));
+        }
+
+    }
+
+    private User createUser(String username) {
+        User newUser = User.builder()
+                .externalId(UUID.randomUUID())
+                .username(username)
+                .email(username + "@gmail.com")
+                .build();
+        return userRepository.save(newUser);
     }
 
     @Nested
@@ -77,6 +150,18 @@ public class AdminUserDeletionIT extends BaseIntegrationTest {
                     .statusCode(HttpStatus.NOT_FOUND.value());
         }
 
+        @Test
+        @DisplayName("Should return 404 when deletion job does not exists")
+        void shouldReturn404WhenDeletionJobDoesNotExist() {
+            adminUserRequest()
+                    .pathParams("jobId", UUID.randomUUID())
+                    .when()
+                    .get(ApiEndpoints.ADMIN_USER_DELETIONS_BY_ID)
+                    .then()
+                    .log().body()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+        }
+
     }
 
     @Nested
@@ -0,0 +1,185 @@
+package com.sloyardms.stashbox.integration.user;
+
+import com.sloyardms.stashbox.common.pagination.CursorPageResponse;
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.user.dto.AdminUserResponse;
+import com.sloyardms.stashbox.user.entity.User;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("dev")
+public class AdminUserScrollIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        createAdminUser();
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should return every user except the current admin exactly once across pages")
+        void shouldReturnEveryUserAcrossPages() {
+            createUserList(23);
+            List<String> expected = userRepository.findAll(Sort.by("username", "id")).stream()
+                    .map(User::getUsername)
+                    .filter(username -> !username.equals(ADMIN_USERNAME))
+                    .toList();
+
+            List<String> usernames = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                String currentCursor = cursor;
+                CursorPageResponse<AdminUserResponse> page = scrollUsers(spec -> {
+                    spec.queryParam("limit", 5);
+                    if (currentCursor != null) {
+                        spec.queryParam("cursor", currentCursor);
+                    }
+                });
+                page.getContent().forEach(user -> usernames.add(user.getUsername()));
+                cursor = page.getNextCursor();
+                assertThat(page.isHasMore()).isEqualTo(cursor != null);
+                pages++;
+            } while (cursor != null);
+
+            assertThat(pages).isEqualTo(5);
+            assertThat(usernames).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        @DisplayName("Should filter by username or email")
+        void shouldFilterByUsernameOrEmail() {
+            createUserList(12);
+
+            CursorPageResponse<AdminUserResponse> response = scrollUsers(spec -> spec.queryParam("search", "USER1"));
+
+            assertThat(response.getContent())
+                    .extracting(AdminUserResponse::getUsername)
+                    .containsExactlyInAnyOrder("user1", "user10", "user11", "user12");
+            assertThat(response.isHasMore()).isFalse();
+            assertThat(response.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should return an empty page when only the current admin exists")
+        void shouldReturnEmptyPageWhenOnlyCurrentAdminExists() {
+            CursorPageResponse<AdminUserResponse> response = scrollUsers(spec -> {
+            });
+
+            assertThat(response.getContent()).isEmpty();
+            assertThat(response.isHasMore()).isFalse();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Validation Errors")
+    class ValidationErrors {
+
+        @Test
+        @DisplayName("Should return 400 when the cursor is malformed")
+        void shouldReturn400WhenCursorIsMalformed() {
+            adminUserRequest()
+                    .queryParam("cursor", "not-a-cursor")
+                    .when()
+                    .get(ApiEndpoints.ADMIN_USERS_SCROLL)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the limit is out of range")
+        void shouldReturn400WhenLimitIsOutOfRange() {
+            adminUserRequest()
+                    .queryParam("limit", 101)
+                    .when()
+                    .get(ApiEndpoints.ADMIN_USERS_SCROLL)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when token is not provided")
+        void shouldReturn401WhenTokenNotProvided() {
+            given()
+                    .contentType(ContentType.JSON)
+                    .when()
+                    .get(ApiEndpoints.ADMIN_USERS_SCROLL)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+        @Test
+        @DisplayName("Should return 403 when user is not an admin")
+        void shouldReturn403WhenUserIsNotAdmin() {
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.ADMIN_USERS_SCROLL)
+                    .then()
+                    .statusCode(HttpStatus.FORBIDDEN.value());
+        }
+
+    }
+
+    private CursorPageResponse<AdminUserResponse> scrollUsers(Consumer<RequestSpecification> customizer) {
+        RequestSpecification request = adminUserRequest();
+        customizer.accept(request);
+
+        return request
+                .when()
+                .get(ApiEndpoints.ADMIN_USERS_SCROLL)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(new TypeRef<>() {
+                });
+    }
+
+    private void createUserList(int size) {
+        List<User> users = new ArrayList<>();
+
+        for (int i = 1; i <= size; i++) {
+            String username = "user" + i;
+            users.add(User.builder()
+                    .externalId(UUID.randomUUID())
+                    .username(username)
+                    .email(username + "@gmail.com")
+                    .build());
+        }
+
+        userRepository.saveAll(users);
+    }
+
+}
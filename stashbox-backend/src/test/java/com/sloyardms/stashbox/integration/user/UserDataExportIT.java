@@ -0,0 +1,124 @@
+package com.sloyardms.stashbox.integration.user;
+
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.integration.userfilter.UserFilterFixture;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@ActiveProfiles("dev")
+public class UserDataExportIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserFilterRepository userFilterRepository;
+
+    @Autowired
+    private UserFilterFixture fixture;
+
+    @BeforeEach
+    void setup() {
+        userFilterRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    private Map<String, String> readEntries(byte[] archive) throws IOException {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should return 200 with a ZIP holding one NDJSON entry per table and a manifest")
+        void shouldReturnArchiveWithEveryTable() throws IOException {
+            UserResponse currentUser = createNormalUser();
+            fixture.createActiveFilters(currentUser.getId(), 3);
+
+            byte[] archive = normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_EXPORT)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .contentType("application/zip")
+                    .header("Content-Disposition", containsString("attachment"))
+                    .extract()
+                    .asByteArray();
+
+            Map<String, String> entries = readEntries(archive);
+            assertThat(entries).containsKeys("user.ndjson", "user_filters.ndjson", "stash_items.ndjson",
+                    "note_files.ndjson", "item_images.ndjson", "manifest.json");
+            assertThat(entries.get("user.ndjson")).contains(NORMAL_USERNAME);
+            assertThat(entries.get("user_filters.ndjson").lines()).hasSize(3);
+            assertThat(entries.get("stash_items.ndjson")).isEmpty();
+            assertThat(entries.get("manifest.json")).contains("\"user_filters\":3");
+        }
+
+        @Test
+        @DisplayName("Should not include the data of other users")
+        void shouldNotIncludeOtherUsersData() throws IOException {
+            createNormalUser();
+            fixture.createActiveFilters(createAdminUser().getId(), 2);
+
+            byte[] archive = normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_EXPORT)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .asByteArray();
+
+            Map<String, String> entries = readEntries(archive);
+            assertThat(entries.get("user.ndjson")).doesNotContain(ADMIN_USERNAME);
+            assertThat(entries.get("user_filters.ndjson")).isEmpty();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when not authenticated")
+        void shouldReturn401WhenNotAuthenticated() {
+            given()
+                    .when()
+                    .get(ApiEndpoints.USER_EXPORT)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.sloyardms.stashbox.integration.user;
+
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.dto.CreateUserFilterRequest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("dev")
+@TestPropertySource(properties = "security.user-provisioning.enabled=true")
+public class UserProvisioningIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should provision the user on the first authenticated request")
+        void shouldProvisionUserOnFirstRequest() {
+            UserResponse response = normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .as(UserResponse.class);
+
+            assertThat(response.getUsername()).isEqualTo(NORMAL_USERNAME);
+            assertThat(userRepository.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should provision the user only once across requests")
+        void shouldProvisionUserOnlyOnce() {
+            for (int i = 0; i < 3; i++) {
+                clearCaches();
+                normalUserRequest()
+                        .when()
+                        .get(ApiEndpoints.USER_PROFILE)
+                        .then()
+                        .statusCode(HttpStatus.OK.value());
+            }
+
+            assertThat(userRepository.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should allow user-scoped calls without registering first")
+        void shouldAllowUserScopedCallsWithoutRegistering() {
+            normalUserRequest()
+                    .body(CreateUserFilterRequest.builder()
+                            .filterName("testsite")
+                            .urlPattern("https://www.testsite.com/tag/some-title")
+                            .domain("www.testsite.com")
+                            .extractionRegex("/tag/([^/?#]+)")
+                            .captureGroupIndex(1)
+                            .priority(1)
+                            .build())
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS)
+                    .then()
+                    .statusCode(HttpStatus.CREATED.value());
+        }
+
+        @Test
+        @DisplayName("Should keep explicit registration working")
+        void shouldKeepExplicitRegistrationWorking() {
+            createNormalUser();
+
+            assertThat(userRepository.count()).isEqualTo(1);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should not provision anything for unauthenticated requests")
+        void shouldNotProvisionForUnauthenticatedRequests() {
+            given()
+                    .contentType(ContentType.JSON)
+                    .when()
+                    .get(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+
+            assertThat(userRepository.count()).isZero();
+        }
+
+    }
+
+}
@@ -1,19 +1,34 @@
 package com.sloyardms.stashbox.integration.user;
 
+import com.sloyardms.stashbox.config.cache.CacheNames;
 import com.sloyardms.stashbox.constants.ApiEndpoints;
 import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.integration.userfilter.UserFilterFixture;
+import com.sloyardms.stashbox.user.entity.UserDeletionStatus;
+import com.sloyardms.stashbox.user.job.UserDeletionWorker;
+import com.sloyardms.stashbox.user.repository.UserDeletionJobRepository;
 import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.dto.CreateUserFilterRequest;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Objects;
+import java.util.UUID;
+
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
 
 @ActiveProfiles("dev")
 public class UserSelfDeletionIT extends BaseIntegrationTest {
@@ -21,9 +36,25 @@ public class UserSelfDeletionIT extends BaseIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserFilterRepository userFilterRepository;
+
+    @Autowired
+    private UserDeletionJobRepository userDeletionJobRepository;
+
+    @Autowired
+    private UserDeletionWorker userDeletionWorker;
+
+    @Autowired
+    private UserFilterFixture fixture;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     void setup() {
         userRepository.deleteAllInBatch();
+        userDeletionJobRepository.deleteAllInBatch();
     }
 
     @Nested
@@ -31,7 +62,7 @@ public class UserSelfDeletionIT extends BaseIntegrationTest {
     class SuccessfulOperations {
 
         @Test
-        @DisplayName("Should delete user successfully")
+        @DisplayName("Should return 202, hide the user and purge it in the background")
         void deleteUserSuccessfully() {
             createNormalUser();
 
@@ -39,9 +70,126 @@ public class UserSelfDeletionIT extends BaseIntegrationTest {
                     .when()
                     .delete(ApiEndpoints.USER_PROFILE)
                     .then()
-                    .statusCode(HttpStatus.NO_CONTENT.value());
+                    .statusCode(HttpStatus.ACCEPTED.value())
+                    .header("Location", endsWith(ApiEndpoints.USER_DELETION))
+                    .body("status", equalTo(UserDeletionStatus.PENDING.name()));
+
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+            assertThat(userRepository.findAll()).hasSize(1);
+
+            userDeletionWorker.processPendingJobs();
 
             assertThat(userRepository.findAll()).isEmpty();
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_DELETION)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("status", equalTo(UserDeletionStatus.COMPLETED.name()))
+                    .body("completedAt", notNullValue());
+        }
+
+        @Test
+        @DisplayName("Should purge the data of the user in chunks")
+        void shouldPurgeUserDataInChunks() {
+            UUID userId = createNormalUser().getId();
+            fixture.createActiveFilters(userId, 5);
+
+            normalUserRequest()
+                    .when()
+                    .delete(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value());
+            userDeletionWorker.processPendingJobs();
+
+            assertThat(userFilterRepository.count()).isZero();
+            assertThat(userRepository.findAll()).isEmpty();
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_DELETION)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("status", equalTo(UserDeletionStatus.COMPLETED.name()))
+                    .body("deletedRows", equalTo(6));
+        }
+
+        @Test
+        @DisplayName("Should resolve the new user when the user registers again after deletion")
+        void shouldResolveNewUserAfterDeletion() {
+            createNormalUser();
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+
+            normalUserRequest()
+                    .when()
+                    .delete(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value());
+            userDeletionWorker.processPendingJobs();
+            createNormalUser();
+
+            normalUserRequest()
+                    .body(CreateUserFilterRequest.builder()
+                            .filterName("testsite")
+                            .urlPattern("https://www.testsite.com/tag/some-title")
+                            .domain("www.testsite.com")
+                            .extractionRegex("/tag/([^/?#]+)")
+                            .captureGroupIndex(1)
+                            .priority(1)
+                            .build())
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS)
+                    .then()
+                    .statusCode(HttpStatus.CREATED.value());
+        }
+
+        @Test
+        @DisplayName("Should evict a user id cached while the deletion was being scheduled")
+        void shouldEvictUserIdCachedDuringScheduling() {
+            UUID userId = createNormalUser().getId();
+            normalUserRequest()
+                    .when()
+                    .delete(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value());
+            UUID userExternalId = userDeletionJobRepository.findAll().getFirst().getUserExternalId();
+            // As if a concurrent request had resolved the user before the deletion request committed
+            Cache userIds = Objects.requireNonNull(cacheManager.getCache(CacheNames.USER_IDS));
+            userIds.put(userExternalId, userId);
+
+            userDeletionWorker.processPendingJobs();
+
+            assertThat(userIds.get(userExternalId)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject user-scoped calls while the deletion is pending")
+        void shouldRejectUserScopedCallsWhilePending() {
+            createNormalUser();
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+
+            normalUserRequest()
+                    .when()
+                    .delete(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value());
+
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS)
+                    .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
         }
     }
 
@@ -60,6 +208,37 @@ public class UserSelfDeletionIT extends BaseIntegrationTest {
                     .statusCode(HttpStatus.NOT_FOUND.value());
         }
 
+        @Test
+        @DisplayName("Should return 404 when the deletion was already requested")
+        void shouldReturn404WhenDeletionAlreadyRequested() {
+            createNormalUser();
+            normalUserRequest()
+                    .when()
+                    .delete(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .statusCode(HttpStatus.ACCEPTED.value());
+
+            normalUserRequest()
+                    .when()
+                    .delete(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .log().body()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+        }
+
+        @Test
+        @DisplayName("Should return 404 when no deletion was requested")
+        void shouldReturn404WhenNoDeletionRequested() {
+            createNormalUser();
+
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_DELETION)
+                    .then()
+                    .log().body()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+        }
+
     }
 
     @Nested
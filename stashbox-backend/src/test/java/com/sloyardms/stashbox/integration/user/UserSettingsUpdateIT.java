@@ -17,6 +17,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 
 @ActiveProfiles("dev")
 public class UserSettingsUpdateIT extends BaseIntegrationTest {
@@ -136,6 +137,57 @@ public class UserSettingsUpdateIT extends BaseIntegrationTest {
             assertThat(response.getSettings().getDarkMode()).isTrue();
             assertThat(response.getSettings().getUseFilters()).isTrue();
         }
+
+        @Test
+        @DisplayName("Should return the updated settings on reads after the profile was cached")
+        void shouldReturnUpdatedSettingsAfterProfileWasCached() {
+            createNormalUser();
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("settings.darkMode", equalTo(false));
+
+            normalUserRequest()
+                    .body(UpdateUserSettingsRequest.builder().darkMode(true).build())
+                    .when()
+                    .patch(ApiEndpoints.USER_SETTINGS)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_PROFILE)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("settings.darkMode", equalTo(true));
+            normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_SETTINGS)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("darkMode", equalTo(true))
+                    .body("useFilters", equalTo(false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Resource Not Found")
+    class ResourceNotFound {
+
+        @Test
+        @DisplayName("Should return 404 when user does not exists")
+        void shouldReturn404WhenUserDoesNotExist() {
+            normalUserRequest()
+                    .body(UpdateUserSettingsRequest.builder().darkMode(true).build())
+                    .when()
+                    .patch(ApiEndpoints.USER_SETTINGS)
+                    .then()
+                    .log().body()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+        }
+
     }
 
     @Nested
@@ -0,0 +1,197 @@
+package com.sloyardms.stashbox.integration.userfilter;
+
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.counter.UserFilterMatchCounter;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterBatchMatchRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterBatchMatchResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchResponse;
+import com.sloyardms.stashbox.userfilter.entity.UserFilter;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("dev")
+public class UserFilterBatchMatchIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserFilterRepository userFilterRepository;
+
+    @Autowired
+    private UserFilterMatchCounter userFilterMatchCounter;
+
+    @Autowired
+    private UserFilterFixture fixture;
+
+    private UserResponse currentUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        userFilterRepository.deleteAllInBatch();
+
+        currentUser = createNormalUser();
+    }
+
+    private UserFilterBatchMatchResponse matchBatch(List<String> urls) {
+        return normalUserRequest()
+                .body(UserFilterBatchMatchRequest.builder().urls(urls).build())
+                .when()
+                .post(ApiEndpoints.USER_FILTERS_MATCH_BATCH)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(UserFilterBatchMatchResponse.class);
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should return 200 with one result per URL in input order")
+        void shouldReturn200WithResultsInInputOrder() {
+            UserFilter testSiteFilter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+            UserFilter exampleFilter = fixture.createTestUserFilter(currentUser.getId());
+            List<String> urls = List.of(
+                    "https://www.testsite.com/tag/java",
+                    "https://www.othersite.com/tag/java",
+                    "https://example.com/tag/spring",
+                    "not a url",
+                    "https://www.testsite.com/tag/kotlin");
+
+            UserFilterBatchMatchResponse response = matchBatch(urls);
+
+            assertThat(response.getTotal()).isEqualTo(5);
+            assertThat(response.getMatched()).isEqualTo(3);
+            assertThat(response.getResults()).extracting(UserFilterMatchResponse::getUrl)
+                    .containsExactlyElementsOf(urls);
+            assertThat(response.getResults()).extracting(UserFilterMatchResponse::getFilterId)
+                    .containsExactly(testSiteFilter.getId(), null, exampleFilter.getId(), null,
+                            testSiteFilter.getId());
+            assertThat(response.getResults()).extracting(UserFilterMatchResponse::getExtractedValue)
+                    .containsExactly("java", null, "spring", null, "kotlin");
+        }
+
+        @Test
+        @DisplayName("Should add every match of a filter to its match count")
+        void shouldIncrementMatchCountsByNumberOfMatches() {
+            UserFilter testSiteFilter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+            UserFilter exampleFilter = fixture.createTestUserFilter(currentUser.getId());
+
+            matchBatch(List.of(
+                    "https://www.testsite.com/tag/java",
+                    "https://www.testsite.com/tag/kotlin",
+                    "https://www.testsite.com/tag/scala",
+                    "https://example.com/tag/spring"));
+            userFilterMatchCounter.flush();
+
+            UserFilter updatedTestSiteFilter = userFilterRepository.findById(testSiteFilter.getId()).get();
+            UserFilter updatedExampleFilter = userFilterRepository.findById(exampleFilter.getId()).get();
+            assertThat(updatedTestSiteFilter.getMatchCount()).isEqualTo(testSiteFilter.getMatchCount() + 3);
+            assertThat(updatedTestSiteFilter.getLastMatchedAt()).isNotNull();
+            assertThat(updatedExampleFilter.getMatchCount()).isEqualTo(exampleFilter.getMatchCount() + 1);
+        }
+
+        @Test
+        @DisplayName("Should keep input order for a full batch spread across many hosts")
+        void shouldKeepInputOrderForFullBatch() {
+            fixture.createActiveFilters(currentUser.getId(), 10);
+            List<String> urls = new ArrayList<>();
+            for (int i = 0; i < UserFilterBatchMatchRequest.MAX_URLS; i++) {
+                urls.add("https://www.asite" + (i % 20 + 1) + ".com/tag/value-" + i);
+            }
+
+            UserFilterBatchMatchResponse response = matchBatch(urls);
+
+            assertThat(response.getMatched()).isEqualTo(UserFilterBatchMatchRequest.MAX_URLS / 2);
+            for (int i = 0; i < urls.size(); i++) {
+                UserFilterMatchResponse result = response.getResults().get(i);
+                assertThat(result.getUrl()).isEqualTo(urls.get(i));
+                assertThat(result.isMatched()).isEqualTo(i % 20 < 10);
+                if (result.isMatched()) {
+                    assertThat(result.getExtractedValue()).isEqualTo("value-" + i);
+                }
+            }
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Validation Errors")
+    class ValidationErrors {
+
+        @Test
+        @DisplayName("Should return 400 when the URL list is empty")
+        void shouldReturn400WhenUrlsAreEmpty() {
+            normalUserRequest()
+                    .body(UserFilterBatchMatchRequest.builder().urls(List.of()).build())
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS_MATCH_BATCH)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the batch exceeds the maximum size")
+        void shouldReturn400WhenBatchIsTooLarge() {
+            List<String> urls = Collections.nCopies(UserFilterBatchMatchRequest.MAX_URLS + 1, "https://example.com");
+
+            normalUserRequest()
+                    .body(UserFilterBatchMatchRequest.builder().urls(urls).build())
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS_MATCH_BATCH)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when one of the URLs is blank")
+        void shouldReturn400WhenUrlIsBlank() {
+            normalUserRequest()
+                    .body(UserFilterBatchMatchRequest.builder().urls(List.of("https://example.com", " ")).build())
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS_MATCH_BATCH)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when not authenticated")
+        void shouldReturn401WhenNotAuthenticated() {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(UserFilterBatchMatchRequest.builder().urls(List.of("https://example.com")).build())
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS_MATCH_BATCH)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+    }
+
+}
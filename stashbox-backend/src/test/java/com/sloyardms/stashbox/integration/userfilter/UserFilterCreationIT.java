@@ -127,6 +127,26 @@ public class UserFilterCreationIT extends BaseIntegrationTest {
                     .statusCode(HttpStatus.BAD_REQUEST.value());
         }
 
+        @Test
+        @DisplayName("Should return 400 when extraction regex is prone to catastrophic backtracking")
+        void shouldReturn400WhenExtractionRegexIsTooExpensive() {
+            CreateUserFilterRequest request = CreateUserFilterRequest.builder()
+                    .filterName("redos")
+                    .urlPattern("https://example.com/tag/some-title")
+                    .domain("example.com")
+                    .extractionRegex("^/tag/((a+)+)+$")
+                    .captureGroupIndex(1)
+                    .priority(1)
+                    .build();
+
+            normalUserRequest()
+                    .body(request)
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
     }
 
     @Nested
@@ -4,6 +4,7 @@ import com.sloyardms.stashbox.constants.ApiEndpoints;
 import com.sloyardms.stashbox.integration.BaseIntegrationTest;
 import com.sloyardms.stashbox.user.dto.UserResponse;
 import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.entity.UserFilter;
 import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
 import io.restassured.common.mapper.TypeRef;
 import io.restassured.http.ContentType;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -19,6 +21,8 @@ import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 
 @ActiveProfiles("dev")
 public class UserFilterDomainsRetrievalIT extends BaseIntegrationTest {
@@ -77,6 +81,81 @@ public class UserFilterDomainsRetrievalIT extends BaseIntegrationTest {
             assertThat(response.size()).isEqualTo(numberOfFilters);
         }
 
+        @Test
+        @DisplayName("Should return 304 when the domains list has not changed since the given ETag")
+        void shouldReturn304WhenDomainsListIsUnchanged() {
+            fixture.createActiveFilters(currentUser.getId(), 2);
+
+            String etag = normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_DOMAIN_LIST)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header(HttpHeaders.ETAG, notNullValue())
+                    .extract()
+                    .header(HttpHeaders.ETAG);
+
+            normalUserRequest()
+                    .header(HttpHeaders.IF_NONE_MATCH, etag)
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_DOMAIN_LIST)
+                    .then()
+                    .statusCode(HttpStatus.NOT_MODIFIED.value())
+                    .header(HttpHeaders.ETAG, etag);
+        }
+
+        @Test
+        @DisplayName("Should return 200 with a new ETag after a filter is deleted")
+        void shouldReturn200WithNewEtagAfterFilterIsDeleted() {
+            List<UserFilter> filters = fixture.createActiveFilters(currentUser.getId(), 2);
+
+            String etag = normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_DOMAIN_LIST)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .header(HttpHeaders.ETAG);
+
+            normalUserRequest()
+                    .pathParam("id", filters.getFirst().getId())
+                    .when()
+                    .delete(ApiEndpoints.USER_FILTER_BY_ID)
+                    .then()
+                    .statusCode(HttpStatus.NO_CONTENT.value());
+
+            List<String> response = normalUserRequest()
+                    .header(HttpHeaders.IF_NONE_MATCH, etag)
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_DOMAIN_LIST)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header(HttpHeaders.ETAG, not(etag))
+                    .extract()
+                    .as(new TypeRef<>() {
+                    });
+            assertThat(response).containsExactly(filters.get(1).getDomain());
+        }
+
+        @Test
+        @DisplayName("Should return 200 with the domains covering a host, most specific first")
+        void shouldReturn200WithDomainsCoveringHost() {
+            fixture.createFilterForDomain(currentUser.getId(), "parent", "example.co.uk", 1);
+            fixture.createFilterForDomain(currentUser.getId(), "child", "news.example.co.uk", 1);
+            fixture.createFilterForDomain(currentUser.getId(), "sibling", "shop.example.co.uk", 1);
+
+            List<String> response = normalUserRequest()
+                    .queryParam("host", "News.Example.co.uk")
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_DOMAIN_LIST)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .as(new TypeRef<>() {
+                    });
+            assertThat(response).containsExactly("news.example.co.uk", "example.co.uk");
+        }
+
     }
 
     @Nested
@@ -63,6 +63,19 @@ public class UserFilterFixture {
         return userFilterRepository.save(filter);
     }
 
+    public UserFilter createFilterForDomain(UUID userId, String name, String domain, int priority) {
+        UserFilter filter = UserFilter.builder()
+                .user(User.builder().id(userId).build())
+                .filterName(name)
+                .urlPattern("https://" + domain + "/tag/some-title")
+                .domain(domain)
+                .extractionRegex("/tag/([^/?#]+)")
+                .captureGroupIndex(1)
+                .priority(priority)
+                .build();
+        return userFilterRepository.save(filter);
+    }
+
     private List<UserFilter> createFilters(UUID userId, int count,
                                            String prefix, boolean active) {
         List<UserFilter> filters = new ArrayList<>();
@@ -0,0 +1,200 @@
+package com.sloyardms.stashbox.integration.userfilter;
+
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.counter.UserFilterMatchCounter;
+import com.sloyardms.stashbox.userfilter.dto.UpdateUserFilterRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchResponse;
+import com.sloyardms.stashbox.userfilter.entity.UserFilter;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("dev")
+public class UserFilterMatchIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserFilterRepository userFilterRepository;
+
+    @Autowired
+    private UserFilterMatchCounter userFilterMatchCounter;
+
+    @Autowired
+    private UserFilterFixture fixture;
+
+    private UserResponse currentUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        userFilterRepository.deleteAllInBatch();
+
+        currentUser = createNormalUser();
+    }
+
+    private UserFilterMatchResponse match(String url) {
+        return normalUserRequest()
+                .body(UserFilterMatchRequest.builder().url(url).build())
+                .when()
+                .post(ApiEndpoints.USER_FILTERS_MATCH)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(UserFilterMatchResponse.class);
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should return 200 with the extracted value when a filter matches the URL")
+        void shouldReturn200WithExtractedValueWhenFilterMatches() {
+            UserFilter savedFilter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+
+            UserFilterMatchResponse response = match("https://www.testsite.com/tag/java-streams?page=2");
+
+            assertThat(response.isMatched()).isTrue();
+            assertThat(response.getFilterId()).isEqualTo(savedFilter.getId());
+            assertThat(response.getExtractedValue()).isEqualTo("java-streams");
+        }
+
+        @Test
+        @DisplayName("Should return 200 with the highest priority filter when several filters match")
+        void shouldReturn200WithHighestPriorityFilter() {
+            fixture.createFilterWithPriority(currentUser.getId(), "low", 1);
+            UserFilter highPriorityFilter = fixture.createFilterWithPriority(currentUser.getId(), "high", 10);
+
+            UserFilterMatchResponse response = match("https://example.com/tag/spring");
+
+            assertThat(response.isMatched()).isTrue();
+            assertThat(response.getFilterId()).isEqualTo(highPriorityFilter.getId());
+        }
+
+        @Test
+        @DisplayName("Should return 200 with a parent domain filter when the URL host is a subdomain")
+        void shouldReturn200WithParentDomainFilterForSubdomain() {
+            UserFilter parentFilter = fixture.createFilterForDomain(currentUser.getId(), "parent", "example.co.uk", 1);
+
+            UserFilterMatchResponse response = match("https://news.example.co.uk/tag/elections");
+
+            assertThat(response.isMatched()).isTrue();
+            assertThat(response.getFilterId()).isEqualTo(parentFilter.getId());
+            assertThat(response.getExtractedValue()).isEqualTo("elections");
+        }
+
+        @Test
+        @DisplayName("Should return 200 with the more specific domain filter when priorities are equal")
+        void shouldReturn200WithMoreSpecificDomainFilterOnPriorityTie() {
+            fixture.createFilterForDomain(currentUser.getId(), "a parent", "example.co.uk", 1);
+            UserFilter childFilter = fixture.createFilterForDomain(currentUser.getId(), "b child",
+                    "news.example.co.uk", 1);
+
+            UserFilterMatchResponse response = match("https://news.example.co.uk/tag/elections");
+
+            assertThat(response.getFilterId()).isEqualTo(childFilter.getId());
+        }
+
+        @Test
+        @DisplayName("Should return 200 without a match when the URL host has no filters")
+        void shouldReturn200WithoutMatchWhenHostHasNoFilters() {
+            fixture.createSingleFilter(currentUser.getId(), "testsite");
+
+            UserFilterMatchResponse response = match("https://www.othersite.com/tag/java");
+
+            assertThat(response.isMatched()).isFalse();
+            assertThat(response.getFilterId()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should return 200 without a match when the only filter is inactive")
+        void shouldReturn200WithoutMatchWhenFilterIsInactive() {
+            fixture.createInactiveFilters(currentUser.getId(), 1);
+
+            UserFilterMatchResponse response = match("https://www.isite1.com/tag/java");
+
+            assertThat(response.isMatched()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should stop matching a filter after it is deactivated")
+        void shouldStopMatchingAfterFilterIsDeactivated() {
+            UserFilter savedFilter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+            assertThat(match("https://www.testsite.com/tag/java").isMatched()).isTrue();
+
+            normalUserRequest()
+                    .pathParam("id", savedFilter.getId())
+                    .body(UpdateUserFilterRequest.builder().active(false).build())
+                    .when()
+                    .patch(ApiEndpoints.USER_FILTER_BY_ID)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+
+            assertThat(match("https://www.testsite.com/tag/java").isMatched()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should increment the match count of the winning filter")
+        void shouldIncrementMatchCountOfWinningFilter() {
+            UserFilter savedFilter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+
+            match("https://www.testsite.com/tag/java");
+            userFilterMatchCounter.flush();
+
+            UserFilter updatedFilter = userFilterRepository.findById(savedFilter.getId()).get();
+            assertThat(updatedFilter.getMatchCount()).isEqualTo(savedFilter.getMatchCount() + 1);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Validation Errors")
+    class ValidationErrors {
+
+        @Test
+        @DisplayName("Should return 400 when the URL is blank")
+        void shouldReturn400WhenUrlIsBlank() {
+            normalUserRequest()
+                    .body(UserFilterMatchRequest.builder().url(" ").build())
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS_MATCH)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when not authenticated")
+        void shouldReturn401WhenNotAuthenticated() {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(UserFilterMatchRequest.builder().url("https://example.com").build())
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS_MATCH)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.sloyardms.stashbox.integration.userfilter;
+
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.counter.UserFilterMatchCounter;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsGranularity;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterMatchStatsResponse;
+import com.sloyardms.stashbox.userfilter.entity.UserFilter;
+import com.sloyardms.stashbox.userfilter.job.UserFilterMatchRollupJob;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("dev")
+public class UserFilterMatchStatsIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserFilterRepository userFilterRepository;
+
+    @Autowired
+    private UserFilterMatchCounter userFilterMatchCounter;
+
+    @Autowired
+    private UserFilterMatchRollupJob userFilterMatchRollupJob;
+
+    @Autowired
+    private UserFilterFixture fixture;
+
+    private UserResponse currentUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        userFilterRepository.deleteAllInBatch();
+
+        currentUser = createNormalUser();
+    }
+
+    private void recordMatches(UserFilter filter, int count) {
+        for (int i = 0; i < count; i++) {
+            normalUserRequest()
+                    .pathParam("id", filter.getId())
+                    .when()
+                    .post(ApiEndpoints.USER_FILTER_RECORD_MATCH)
+                    .then()
+                    .statusCode(HttpStatus.NO_CONTENT.value());
+        }
+        userFilterMatchCounter.flush();
+    }
+
+    private UserFilterMatchStatsResponse getStats(UserFilter filter, UserFilterMatchStatsGranularity granularity) {
+        return normalUserRequest()
+                .pathParam("id", filter.getId())
+                .queryParam("granularity", granularity)
+                .when()
+                .get(ApiEndpoints.USER_FILTER_MATCH_STATS)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(UserFilterMatchStatsResponse.class);
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should return 200 with hourly and daily buckets once matches are rolled up")
+        void shouldReturn200WithRolledUpBuckets() {
+            UserFilter filter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+            recordMatches(filter, 3);
+            userFilterMatchRollupJob.rollUp();
+
+            UserFilterMatchStatsResponse hourly = getStats(filter, UserFilterMatchStatsGranularity.HOUR);
+            UserFilterMatchStatsResponse daily = getStats(filter, UserFilterMatchStatsGranularity.DAY);
+
+            assertThat(hourly.getTotalMatches()).isEqualTo(3);
+            assertThat(hourly.getBuckets()).hasSize(1);
+            assertThat(hourly.getBuckets().getFirst().getBucketStart())
+                    .isEqualTo(Instant.now().truncatedTo(ChronoUnit.HOURS));
+            assertThat(daily.getTotalMatches()).isEqualTo(3);
+            assertThat(daily.getBuckets().getFirst().getBucketStart())
+                    .isEqualTo(Instant.now().truncatedTo(ChronoUnit.DAYS));
+        }
+
+        @Test
+        @DisplayName("Should only serve matches that were rolled up")
+        void shouldOnlyServeRolledUpMatches() {
+            UserFilter filter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+            recordMatches(filter, 2);
+            userFilterMatchRollupJob.rollUp();
+            recordMatches(filter, 1);
+
+            assertThat(getStats(filter, UserFilterMatchStatsGranularity.HOUR).getTotalMatches()).isEqualTo(2);
+
+            userFilterMatchRollupJob.rollUp();
+            userFilterMatchRollupJob.rollUp();
+
+            assertThat(getStats(filter, UserFilterMatchStatsGranularity.HOUR).getTotalMatches()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should return 200 with no buckets when the filter has no matches")
+        void shouldReturn200WithNoBuckets() {
+            UserFilter filter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+
+            UserFilterMatchStatsResponse response = getStats(filter, UserFilterMatchStatsGranularity.HOUR);
+
+            assertThat(response.getTotalMatches()).isZero();
+            assertThat(response.getBuckets()).isEmpty();
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Validation Errors")
+    class ValidationErrors {
+
+        @Test
+        @DisplayName("Should return 400 when from is not before to")
+        void shouldReturn400WhenRangeIsEmpty() {
+            UserFilter filter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+
+            normalUserRequest()
+                    .pathParam("id", filter.getId())
+                    .queryParam("from", "2025-01-02T00:00:00Z")
+                    .queryParam("to", "2025-01-01T00:00:00Z")
+                    .when()
+                    .get(ApiEndpoints.USER_FILTER_MATCH_STATS)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the range is too large for the granularity")
+        void shouldReturn400WhenRangeIsTooLarge() {
+            UserFilter filter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+
+            normalUserRequest()
+                    .pathParam("id", filter.getId())
+                    .queryParam("granularity", UserFilterMatchStatsGranularity.HOUR)
+                    .queryParam("from", "2024-01-01T00:00:00Z")
+                    .queryParam("to", "2025-01-01T00:00:00Z")
+                    .when()
+                    .get(ApiEndpoints.USER_FILTER_MATCH_STATS)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @Test
+        @DisplayName("Should return 404 when the filter belongs to another user")
+        void shouldReturn404WhenFilterBelongsToAnotherUser() {
+            UserFilter filter = fixture.createSingleFilter(createAdminUser().getId(), "testsite");
+
+            normalUserRequest()
+                    .pathParam("id", filter.getId())
+                    .when()
+                    .get(ApiEndpoints.USER_FILTER_MATCH_STATS)
+                    .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when not authenticated")
+        void shouldReturn401WhenNotAuthenticated() {
+            UserFilter filter = fixture.createSingleFilter(currentUser.getId(), "testsite");
+
+            given()
+                    .pathParam("id", filter.getId())
+                    .when()
+                    .get(ApiEndpoints.USER_FILTER_MATCH_STATS)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+    }
+
+}
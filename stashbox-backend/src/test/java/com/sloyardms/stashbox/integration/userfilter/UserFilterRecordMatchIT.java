@@ -4,6 +4,7 @@ import com.sloyardms.stashbox.constants.ApiEndpoints;
 import com.sloyardms.stashbox.integration.BaseIntegrationTest;
 import com.sloyardms.stashbox.user.dto.UserResponse;
 import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.counter.UserFilterMatchCounter;
 import com.sloyardms.stashbox.userfilter.entity.UserFilter;
 import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
 import io.restassured.http.ContentType;
@@ -29,6 +30,9 @@ public class UserFilterRecordMatchIT extends BaseIntegrationTest {
     @Autowired
     private UserFilterRepository userFilterRepository;
 
+    @Autowired
+    private UserFilterMatchCounter userFilterMatchCounter;
+
     @Autowired
     private UserFilterFixture fixture;
 
@@ -57,12 +61,35 @@ public class UserFilterRecordMatchIT extends BaseIntegrationTest {
                     .post(ApiEndpoints.USER_FILTER_RECORD_MATCH)
                     .then()
                     .statusCode(HttpStatus.NO_CONTENT.value());
+            userFilterMatchCounter.flush();
 
             UserFilter updatedFilter = userFilterRepository.findById(savedFilter.getId()).get();
 
             assertThat(savedFilter.getMatchCount() + 1).isEqualTo(updatedFilter.getMatchCount());
         }
 
+        @Test
+        @DisplayName("Should aggregate several matches into a single flush")
+        void shouldAggregateMatchesIntoSingleFlush() {
+            UserFilter savedFilter = fixture.createSingleFilter(currentUser.getId(), "testFilter");
+
+            for (int i = 0; i < 3; i++) {
+                normalUserRequest()
+                        .pathParam("id", savedFilter.getId())
+                        .when()
+                        .post(ApiEndpoints.USER_FILTER_RECORD_MATCH)
+                        .then()
+                        .statusCode(HttpStatus.NO_CONTENT.value());
+            }
+            userFilterMatchCounter.flush();
+
+            UserFilter updatedFilter = userFilterRepository.findById(savedFilter.getId()).get();
+
+            assertThat(updatedFilter.getMatchCount()).isEqualTo(savedFilter.getMatchCount() + 3);
+            assertThat(updatedFilter.getLastMatchedAt()).isNotNull();
+            assertThat(userFilterMatchCounter.getBacklog()).isZero();
+        }
+
     }
 
     @Nested
@@ -0,0 +1,131 @@
+package com.sloyardms.stashbox.integration.userfilter;
+
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.integration.StatementRecorder;
+import com.sloyardms.stashbox.integration.StatementRecorder.RecordedStatement;
+import com.sloyardms.stashbox.user.entity.User;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a single user with 100k filters and checks that the statements filter searches actually send, page and count
+ * queries alike, are served by the trigram indexes instead of a sequential scan
+ */
+@Slf4j
+@ActiveProfiles("dev")
+@Import(StatementRecorder.Config.class)
+public class UserFilterSearchBenchmarkIT extends BaseIntegrationTest {
+
+    private static final int FILTER_COUNT = 100_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserFilterRepository userFilterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementRecorder statementRecorder;
+
+    private User currentUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        userFilterRepository.deleteAllInBatch();
+        createNormalUser();
+        currentUser = userRepository.findAll().getFirst();
+
+        jdbcTemplate.update("""
+                INSERT INTO user_filters (id, user_id, filter_name, normalized_filter_name, url_pattern,
+                    normalized_url_pattern, domain, extraction_regex, capture_group_index, priority, is_active,
+                    match_count, created_at, updated_at)
+                SELECT gen_random_uuid(), ?, 'Filter ' || i || ' ' || md5(i::text), 'filter ' || i || ' ' || md5(i::text),
+                    'https://www.site' || i || '.com/tag/' || md5(i::text),
+                    'https://www.site' || i || '.com/tag/' || md5(i::text),
+                    'www.site' || i || '.com', '/tag/([^/?#]+)', 1, 0, true, 0, now(), now()
+                FROM generate_series(1, ?) AS i
+                """, currentUser.getId(), FILTER_COUNT);
+        jdbcTemplate.execute("ANALYZE user_filters");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userFilterRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should use the trigram indexes for the contains search and its count query")
+    void shouldUseTrigramIndexesForContainsSearch() {
+        List<RecordedStatement> statements = recordSearch("4242", "CONTAINS");
+
+        assertThat(statements).hasSize(2);
+        statements.forEach(this::assertServedByTrigramIndexes);
+    }
+
+    @Test
+    @DisplayName("Should use the trigram indexes for the similarity search and its count query")
+    void shouldUseTrigramIndexesForSimilaritySearch() {
+        String filterName = jdbcTemplate.queryForObject(
+                "SELECT filter_name FROM user_filters WHERE filter_name LIKE 'Filter 4242 %'", String.class);
+
+        List<RecordedStatement> statements = recordSearch(filterName, "SIMILARITY");
+
+        assertThat(statements).hasSize(2);
+        statements.forEach(this::assertServedByTrigramIndexes);
+    }
+
+    /**
+     * Runs the search through the API with a page size of one, so the count query runs as well, and returns the
+     * statements the search sent to the database
+     */
+    private List<RecordedStatement> recordSearch(String search, String searchMode) {
+        List<RecordedStatement> recorded;
+        statementRecorder.start();
+        try {
+            normalUserRequest()
+                    .queryParam("search", search)
+                    .queryParam("searchMode", searchMode)
+                    .queryParam("size", 1)
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+        } finally {
+            recorded = statementRecorder.stop();
+        }
+        return recorded.stream()
+                .filter(statement -> statement.sql().contains("normalized_filter_name"))
+                .toList();
+    }
+
+    private void assertServedByTrigramIndexes(RecordedStatement statement) {
+        // The plan shape is asserted rather than its timing, which depends on the host
+        List<String> lines = jdbcTemplate.query("EXPLAIN " + statement.sql(), statement::bind,
+                (rs, rowNum) -> rs.getString(1));
+        String plan = String.join("\n", lines);
+        log.info("Query plan over {} filters for:\n{}\n{}", FILTER_COUNT, statement.sql(), plan);
+
+        assertThat(plan).containsPattern("(Bitmap )?Index Scan on user_filters_normalized_filter_name_trgm_idx")
+                .doesNotContain("Seq Scan on user_filters");
+    }
+
+}
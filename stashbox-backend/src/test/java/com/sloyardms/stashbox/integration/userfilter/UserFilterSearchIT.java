@@ -112,6 +112,45 @@ public class UserFilterSearchIT extends BaseIntegrationTest {
             assertThat(response.getContent().get(0).getActive()).isTrue();
         }
 
+        @Test
+        @DisplayName("Should rank filters by similarity when searching in similarity mode")
+        void shouldRankFiltersBySimilarity() {
+            fixture.createActiveFilters(currentUser.getId(), 5);
+
+            PageResponse<UserFilterResponse> response = normalUserRequest()
+                    .queryParam("search", "asite3filtr")
+                    .queryParam("searchMode", "SIMILARITY")
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .as(new TypeRef<>() {
+                    });
+
+            assertThat(response.getContent()).isNotEmpty();
+            assertThat(response.getContent().getFirst().getFilterName()).isEqualTo("asite3filter");
+            assertThat(response.getPage().getTotalElements()).isEqualTo(response.getContent().size());
+        }
+
+        @Test
+        @DisplayName("Should not match misspelled terms in contains mode")
+        void shouldNotMatchMisspelledTermsInContainsMode() {
+            fixture.createActiveFilters(currentUser.getId(), 5);
+
+            PageResponse<UserFilterResponse> response = normalUserRequest()
+                    .queryParam("search", "asite3filtr")
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .as(new TypeRef<>() {
+                    });
+
+            assertThat(response.getContent()).isEmpty();
+        }
+
         @Test
         @DisplayName("Should handle custom page size")
         void shouldHandleCustomPageSize() {
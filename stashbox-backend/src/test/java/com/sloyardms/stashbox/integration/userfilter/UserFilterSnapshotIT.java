@@ -0,0 +1,199 @@
+package com.sloyardms.stashbox.integration.userfilter;
+
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.dto.UpdateUserFilterRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterSnapshotResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterTombstoneResponse;
+import com.sloyardms.stashbox.userfilter.entity.UserFilter;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("dev")
+public class UserFilterSnapshotIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserFilterRepository userFilterRepository;
+
+    @Autowired
+    private UserFilterFixture fixture;
+
+    private UserResponse currentUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        userFilterRepository.deleteAllInBatch();
+
+        currentUser = createNormalUser();
+    }
+
+    private UserFilterSnapshotResponse snapshot(String since, Integer limit) {
+        RequestSpecification request = normalUserRequest();
+        if (since != null) {
+            request.queryParam("since", since);
+        }
+        if (limit != null) {
+            request.queryParam("limit", limit);
+        }
+        return request
+                .when()
+                .get(ApiEndpoints.USER_FILTERS_SNAPSHOT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(UserFilterSnapshotResponse.class);
+    }
+
+    @Nested
+    @DisplayName("Successful Operations")
+    class SuccessfulOperations {
+
+        @Test
+        @DisplayName("Should return 200 with a full snapshot when no cursor is given")
+        void shouldReturn200WithFullSnapshotWithoutCursor() {
+            fixture.createActiveFilters(currentUser.getId(), 3);
+
+            UserFilterSnapshotResponse response = snapshot(null, null);
+
+            assertThat(response.isFullSnapshot()).isTrue();
+            assertThat(response.getFilters()).hasSize(3);
+            assertThat(response.getDeleted()).isEmpty();
+            assertThat(response.isHasMore()).isFalse();
+            assertThat(response.getNextCursor()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should page through the snapshot in keyset order without gaps or duplicates")
+        void shouldPageThroughSnapshotInKeysetOrder() {
+            fixture.createActiveFilters(currentUser.getId(), 5);
+
+            List<UUID> seenIds = new ArrayList<>();
+            String cursor = null;
+            UserFilterSnapshotResponse response;
+            do {
+                response = snapshot(cursor, 2);
+                assertThat(response.getFilters()).hasSizeLessThanOrEqualTo(2);
+                response.getFilters().forEach(filter -> seenIds.add(filter.getId()));
+                cursor = response.getNextCursor();
+            } while (response.isHasMore());
+
+            assertThat(seenIds).hasSize(5).doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("Should return only changed filters and tombstones since the cursor")
+        void shouldReturnOnlyChangesSinceCursor() {
+            List<UserFilter> filters = fixture.createActiveFilters(currentUser.getId(), 3);
+            String cursor = snapshot(null, null).getNextCursor();
+
+            normalUserRequest()
+                    .pathParam("id", filters.get(0).getId())
+                    .body(UpdateUserFilterRequest.builder().priority(7).build())
+                    .when()
+                    .patch(ApiEndpoints.USER_FILTER_BY_ID)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+            normalUserRequest()
+                    .pathParam("id", filters.get(1).getId())
+                    .when()
+                    .delete(ApiEndpoints.USER_FILTER_BY_ID)
+                    .then()
+                    .statusCode(HttpStatus.NO_CONTENT.value());
+
+            UserFilterSnapshotResponse delta = snapshot(cursor, null);
+
+            assertThat(delta.isFullSnapshot()).isFalse();
+            assertThat(delta.getFilters()).extracting(UserFilterResponse::getId)
+                    .containsExactly(filters.get(0).getId());
+            assertThat(delta.getFilters().getFirst().getPriority()).isEqualTo(7);
+            assertThat(delta.getDeleted()).extracting(UserFilterTombstoneResponse::getId)
+                    .containsExactly(filters.get(1).getId());
+
+            UserFilterSnapshotResponse empty = snapshot(delta.getNextCursor(), null);
+            assertThat(empty.getFilters()).isEmpty();
+            assertThat(empty.getDeleted()).isEmpty();
+            assertThat(empty.getNextCursor()).isEqualTo(delta.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should not include filters of other users")
+        void shouldNotIncludeFiltersOfOtherUsers() {
+            UserResponse otherUser = createAdminUser();
+            fixture.createActiveFilters(otherUser.getId(), 2);
+            fixture.createActiveFilters(currentUser.getId(), 1);
+
+            UserFilterSnapshotResponse response = snapshot(null, null);
+
+            assertThat(response.getFilters()).hasSize(1);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Validation Errors")
+    class ValidationErrors {
+
+        @Test
+        @DisplayName("Should return 400 when the cursor is malformed")
+        void shouldReturn400WhenCursorIsMalformed() {
+            normalUserRequest()
+                    .queryParam("since", "not-a-cursor")
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_SNAPSHOT)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the limit is out of range")
+        void shouldReturn400WhenLimitIsOutOfRange() {
+            normalUserRequest()
+                    .queryParam("limit", 0)
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_SNAPSHOT)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when not authenticated")
+        void shouldReturn401WhenNotAuthenticated() {
+            given()
+                    .contentType(ContentType.JSON)
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_SNAPSHOT)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.sloyardms.stashbox.integration.userfilter;
+
+import com.sloyardms.stashbox.constants.ApiEndpoints;
+import com.sloyardms.stashbox.integration.BaseIntegrationTest;
+import com.sloyardms.stashbox.user.dto.UserResponse;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import com.sloyardms.stashbox.userfilter.dto.CreateUserFilterRequest;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterImportError;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterImportResponse;
+import com.sloyardms.stashbox.userfilter.dto.UserFilterResponse;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@ActiveProfiles("dev")
+public class UserFilterTransferIT extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserFilterRepository userFilterRepository;
+
+    @Autowired
+    private UserFilterFixture fixture;
+
+    private UserResponse currentUser;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAllInBatch();
+        userFilterRepository.deleteAllInBatch();
+
+        currentUser = createNormalUser();
+    }
+
+    private static CreateUserFilterRequest filterRequest(String name) {
+        return CreateUserFilterRequest.builder()
+                .filterName(name)
+                .urlPattern("https://www." + name + ".com/tag/some-title")
+                .domain("www." + name + ".com")
+                .extractionRegex("/tag/([^/?#]+)")
+                .captureGroupIndex(1)
+                .priority(1)
+                .build();
+    }
+
+    private UserFilterImportResponse importFilters(Object body) {
+        return normalUserRequest()
+                .body(body)
+                .when()
+                .post(ApiEndpoints.USER_FILTERS_IMPORT)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(UserFilterImportResponse.class);
+    }
+
+    @Nested
+    @DisplayName("Import")
+    class Import {
+
+        @Test
+        @DisplayName("Should return 200 and create every valid filter")
+        void shouldReturn200AndCreateValidFilters() {
+            List<CreateUserFilterRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 1200; i++) {
+                requests.add(filterRequest("imported" + i));
+            }
+
+            UserFilterImportResponse response = importFilters(requests);
+
+            assertThat(response.getTotal()).isEqualTo(1200);
+            assertThat(response.getCreated()).isEqualTo(1200);
+            assertThat(response.getErrors()).isEmpty();
+            assertThat(userFilterRepository.count()).isEqualTo(1200);
+        }
+
+        @Test
+        @DisplayName("Should report conflicts and invalid rows without aborting the import")
+        void shouldReportConflictsAndInvalidRows() {
+            fixture.createSingleFilter(currentUser.getId(), "existing");
+            CreateUserFilterRequest existingName = filterRequest("other");
+            existingName.setFilterName("existing filter");
+            CreateUserFilterRequest invalid = filterRequest("invalid");
+            invalid.setExtractionRegex("([unclosed");
+            // Rejected by the capture group CHECK constraint, which ON CONFLICT does not cover
+            CreateUserFilterRequest wholeMatch = filterRequest("whole-match");
+            wholeMatch.setCaptureGroupIndex(0);
+
+            UserFilterImportResponse response = importFilters(List.of(
+                    filterRequest("first"),
+                    existingName,
+                    invalid,
+                    filterRequest("first"),
+                    filterRequest("second"),
+                    wholeMatch));
+
+            assertThat(response.getTotal()).isEqualTo(6);
+            assertThat(response.getCreated()).isEqualTo(2);
+            assertThat(response.getConflicts()).isEqualTo(2);
+            assertThat(response.getInvalid()).isEqualTo(2);
+            assertThat(response.getErrors())
+                    .extracting(UserFilterImportError::getIndex, UserFilterImportError::getReason)
+                    .containsExactlyInAnyOrder(
+                            tuple(1, UserFilterImportError.Reason.CONFLICT),
+                            tuple(2, UserFilterImportError.Reason.INVALID),
+                            tuple(3, UserFilterImportError.Reason.CONFLICT),
+                            tuple(5, UserFilterImportError.Reason.INVALID));
+            assertThat(userFilterRepository.count()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should make imported filters available for matching")
+        void shouldMakeImportedFiltersAvailableForMatching() {
+            importFilters(List.of(filterRequest("testsite")));
+
+            List<String> domains = normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_DOMAIN_LIST)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .as(new TypeRef<>() {
+                    });
+            assertThat(domains).containsExactly("www.testsite.com");
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the body is not a JSON array")
+        void shouldReturn400WhenBodyIsNotArray() {
+            normalUserRequest()
+                    .body(filterRequest("single"))
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS_IMPORT)
+                    .then()
+                    .statusCode(HttpStatus.BAD_REQUEST.value());
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Export")
+    class Export {
+
+        @Test
+        @DisplayName("Should return 200 with every filter of the user")
+        void shouldReturn200WithEveryFilter() {
+            fixture.createActiveFilters(currentUser.getId(), 3);
+            fixture.createActiveFilters(createAdminUser().getId(), 2);
+
+            List<UserFilterResponse> response = normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_EXPORT)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .as(new TypeRef<>() {
+                    });
+
+            assertThat(response).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("Should round trip filters through export and import")
+        void shouldRoundTripFilters() {
+            fixture.createActiveFilters(currentUser.getId(), 3);
+            String exported = normalUserRequest()
+                    .when()
+                    .get(ApiEndpoints.USER_FILTERS_EXPORT)
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .asString();
+            userFilterRepository.deleteAllInBatch();
+
+            UserFilterImportResponse response = importFilters(exported);
+
+            assertThat(response.getCreated()).isEqualTo(3);
+        }
+
+    }
+
+    @Nested
+    @DisplayName("Authentication and Authorization")
+    class AuthenticationAndAuthorization {
+
+        @Test
+        @DisplayName("Should return 401 when not authenticated")
+        void shouldReturn401WhenNotAuthenticated() {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body("[]")
+                    .when()
+                    .post(ApiEndpoints.USER_FILTERS_IMPORT)
+                    .then()
+                    .statusCode(HttpStatus.UNAUTHORIZED.value());
+        }
+
+    }
+
+}
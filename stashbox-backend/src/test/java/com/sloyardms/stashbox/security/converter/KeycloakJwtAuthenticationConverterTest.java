@@ -0,0 +1,153 @@
+package com.sloyardms.stashbox.security.converter;
+
+import com.sloyardms.stashbox.security.principal.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the conversion cache against a manually advanced clock, a cached conversion hands out the same parsed user
+ */
+class KeycloakJwtAuthenticationConverterTest {
+
+    private static final Duration MAX_TTL = Duration.ofMinutes(10);
+    private static final String SUBJECT = UUID.randomUUID().toString();
+
+    private final AtomicLong nanoTime = new AtomicLong(1_000_000_000L);
+    private final ManualClock clock = new ManualClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private KeycloakJwtAuthenticationConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new KeycloakJwtAuthenticationConverter(new SimpleMeterRegistry(), 100, MAX_TTL, nanoTime::get,
+                clock);
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+        clock.now = clock.now.plus(duration);
+    }
+
+    private Jwt jwt(String id, Duration expiresIn) {
+        Jwt.Builder builder = Jwt.withTokenValue(UUID.randomUUID().toString())
+                .header("alg", "RS256")
+                .subject(SUBJECT)
+                .claim("preferred_username", "user")
+                .claim("realm_access", Map.of("roles", List.of("user")))
+                .issuedAt(clock.now);
+        if (id != null) {
+            builder.jti(id);
+        }
+        if (expiresIn != null) {
+            builder.expiresAt(clock.now.plus(expiresIn));
+        }
+        return builder.build();
+    }
+
+    private AuthenticatedUser convert(Jwt jwt) {
+        AuthenticatedUserToken token = (AuthenticatedUserToken) converter.convert(jwt);
+        assertThat(token.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        return token.getUser();
+    }
+
+    @Test
+    @DisplayName("Should reuse the conversion of a token with the same subject and id")
+    void shouldHitForSameSubjectAndId() {
+        Jwt first = jwt("token-1", Duration.ofMinutes(5));
+
+        AuthenticatedUser user = convert(first);
+
+        assertThat(convert(first)).isSameAs(user);
+        // Keyed by sub:jti, not by the token value
+        assertThat(convert(jwt("token-1", Duration.ofMinutes(5)))).isSameAs(user);
+    }
+
+    @Test
+    @DisplayName("Should convert a token with a different id again")
+    void shouldMissForDifferentId() {
+        AuthenticatedUser user = convert(jwt("token-1", Duration.ofMinutes(5)));
+
+        AuthenticatedUser other = convert(jwt("token-2", Duration.ofMinutes(5)));
+
+        assertThat(other).isNotSameAs(user).isEqualTo(user);
+    }
+
+    @Test
+    @DisplayName("Should expire the conversion when the token expires")
+    void shouldExpireAtTokenExpiry() {
+        Jwt jwt = jwt("token-1", Duration.ofMinutes(5));
+        AuthenticatedUser user = convert(jwt);
+
+        advance(Duration.ofMinutes(5).minusSeconds(1));
+        assertThat(convert(jwt)).isSameAs(user);
+
+        advance(Duration.ofSeconds(1));
+        assertThat(convert(jwt)).isNotSameAs(user);
+    }
+
+    @Test
+    @DisplayName("Should expire the conversion after the max ttl when the token outlives it")
+    void shouldExpireAtMaxTtl() {
+        Jwt jwt = jwt("token-1", Duration.ofHours(1));
+        AuthenticatedUser user = convert(jwt);
+
+        advance(MAX_TTL.minusSeconds(1));
+        assertThat(convert(jwt)).isSameAs(user);
+
+        advance(Duration.ofSeconds(1));
+        assertThat(convert(jwt)).isNotSameAs(user);
+    }
+
+    @Test
+    @DisplayName("Should keep the conversion of a token without expiration for the max ttl")
+    void shouldExpireWithoutExpirationAtMaxTtl() {
+        Jwt jwt = jwt("token-1", null);
+        AuthenticatedUser user = convert(jwt);
+
+        advance(MAX_TTL.minusSeconds(1));
+        assertThat(convert(jwt)).isSameAs(user);
+
+        advance(Duration.ofSeconds(1));
+        assertThat(convert(jwt)).isNotSameAs(user);
+    }
+
+    private static final class ManualClock extends Clock {
+
+        private Instant now;
+
+        private ManualClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+    }
+
+}
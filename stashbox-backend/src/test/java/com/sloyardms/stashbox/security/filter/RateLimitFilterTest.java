@@ -0,0 +1,128 @@
+package com.sloyardms.stashbox.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sloyardms.stashbox.common.error.utils.ProblemDetailBuilder;
+import com.sloyardms.stashbox.security.ratelimit.ConcurrencyLimiter;
+import com.sloyardms.stashbox.security.ratelimit.RateLimitPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that a concurrency slot stays taken for as long as its request runs, streamed responses included
+ */
+class RateLimitFilterTest {
+
+    private static final int MAX_CONCURRENT = 1;
+
+    private final CountDownLatch streamReleased = new CountDownLatch(1);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter();
+        RateLimitPolicy rateLimitPolicy = mock(RateLimitPolicy.class);
+        when(rateLimitPolicy.tryAcquire(any(), anyBoolean(), any())).thenReturn(Duration.ZERO);
+        when(rateLimitPolicy.tryAcquireSlot(any(), anyBoolean()))
+                .thenAnswer(invocation -> concurrencyLimiter.tryAcquire(invocation.getArgument(0), MAX_CONCURRENT));
+
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.setUseCodeAsDefaultMessage(true);
+        ProblemDetailBuilder problemDetailBuilder = new ProblemDetailBuilder(messageSource, new ObjectMapper());
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new TestController(streamReleased))
+                .addFilters(new RateLimitFilter(rateLimitPolicy, problemDetailBuilder))
+                .build();
+
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("subject").build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamReleased.countDown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should release the slot when a synchronous request returns")
+    void shouldReleaseSlotOfSynchronousRequest() throws Exception {
+        mockMvc.perform(get("/plain")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/plain")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should hold the slot until a streamed response completes")
+    void shouldHoldSlotUntilStreamCompletes() throws Exception {
+        MvcResult streaming = mockMvc.perform(get("/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(get("/plain")).andExpect(status().isTooManyRequests());
+
+        streamReleased.countDown();
+        mockMvc.perform(asyncDispatch(streaming)).andExpect(status().isOk());
+        assertThat(streaming.getResponse().getContentAsString()).isEqualTo("streamed");
+
+        mockMvc.perform(get("/plain")).andExpect(status().isOk());
+    }
+
+    @RestController
+    static class TestController {
+
+        private final CountDownLatch streamReleased;
+
+        TestController(CountDownLatch streamReleased) {
+            this.streamReleased = streamReleased;
+        }
+
+        @GetMapping("/plain")
+        String plain() {
+            return "plain";
+        }
+
+        @GetMapping("/stream")
+        StreamingResponseBody stream() {
+            return outputStream -> {
+                try {
+                    if (!streamReleased.await(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("Stream was never released");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                outputStream.write("streamed".getBytes());
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.sloyardms.stashbox.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies the JwtDecoder against a stub JWKS file, without a running Keycloak
+ */
+class CachingJwtDecoderTest {
+
+    private static final String ISSUER = "https://keycloak.test/realms/stashbox";
+
+    @TempDir
+    private Path tempDir;
+
+    private Path jwksFile;
+    private Path cacheFile;
+    private RSAKey signingKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jwksFile = tempDir.resolve("stub-jwks.json");
+        cacheFile = tempDir.resolve("cache").resolve("jwks.json");
+        signingKey = new RSAKeyGenerator(2048).keyID("key-1").generate();
+        publish(signingKey);
+    }
+
+    private void publish(RSAKey key) throws IOException {
+        Files.writeString(jwksFile, new JWKSet(key.toPublicJWK()).toString());
+    }
+
+    private PersistentJwkSource newJwkSource(Duration minRefreshInterval) {
+        PersistentJwkSource jwkSource = new PersistentJwkSource(jwksFile.toUri().toString(), cacheFile,
+                minRefreshInterval, Duration.ofSeconds(1));
+        jwkSource.initialize();
+        return jwkSource;
+    }
+
+    private JwtDecoder newDecoder(PersistentJwkSource jwkSource) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        return new CachingJwtDecoder(decoder, 100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    private String sign(RSAKey key, Instant expiresAt) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject("7d3c1d52-4f43-4ef4-9a33-6f1a2b9b4a11")
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    @Test
+    @DisplayName("Should decode a valid token and reuse the verified result")
+    void shouldDecodeAndReuseVerifiedToken() throws Exception {
+        JwtDecoder decoder = newDecoder(newJwkSource(Duration.ZERO));
+        String token = sign(signingKey, Instant.now().plusSeconds(300));
+
+        Jwt first = decoder.decode(token);
+        Jwt second = decoder.decode(token);
+
+        assertThat(first.getSubject()).isEqualTo("7d3c1d52-4f43-4ef4-9a33-6f1a2b9b4a11");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should start from the persisted JWKS when the endpoint is not reachable")
+    void shouldStartFromPersistedJwks() throws Exception {
+        newJwkSource(Duration.ZERO);
+        assertThat(cacheFile).exists();
+        Files.delete(jwksFile);
+
+        JwtDecoder decoder = newDecoder(newJwkSource(Duration.ZERO));
+
+        assertThat(decoder.decode(sign(signingKey, Instant.now().plusSeconds(300))).getIssuer())
+                .hasToString(ISSUER);
+    }
+
+    @Test
+    @DisplayName("Should refresh the JWKS when a token is signed with a rotated key")
+    void shouldRefreshJwksOnKeyRotation() throws Exception {
+        JwtDecoder decoder = newDecoder(newJwkSource(Duration.ZERO));
+        RSAKey rotatedKey = new RSAKeyGenerator(2048).keyID("key-2").generate();
+        publish(rotatedKey);
+
+        Jwt jwt = decoder.decode(sign(rotatedKey, Instant.now().plusSeconds(300)));
+
+        assertThat(jwt.getHeaders()).containsEntry("kid", "key-2");
+    }
+
+    @Test
+    @DisplayName("Should not refresh the JWKS more often than the minimum refresh interval")
+    void shouldRateLimitOnDemandRefreshes() throws Exception {
+        JwtDecoder decoder = newDecoder(newJwkSource(Duration.ofHours(1)));
+        RSAKey rotatedKey = new RSAKeyGenerator(2048).keyID("key-2").generate();
+        publish(rotatedKey);
+
+        String token = sign(rotatedKey, Instant.now().plusSeconds(300));
+
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens signed with an unknown key")
+    void shouldRejectTokensSignedWithUnknownKey() throws Exception {
+        JwtDecoder decoder = newDecoder(newJwkSource(Duration.ZERO));
+        RSAKey unknownKey = new RSAKeyGenerator(2048).keyID("key-1").generate();
+
+        String token = sign(unknownKey, Instant.now().plusSeconds(300));
+
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject expired tokens")
+    void shouldRejectExpiredTokens() throws Exception {
+        JwtDecoder decoder = newDecoder(newJwkSource(Duration.ZERO));
+
+        String token = sign(signingKey, Instant.now().minusSeconds(300));
+
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtException.class);
+    }
+
+}
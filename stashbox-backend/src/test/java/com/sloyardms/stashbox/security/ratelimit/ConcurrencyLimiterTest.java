@@ -0,0 +1,85 @@
+package com.sloyardms.stashbox.security.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that held slots are counted until they are released and that idle keys are dropped
+ */
+class ConcurrencyLimiterTest {
+
+    private final ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter();
+
+    @Test
+    @DisplayName("Should reject once the limit is reached and accept again after a release")
+    void shouldRejectAtLimitUntilReleased() {
+        ConcurrencyLimiter.Slot first = concurrencyLimiter.tryAcquire("subject", 2);
+        ConcurrencyLimiter.Slot second = concurrencyLimiter.tryAcquire("subject", 2);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(concurrencyLimiter.tryAcquire("subject", 2)).isNull();
+        assertThat(concurrencyLimiter.tryAcquire("other", 2)).isNotNull();
+
+        first.release();
+        assertThat(concurrencyLimiter.tryAcquire("subject", 2)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should drop the key with its last slot and ignore repeated releases")
+    void shouldDropKeyWithLastSlot() {
+        ConcurrencyLimiter.Slot first = concurrencyLimiter.tryAcquire("subject", 2);
+        ConcurrencyLimiter.Slot second = concurrencyLimiter.tryAcquire("subject", 2);
+
+        first.release();
+        first.release();
+        assertThat(concurrencyLimiter.inFlight("subject")).isEqualTo(1);
+
+        second.release();
+        assertThat(concurrencyLimiter.inFlight("subject")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should never hand out more slots than the limit under contention")
+    void shouldNotExceedLimitUnderContention() throws Exception {
+        int limit = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int maxSeen = 0;
+                    for (int i = 0; i < 10_000; i++) {
+                        ConcurrencyLimiter.Slot slot = concurrencyLimiter.tryAcquire("subject", limit);
+                        if (slot != null) {
+                            maxSeen = Math.max(maxSeen, concurrencyLimiter.inFlight("subject"));
+                            slot.release();
+                        }
+                    }
+                    return maxSeen;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isLessThanOrEqualTo(limit);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(concurrencyLimiter.inFlight("subject")).isZero();
+    }
+
+}
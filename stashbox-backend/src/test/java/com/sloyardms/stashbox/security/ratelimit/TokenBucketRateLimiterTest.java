@@ -0,0 +1,117 @@
+package com.sloyardms.stashbox.security.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies the token bucket arithmetic against a manually advanced clock
+ */
+class TokenBucketRateLimiterTest {
+
+    private static final RateLimit FIVE_PER_SECOND = RateLimit.parse("5/1s");
+
+    private final AtomicLong nanoTime = new AtomicLong(1_000_000_000L);
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new TokenBucketRateLimiter(1000, Duration.ofMinutes(1), nanoTime::get);
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("Should allow a burst of the bucket capacity and then ask to wait for one token")
+    void shouldAllowBurstThenReject() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("subject", FIVE_PER_SECOND)).isZero();
+        }
+
+        assertThat(rateLimiter.tryAcquire("subject", FIVE_PER_SECOND)).isEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void shouldRefillOverTime() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("subject", FIVE_PER_SECOND);
+        }
+
+        advance(Duration.ofMillis(150));
+        assertThat(rateLimiter.tryAcquire("subject", FIVE_PER_SECOND)).isEqualTo(Duration.ofMillis(50));
+        advance(Duration.ofMillis(50));
+        assertThat(rateLimiter.tryAcquire("subject", FIVE_PER_SECOND)).isZero();
+        assertThat(rateLimiter.tryAcquire("subject", FIVE_PER_SECOND)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should not accumulate more tokens than the bucket capacity")
+    void shouldCapTokensAtCapacity() {
+        rateLimiter.tryAcquire("subject", FIVE_PER_SECOND);
+        advance(Duration.ofMinutes(10));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("subject", FIVE_PER_SECOND)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("subject", FIVE_PER_SECOND)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key")
+    void shouldKeepSeparateBucketsPerKey() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("subject-1", FIVE_PER_SECOND);
+        }
+
+        assertThat(rateLimiter.tryAcquire("subject-1", FIVE_PER_SECOND)).isPositive();
+        assertThat(rateLimiter.tryAcquire("subject-2", FIVE_PER_SECOND)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand out exactly the capacity under concurrent acquisition")
+    void shouldHandOutCapacityUnderContention() throws InterruptedException {
+        RateLimit limit = RateLimit.parse("100/1h");
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    if (rateLimiter.tryAcquire("subject", limit).isZero()) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(granted.get()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should parse limits and reject malformed ones")
+    void shouldParseLimits() {
+        assertThat(RateLimit.parse("300/1m")).isEqualTo(new RateLimit(300, Duration.ofMinutes(1)));
+        assertThatThrownBy(() -> RateLimit.parse("300")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimit.parse("0/1m")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
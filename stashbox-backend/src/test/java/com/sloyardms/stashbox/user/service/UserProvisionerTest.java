@@ -0,0 +1,88 @@
+package com.sloyardms.stashbox.user.service;
+
+import com.sloyardms.stashbox.config.cache.CacheNames;
+import com.sloyardms.stashbox.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that each subject costs at most one insert until its cache entry expires, whether or not it could be
+ * provisioned
+ */
+class UserProvisionerTest {
+
+    private static final UUID EXTERNAL_ID = UUID.randomUUID();
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private ConcurrentMapCacheManager cacheManager;
+    private UserProvisioner userProvisioner;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheNames.USER_IDS, CacheNames.UNPROVISIONABLE_USERS);
+        userProvisioner = new UserProvisioner(userRepository, cacheManager);
+    }
+
+    private void provisionTwice() {
+        userProvisioner.provision(EXTERNAL_ID, "user", "user@example.com");
+        userProvisioner.provision(EXTERNAL_ID, "user", "user@example.com");
+    }
+
+    @Test
+    @DisplayName("Should insert a provisioned user only once")
+    void shouldInsertProvisionedUserOnce() {
+        when(userRepository.insertIfAbsent(eq(EXTERNAL_ID), any(), any(), any()))
+                .thenReturn(Optional.of(UUID.randomUUID()));
+
+        provisionTwice();
+
+        verify(userRepository, times(1)).insertIfAbsent(eq(EXTERNAL_ID), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not retry the insert for a user pending deletion")
+    void shouldNotRetryUserPendingDeletion() {
+        when(userRepository.insertIfAbsent(eq(EXTERNAL_ID), any(), any(), any())).thenReturn(Optional.empty());
+
+        provisionTwice();
+
+        verify(userRepository, times(1)).insertIfAbsent(eq(EXTERNAL_ID), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not retry the insert for a user whose username or email is taken")
+    void shouldNotRetryTakenUsername() {
+        when(userRepository.insertIfAbsent(eq(EXTERNAL_ID), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("users_username_key"));
+
+        provisionTwice();
+
+        verify(userRepository, times(1)).insertIfAbsent(eq(EXTERNAL_ID), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should retry the insert once the negative entry is gone")
+    void shouldRetryAfterNegativeEntryIsEvicted() {
+        when(userRepository.insertIfAbsent(eq(EXTERNAL_ID), any(), any(), any())).thenReturn(Optional.empty());
+
+        userProvisioner.provision(EXTERNAL_ID, "user", "user@example.com");
+        cacheManager.getCache(CacheNames.UNPROVISIONABLE_USERS).evict(EXTERNAL_ID);
+        userProvisioner.provision(EXTERNAL_ID, "user", "user@example.com");
+
+        verify(userRepository, times(2)).insertIfAbsent(eq(EXTERNAL_ID), any(), any(), any());
+    }
+
+}
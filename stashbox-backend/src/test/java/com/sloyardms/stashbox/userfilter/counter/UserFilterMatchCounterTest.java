@@ -0,0 +1,88 @@
+package com.sloyardms.stashbox.userfilter.counter;
+
+import com.sloyardms.stashbox.userfilter.repository.MatchCountDelta;
+import com.sloyardms.stashbox.userfilter.repository.UserFilterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that no match is lost or written with a missing timestamp while matches are recorded during a flush
+ */
+class UserFilterMatchCounterTest {
+
+    private static final UUID FILTER_ID = UUID.randomUUID();
+    private static final Instant MATCHED_AT = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final List<MatchCountDelta> written = new CopyOnWriteArrayList<>();
+    private UserFilterMatchCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        UserFilterRepository userFilterRepository = mock(UserFilterRepository.class);
+        when(userFilterRepository.incrementMatchCounts(any())).thenAnswer(invocation -> {
+            Collection<MatchCountDelta> deltas = invocation.getArgument(0);
+            written.addAll(deltas);
+            return deltas.stream().map(MatchCountDelta::filterId).toList();
+        });
+        counter = new UserFilterMatchCounter(userFilterRepository, new SimpleMeterRegistry(), 1000);
+    }
+
+    @Test
+    @DisplayName("Should write every match with its timestamp when matches are recorded during flushes")
+    void shouldWriteEveryMatchRecordedDuringFlushes() throws Exception {
+        int threads = 4;
+        int matchesPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> recorders = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                recorders.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 1; i <= matchesPerThread; i++) {
+                        counter.record(FILTER_ID, MATCHED_AT.plusMillis(i));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            while (recorders.stream().anyMatch(recorder -> !recorder.isDone())) {
+                counter.flush();
+            }
+            for (Future<?> recorder : recorders) {
+                recorder.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        counter.flush();
+
+        assertThat(written).allSatisfy(delta -> {
+            assertThat(delta.matchCount()).isPositive();
+            assertThat(delta.lastMatchedAt()).isBetween(MATCHED_AT, MATCHED_AT.plusMillis(matchesPerThread));
+        });
+        assertThat(written.stream().mapToLong(MatchCountDelta::matchCount).sum())
+                .isEqualTo((long) threads * matchesPerThread);
+        assertThat(written.getLast().lastMatchedAt()).isEqualTo(MATCHED_AT.plusMillis(matchesPerThread));
+        assertThat(counter.getBacklog()).isZero();
+    }
+
+}